@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import model.MappedAccountStore;
+import model.PlayerAccount;
+
+/**
+ * Measures logging in (finding a username and checking its password) and
+ * building the leaderboard through the account map (see MappedAccountStore),
+ * with 1 thousand, 100 thousand and 1 million accounts, along with the heap
+ * in use once the accounts are stored. The accounts are made one at a time
+ * and dropped once their numbers are in the map, the way the backend lets go
+ * of accounts after a save, so the heap column should stay flat while the map
+ * grows. For development purposes only.
+ */
+public class AccountMapBenchmark {
+	private static final int[] SIZES = {1000, 100000, 1000000};
+	private static final int LOOKUPS = 200000;
+	private static final int BOARDS = 20;
+	private static volatile long blackhole;
+
+	public static void main(String[] args) throws IOException {
+		System.out.println("accounts\tmap bytes\theap MB\tlogin ns\tleaderboard ms");
+		for (int size : SIZES) {
+			File directory = Files.createTempDirectory("map").toFile();
+			File file = new File(directory, MappedAccountStore.FILE_NAME);
+			File index = new File(directory, MappedAccountStore.INDEX_FILE_NAME);
+			try (MappedAccountStore map = new MappedAccountStore(file, index)) {
+				for (int i = 0; i < size; i++) {
+					PlayerAccount player = new PlayerAccount("player" + i, "pw" + i, i);
+					for (int won = 0; won < i % 7; won++) {
+						player.guessMade();
+						player.gameWon();
+					}
+					map.put(player);
+				}
+				System.gc();
+				Runtime runtime = Runtime.getRuntime();
+				long heap = runtime.totalMemory() - runtime.freeMemory();
+
+				String[] names = new String[1024];
+				for (int i = 0; i < names.length; i++) {
+					names[i] = "player" + (i * 7919L % size);
+				}
+				long start = System.nanoTime();
+				for (int i = 0; i < LOOKUPS; i++) {
+					int record = map.find(names[i & 1023]);
+					sink(map.checkPassword(record, "pw") ? 1 : record);
+				}
+				double loginNs = (System.nanoTime() - start) / (double) LOOKUPS;
+
+				start = System.nanoTime();
+				for (int i = 0; i < BOARDS; i++) {
+					sink(map.top(100).size());
+				}
+				double boardMs = (System.nanoTime() - start) / 1e6 / BOARDS;
+
+				System.out.printf("%d\t\t%d\t%.1f\t%.0f\t\t%.2f%n", size, file.length() + index.length(),
+						heap / 1e6, loginNs, boardMs);
+			}
+			file.delete();
+			index.delete();
+			directory.delete();
+		}
+	}
+
+	private static void sink(long value) {
+		blackhole += value;
+	}
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import model.WordFileLoader;
+
+/**
+ * Measures how long it takes to read a word file the old way (Scanner, one
+ * line at a time into Strings) and with WordFileLoader (memory-mapped, split on
+ * bytes, parsed in parallel). Word files of 2 thousand, 100 thousand and 1
+ * million words are written to the temp folder with Windows line endings, like
+ * words.txt. The first load of each file is reported separately because that
+ * is what the game pays when it starts. For development purposes only.
+ */
+public class LoadBenchmark {
+	private static final int[] SIZES = {2000, 100000, 1000000};
+	private static final int WARM_RUNS = 5;
+
+	public static void main(String[] args) throws IOException {
+		System.out.println("words\tscanner cold ms\tloader cold ms\tscanner warm ms\tloader warm ms");
+		for (int size : SIZES) {
+			File file = File.createTempFile("words" + size, ".txt");
+			file.deleteOnExit();
+			writeWords(file, size);
+
+			double scannerCold = timeScanner(file);
+			double loaderCold = timeLoader(file);
+			double scannerWarm = Double.MAX_VALUE;
+			double loaderWarm = Double.MAX_VALUE;
+			for (int i = 0; i < WARM_RUNS; i++) {
+				scannerWarm = Math.min(scannerWarm, timeScanner(file));
+				loaderWarm = Math.min(loaderWarm, timeLoader(file));
+			}
+			System.out.printf("%d\t%.1f\t\t%.1f\t\t%.1f\t\t%.1f%n", size, scannerCold, loaderCold,
+					scannerWarm, loaderWarm);
+		}
+	}
+
+	private static void writeWords(File file, int count) throws IOException {
+		try (FileWriter writer = new FileWriter(file)) {
+			for (String word : ValidationBenchmark.randomWords(count, count)) {
+				writer.write(word);
+				writer.write("\r\n");
+			}
+		}
+	}
+
+	private static double timeScanner(File file) throws IOException {
+		long start = System.nanoTime();
+		ArrayList<String> words = new ArrayList<>();
+		try (Scanner reader = new Scanner(file)) {
+			while (reader.hasNext()) {
+				String word = reader.nextLine().trim();
+				if (!word.equals("")) {
+					words.add(word);
+				}
+			}
+		}
+		double elapsed = (System.nanoTime() - start) / 1e6;
+		check(words.size());
+		return elapsed;
+	}
+
+	private static double timeLoader(File file) {
+		long start = System.nanoTime();
+		int[] words = WordFileLoader.load(file);
+		double elapsed = (System.nanoTime() - start) / 1e6;
+		check(words.length);
+		return elapsed;
+	}
+
+	private static void check(int count) {
+		if (count == 0) {
+			throw new IllegalStateException("no words were read");
+		}
+	}
+}
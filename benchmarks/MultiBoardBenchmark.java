@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import model.Dictionary;
+import model.GuessResult;
+import model.MultiPuzzle;
+import model.PackedWord;
+
+/**
+ * Measures how long one guess takes in a multi-board game as the number of
+ * boards grows. Every board is scored in the same pass, so each extra board
+ * should cost far less than a Puzzle.guess of its own, and the cost per board
+ * should stay flat. The packed guess (MultiPuzzle.guess(int)) should allocate
+ * nothing; the String guess only allocates the array of results it returns.
+ * For development purposes only; run the main method and read the printed
+ * table.
+ */
+public class MultiBoardBenchmark {
+	private static final int[] BOARDS = {1, 2, 4, 8, 16, 32};
+	private static final String[] GUESSES = {"crane", "pilot", "dumpy", "shove", "begin"};
+	private static final int GAMES = 20000;
+
+	public static void main(String[] args) {
+		Dictionary answers = Dictionary.getAnswers();
+		int[] packed = new int[GUESSES.length];
+		for (int i = 0; i < packed.length; i++) {
+			packed[i] = PackedWord.encode(GUESSES[i]);
+		}
+		// warm up so the JIT has compiled the scoring before timing
+		for (int boards : BOARDS) {
+			time(answers, boards, packed, true);
+			time(answers, boards, packed, false);
+		}
+		System.out.println("boards\tns/guess\tns/board\tbytes/guess\tString ns/guess\tString bytes/guess");
+		for (int boards : BOARDS) {
+			double[] fast = time(answers, boards, packed, true);
+			double[] strings = time(answers, boards, packed, false);
+			System.out.printf("%d\t%.1f\t\t%.1f\t\t%.1f\t\t%.1f\t\t%.1f%n", boards, fast[0], fast[0] / boards,
+					fast[1], strings[0], strings[1]);
+		}
+	}
+
+	// returns the nanoseconds and bytes allocated per guess
+	private static double[] time(Dictionary answers, int boards, int[] packed, boolean usePacked) {
+		int[] words = new int[boards];
+		MultiPuzzle[] games = new MultiPuzzle[GAMES];
+		for (int game = 0; game < GAMES; game++) {
+			for (int i = 0; i < boards; i++) {
+				words[i] = answers.getPacked((game * 31 + i * 97) % answers.size());
+			}
+			games[game] = new MultiPuzzle(words);
+		}
+
+		long total = 0;
+		int made = 0;
+		long allocated = allocatedBytes();
+		long start = System.nanoTime();
+		for (MultiPuzzle puzzle : games) {
+			for (int i = 0; i < packed.length; i++) {
+				// a game with few boards can be won before the last guess
+				if (usePacked) {
+					if (puzzle.guess(packed[i])) {
+						total += puzzle.getGuessCount();
+						made++;
+					}
+				}
+				else {
+					GuessResult[] results = puzzle.guess(GUESSES[i]);
+					if (results != null) {
+						total += results.length;
+						made++;
+					}
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		allocated = allocatedBytes() - allocated;
+		sink(total);
+		return new double[] {elapsed / (double) made, allocated / (double) made};
+	}
+
+	// bytes this thread has allocated so far, or 0 where the JVM can't say
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	private static volatile long blackhole;
+
+	// keeps the JIT from throwing away the guesses as dead code
+	private static void sink(long value) {
+		blackhole += value;
+	}
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.AccountStore;
+import model.PlayerAccount;
+
+/**
+ * Measures the write amplification of saving the accounts after one player's
+ * game changes, with 1 thousand, 100 thousand and 1 million stored accounts.
+ * The old save serialized every account into accounts.ser; a dirty flush
+ * writes only the changed account's record (see AccountStore). For each size
+ * a temporary AccountStore is filled with that many records, then the changed
+ * account is flushed into it several times and the bytes the store wrote and
+ * the time each flush took are recorded, so the cost of a rename in a
+ * directory of that size is part of the number. The full save is written to
+ * a temporary accounts.ser and synced the same way. Filling a million
+ * records takes a few minutes. For development purposes only.
+ */
+public class PersistenceBenchmark {
+	private static final int[] SIZES = {1000, 100000, 1000000};
+	// the old save kept every account in one stream; resetting the stream this
+	// often only repeats the class descriptions, which is a rounding error
+	private static final int RESET_EVERY = 1000;
+	private static final int FLUSHES = 21;
+	// each record is synced, so filling waits on the disk more than the CPU
+	private static final int FILL_THREADS = 16;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		System.out.println("accounts\tfull save bytes\tdirty flush bytes\tamplification\tfull ms\tdirty ms"
+				+ "\tdirectory bytes");
+		for (int size : SIZES) {
+			File directory = Files.createTempDirectory("accounts").toFile();
+			fill(directory, size);
+
+			long start = System.nanoTime();
+			long full = fullSave(directory, size);
+			double fullMs = (System.nanoTime() - start) / 1e6;
+
+			// a fresh store, like a program started on the filled directory
+			AccountStore store = new AccountStore(directory);
+			PlayerAccount changed = new PlayerAccount("player0", "pw", 0);
+			double[] times = new double[FLUSHES];
+			for (int i = 0; i < FLUSHES; i++) {
+				changed.guessMade();
+				start = System.nanoTime();
+				store.flush(List.of(changed), size + i);
+				times[i] = (System.nanoTime() - start) / 1e6;
+			}
+			Arrays.sort(times);
+			long dirty = store.getBytesWritten() / store.getRecordsWritten();
+			long directoryBytes = Files.size(directory.toPath());
+
+			System.out.printf("%d\t\t%d\t%d\t\t\t%.0fx\t\t%.1f\t%.3f\t\t%d%n", size, full, dirty,
+					full / (double) dirty, fullMs, times[FLUSHES / 2], directoryBytes);
+			delete(directory);
+		}
+	}
+
+	// writes a record for each of the accounts player0 up to the size
+	private static void fill(File directory, int size) throws InterruptedException {
+		AccountStore store = new AccountStore(directory);
+		ExecutorService threads = Executors.newFixedThreadPool(FILL_THREADS);
+		List<Future<?>> parts = new ArrayList<>();
+		int part = (size + FILL_THREADS - 1) / FILL_THREADS;
+		for (int first = 0; first < size; first += part) {
+			int from = first;
+			int to = Math.min(size, first + part);
+			parts.add(threads.submit(() -> {
+				for (int i = from; i < to; i++) {
+					PlayerAccount account = new PlayerAccount("player" + i, "pw", i);
+					try {
+						store.write(account.getUsername(), AccountStore.toRecord(account, 0));
+					} catch (IOException err) {
+						throw new UncheckedIOException(err);
+					}
+				}
+			}));
+		}
+		try {
+			for (Future<?> done : parts) {
+				done.get();
+			}
+		} catch (ExecutionException err) {
+			throw new IllegalStateException("Couldn't fill the store", err.getCause());
+		} finally {
+			threads.shutdown();
+		}
+	}
+
+	// serializes every account into one synced file the way
+	// writeAccountsFile used to
+	private static long fullSave(File directory, int size) throws IOException {
+		File file = new File(directory, "accounts.ser");
+		try (FileOutputStream output = new FileOutputStream(file);
+				ObjectOutputStream out = new ObjectOutputStream(output)) {
+			for (int i = 0; i < size; i++) {
+				if (i % RESET_EVERY == 0) {
+					out.reset();
+				}
+				out.writeObject(new PlayerAccount("player" + i, "pw", i));
+			}
+			out.flush();
+			output.getFD().sync();
+		}
+		long bytes = file.length();
+		file.delete();
+		return bytes;
+	}
+
+	private static void delete(File directory) {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import model.Dictionary;
+import model.Feedback;
+import model.PackedWord;
+import model.Puzzle;
+
+/**
+ * Measures how long it takes to score one guess against every puzzle word, the
+ * way a solver or the multi-board modes do. Three ways are compared: a new
+ * Puzzle and a call to guess for each word (which also builds the color list
+ * for the GUI), Feedback.score for each word, and Feedback.scoreAll for the
+ * whole array at once. For development purposes only; run the main method and
+ * read the printed table.
+ */
+public class ScoreBenchmark {
+	private static final String[] GUESSES = {"crane", "eerie", "jumpy", "slate", "vivid"};
+	private static final int ROUNDS = 200;
+	private static final int PUZZLE_ROUNDS = 20;
+
+	public static void main(String[] args) {
+		int[] answers = Dictionary.getAnswers().copyPackedWords();
+		String[] answerWords = new String[answers.length];
+		for (int i = 0; i < answers.length; i++) {
+			answerWords[i] = PackedWord.decode(answers[i]);
+		}
+		byte[] codes = new byte[answers.length];
+
+		// warm up every path so the JIT has compiled them before timing
+		timePuzzle(answerWords, PUZZLE_ROUNDS);
+		timeScore(answers, ROUNDS);
+		timeScoreAll(answers, codes, ROUNDS);
+
+		System.out.println("answers\tPuzzle.guess ns/pair\tscore ns/pair\tscoreAll ns/pair");
+		System.out.printf("%d\t%.1f\t\t\t%.1f\t\t%.1f%n", answers.length,
+				timePuzzle(answerWords, PUZZLE_ROUNDS), timeScore(answers, ROUNDS),
+				timeScoreAll(answers, codes, ROUNDS));
+	}
+
+	private static double timePuzzle(String[] answerWords, int rounds) {
+		long total = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			String guess = GUESSES[round % GUESSES.length];
+			for (String answer : answerWords) {
+				total += new Puzzle(answer).guess(guess).size();
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		sink(total);
+		return elapsed / ((double) rounds * answerWords.length);
+	}
+
+	private static double timeScore(int[] answers, int rounds) {
+		long total = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			int guess = PackedWord.encode(GUESSES[round % GUESSES.length]);
+			for (int answer : answers) {
+				total += Feedback.score(guess, answer);
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		sink(total);
+		return elapsed / ((double) rounds * answers.length);
+	}
+
+	private static double timeScoreAll(int[] answers, byte[] codes, int rounds) {
+		long total = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			Feedback.scoreAll(PackedWord.encode(GUESSES[round % GUESSES.length]), answers, codes);
+			total += codes[round % codes.length];
+		}
+		long elapsed = System.nanoTime() - start;
+		sink(total);
+		return elapsed / ((double) rounds * answers.length);
+	}
+
+	private static volatile long blackhole;
+
+	// keeps the JIT from throwing away the scoring as dead code
+	private static void sink(long value) {
+		blackhole += value;
+	}
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import model.Dictionary;
+
+/**
+ * Measures how long it takes to check whether a guess is a valid word as the
+ * dictionary grows. The hashed lookup in Dictionary should stay flat, while the
+ * old linear search through an ArrayList grows with the number of words. For
+ * development purposes only; run the main method and read the printed table.
+ */
+public class ValidationBenchmark {
+	private static final int[] SIZES = {2316, 10000, 50000, 100000};
+	private static final int LOOKUPS = 200000;
+	private static final int LINEAR_LOOKUPS = 2000;
+
+	public static void main(String[] args) {
+		System.out.println("words\thashed ns/lookup\tlinear ns/lookup");
+		for (int size : SIZES) {
+			ArrayList<String> words = randomWords(size, 42);
+			ArrayList<String> probes = probes(words, 7);
+			Dictionary dictionary = Dictionary.fromWords(words);
+
+			// warm up both paths so the JIT has compiled them before timing
+			timeHashed(dictionary, probes, LOOKUPS);
+			timeLinear(words, probes, LINEAR_LOOKUPS);
+
+			double hashed = timeHashed(dictionary, probes, LOOKUPS);
+			double linear = timeLinear(words, probes, LINEAR_LOOKUPS);
+			System.out.printf("%d\t%.1f\t\t\t%.1f%n", size, hashed, linear);
+		}
+	}
+
+	private static double timeHashed(Dictionary dictionary, ArrayList<String> probes, int lookups) {
+		int found = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < lookups; i++) {
+			if (dictionary.contains(probes.get(i % probes.size()))) {
+				found++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		sink(found);
+		return elapsed / (double) lookups;
+	}
+
+	private static double timeLinear(ArrayList<String> words, ArrayList<String> probes, int lookups) {
+		int found = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < lookups; i++) {
+			if (words.contains(probes.get(i % probes.size()))) {
+				found++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		sink(found);
+		return elapsed / (double) lookups;
+	}
+
+	/**
+	 * Makes a list of distinct random five letter lowercase words.
+	 *
+	 * @param count integer representing how many words to make.
+	 * @param seed  long representing the seed for the random generator.
+	 * @return ArrayList of Strings holding the generated words.
+	 */
+	static ArrayList<String> randomWords(int count, long seed) {
+		Random random = new Random(seed);
+		LinkedHashSet<String> words = new LinkedHashSet<>();
+		char[] letters = new char[5];
+		while (words.size() < count) {
+			for (int i = 0; i < letters.length; i++) {
+				letters[i] = (char) ('a' + random.nextInt(26));
+			}
+			words.add(new String(letters));
+		}
+		return new ArrayList<>(words);
+	}
+
+	// half of the probes are real words and half are (almost certainly) not
+	private static ArrayList<String> probes(ArrayList<String> words, long seed) {
+		Random random = new Random(seed);
+		ArrayList<String> probes = new ArrayList<>();
+		ArrayList<String> misses = randomWords(512, seed + 1);
+		for (int i = 0; i < 512; i++) {
+			probes.add(words.get(random.nextInt(words.size())));
+			probes.add(misses.get(i));
+		}
+		return probes;
+	}
+
+	private static volatile int blackhole;
+
+	// keeps the JIT from throwing away the lookups as dead code
+	private static void sink(int value) {
+		blackhole += value;
+	}
+}
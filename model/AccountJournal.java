@@ -0,0 +1,644 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * AccountJournal is an append-only log of changes to the player accounts, so 
+ * saving a change costs one small record instead of writing every account to 
+ * accounts.ser again. accounts.ser becomes a snapshot: when the accounts are 
+ * read in, the snapshot is loaded first and then the records in the journal 
+ * are replayed on top of it. Every so often the backend writes a new snapshot 
+ * and the journal is emptied (compaction).
+ * 
+ * Records are written to the file straight away, but forced to the disk by a 
+ * background thread, which syncs once SYNC_RECORDS records are waiting or 
+ * SYNC_MILLIS milliseconds after the oldest one, so writing a record never 
+ * waits for the disk and a crash of the whole machine loses at most the 
+ * records since the last sync. Each record 
+ * holds its length, a CRC32 and a sequence number. A record cut short by a 
+ * crash fails its check and is dropped along with anything after it, and 
+ * records whose sequence number is already covered by the snapshot are 
+ * skipped, so a crash part way through compaction never applies a change 
+ * twice.
+ */
+
+public class AccountJournal implements AutoCloseable {
+	/**
+	 * Name of the journal file that goes with accounts.ser.
+	 */
+	public static final String FILE_NAME = "accounts.journal";
+	
+	/**
+	 * Most records written between syncs to the disk.
+	 */
+	public static final int SYNC_RECORDS = 64;
+	
+	/**
+	 * Most time between syncs to the disk, in milliseconds.
+	 */
+	public static final long SYNC_MILLIS = 1000;
+	
+	/**
+	 * Number of records after which the backend should write a new snapshot.
+	 */
+	public static final int COMPACT_RECORDS = 4096;
+	
+	private static final byte CREATED = 1;
+	private static final byte GUESS = 2;
+	private static final byte WON = 3;
+	private static final byte LOST = 4;
+	private static final byte NEW_GAME = 5;
+	private static final byte ACHIEVEMENT = 6;
+	private static final byte REMOVED = 7;
+	private static final byte HARD_MODE = 8;
+	private static final byte GAME_MODE = 9;
+	private static final byte MULTI_GAME = 10;
+	private static final byte MULTI_GUESS = 11;
+	private static final byte DAILY_GUESS = 12;
+	// length and CRC32 in front of each record
+	private static final int RECORD_HEADER = 8;
+	
+	private final FileChannel channel;
+	private final ByteArrayOutputStream buffer;
+	private final DataOutputStream out;
+	private final CRC32 crc;
+	// guards unsynced, oldestUnsynced, syncs, syncer and closed, and wakes 
+	// the sync thread
+	private final Object syncLock;
+	private long sequence;
+	private int records;
+	private int unsynced;
+	// when the oldest record that is not on the disk yet was written
+	private long oldestUnsynced;
+	private int syncs;
+	private Thread syncer;
+	private boolean closed;
+	
+	
+	/**
+	 * Opens a journal file, creating it if it does not exist yet. Records are 
+	 * added to the end of whatever is already in the file
+	 * 
+	 * @param file File holding the journal
+	 * 
+	 * @throws IOException if the file cannot be opened
+	 */
+	public AccountJournal(File file) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		buffer = new ByteArrayOutputStream();
+		out = new DataOutputStream(buffer);
+		crc = new CRC32();
+		syncLock = new Object();
+	}
+	
+	
+	/**
+	 * Replays every record in the journal whose sequence number is after the 
+	 * snapshot's. A damaged record at the end (from a crash part way through 
+	 * a write) is cut off so that new records follow the last good one
+	 * 
+	 * @param accounts Map of usernames to accounts, read from the snapshot, 
+	 * 		  that the changes are made to
+	 * @param snapshotSequence long representing the last sequence number 
+	 * 		  already in the snapshot
+	 * 
+	 * @return int representing the number of records replayed
+	 * 
+	 * @throws IOException if the journal cannot be read
+	 */
+	public int replay(Map<String, PlayerAccount> accounts, long snapshotSequence) throws IOException {
+		return replay(accounts, snapshotSequence, username -> snapshotSequence);
+	}
+	
+	
+	/**
+	 * Replays the journal like the method above, for snapshots where each 
+	 * account was stored at a different point (see AccountStore). A record 
+	 * is only replayed if its sequence number is after the one stored with 
+	 * its account
+	 * 
+	 * @param accounts Map of usernames to accounts, read from the snapshot, 
+	 * 		  that the changes are made to
+	 * @param lastSequence long representing the highest sequence number in 
+	 * 		  the snapshot, which new records have to come after
+	 * @param accountSequence function giving the sequence number stored with 
+	 * 		  an account, or 0 for an account that is not in the snapshot
+	 * 
+	 * @return int representing the number of records replayed
+	 * 
+	 * @throws IOException if the journal cannot be read
+	 */
+	public int replay(Map<String, PlayerAccount> accounts, long lastSequence, 
+			ToLongFunction<String> accountSequence) throws IOException {
+		sequence = lastSequence;
+		records = 0;
+		int[] applied = {0};
+		long position = scan((recordSequence, type, username, in) -> {
+			if (recordSequence > accountSequence.applyAsLong(username)) {
+				apply(type, username, in, accounts);
+				applied[0]++;
+			}
+			sequence = Math.max(sequence, recordSequence);
+			records++;
+		});
+		// drop anything after the last good record
+		channel.truncate(position);
+		channel.position(position);
+		return applied[0];
+	}
+	
+	
+	/**
+	 * Returns the username of every account that has a record in the 
+	 * journal, so that those accounts can be read in before the journal is 
+	 * replayed
+	 * 
+	 * @return Set of Strings representing the usernames
+	 * 
+	 * @throws IOException if the journal cannot be read
+	 */
+	public Set<String> getUsernames() throws IOException {
+		HashSet<String> usernames = new HashSet<>();
+		scan((recordSequence, type, username, in) -> usernames.add(username));
+		return usernames;
+	}
+	
+	
+	/**
+	 * Records a new account along with its first puzzle
+	 * 
+	 * @param account PlayerAccount that was created
+	 */
+	public void created(PlayerAccount account) {
+		start(CREATED, account.getUsername());
+		write(() -> {
+			out.writeUTF(account.getPassword());
+			out.writeInt(gameWord(account));
+		});
+	}
+	
+	
+	/**
+	 * Records a valid guess in the player's current game
+	 * 
+	 * @param username String representing the player's username
+	 * @param packedGuess int representing the packed guess
+	 */
+	public void guessMade(String username, int packedGuess) {
+		start(GUESS, username);
+		write(() -> out.writeInt(packedGuess));
+	}
+	
+	
+	/**
+	 * Records that the player won their current game
+	 * 
+	 * @param username String representing the player's username
+	 */
+	public void won(String username) {
+		start(WON, username);
+		write(() -> { });
+	}
+	
+	
+	/**
+	 * Records that the player lost their current game
+	 * 
+	 * @param username String representing the player's username
+	 */
+	public void lost(String username) {
+		start(LOST, username);
+		write(() -> { });
+	}
+	
+	
+	/**
+	 * Records that the player started a new game
+	 * 
+	 * @param account PlayerAccount holding the new game
+	 */
+	public void newGame(PlayerAccount account) {
+		start(NEW_GAME, account.getUsername());
+		write(() -> out.writeInt(gameWord(account)));
+	}
+	
+	
+	/**
+	 * Records that the player earned an achievement
+	 * 
+	 * @param username String representing the player's username
+	 * @param index int representing the achievement's position in 
+	 * 		  PlayerAccount.getAchievements
+	 */
+	public void achievement(String username, int index) {
+		start(ACHIEVEMENT, username);
+		write(() -> out.writeByte(index));
+	}
+	
+	
+	/**
+	 * Records that an account was removed
+	 * 
+	 * @param username String representing the removed account's username
+	 */
+	public void removed(String username) {
+		start(REMOVED, username);
+		write(() -> { });
+	}
+	
+	
+	/**
+	 * Records that the player turned hard mode on or off
+	 * 
+	 * @param username String representing the player's username
+	 * @param hardMode boolean indicating whether hard mode is now on
+	 */
+	public void hardMode(String username, boolean hardMode) {
+		start(HARD_MODE, username);
+		write(() -> out.writeBoolean(hardMode));
+	}
+	
+	
+	/**
+	 * Records that the player switched to another kind of game
+	 * 
+	 * @param username String representing the player's username
+	 * @param mode GameMode representing the new kind of game
+	 */
+	public void gameMode(String username, GameMode mode) {
+		start(GAME_MODE, username);
+		write(() -> out.writeByte(mode.ordinal()));
+	}
+	
+	
+	/**
+	 * Records that the player started a multi-board game
+	 * 
+	 * @param username String representing the player's username
+	 * @param game MultiPuzzle holding the new game's puzzle words
+	 */
+	public void multiGame(String username, MultiPuzzle game) {
+		start(MULTI_GAME, username);
+		write(() -> {
+			out.writeByte(game.getBoardCount());
+			for (int board = 0; board < game.getBoardCount(); board++) {
+				out.writeInt(game.getPackedWord(board));
+			}
+		});
+	}
+	
+	
+	/**
+	 * Records a valid guess in the player's multi-board game
+	 * 
+	 * @param username String representing the player's username
+	 * @param packedGuess int representing the packed guess
+	 */
+	public void multiGuess(String username, int packedGuess) {
+		start(MULTI_GUESS, username);
+		write(() -> out.writeInt(packedGuess));
+	}
+	
+	
+	/**
+	 * Records a valid guess on a day's daily puzzle
+	 * 
+	 * @param username String representing the player's username
+	 * @param date LocalDate representing the day of the puzzle
+	 * @param packedGuess int representing the packed guess
+	 */
+	public void dailyGuess(String username, LocalDate date, int packedGuess) {
+		start(DAILY_GUESS, username);
+		write(() -> {
+			out.writeLong(date.toEpochDay());
+			out.writeInt(packedGuess);
+		});
+	}
+	
+	
+	/**
+	 * Forces every record written so far to the disk on the calling thread, 
+	 * without waiting for the sync thread
+	 * 
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void sync() throws IOException {
+		synchronized (syncLock) {
+			unsynced = 0;
+			syncs++;
+		}
+		channel.force(false);
+	}
+	
+	
+	/**
+	 * Empties the journal once a snapshot holding all of its changes has been 
+	 * written. Sequence numbers keep counting up from where they were. The 
+	 * sync thread forces the change to the disk; until it does, a crash can 
+	 * leave the old records in the file, which is harmless because the 
+	 * snapshot already covers their sequence numbers
+	 * 
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void reset() throws IOException {
+		channel.truncate(0);
+		channel.position(0);
+		records = 0;
+		requestSync();
+	}
+	
+	
+	/**
+	 * Returns the sequence number of the last record, which a snapshot of 
+	 * the accounts should store
+	 * 
+	 * @return long representing the last sequence number
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+	
+	
+	/**
+	 * Returns the number of records in the journal
+	 * 
+	 * @return int representing the number of records since the last reset
+	 */
+	public int getRecordCount() {
+		return records;
+	}
+	
+	
+	/**
+	 * Returns the number of times the journal has been forced to the disk
+	 * 
+	 * @return int representing the syncs so far
+	 */
+	public int getSyncCount() {
+		synchronized (syncLock) {
+			return syncs;
+		}
+	}
+	
+	
+	/**
+	 * Indicates whether the journal has grown enough that a new snapshot 
+	 * should be written
+	 * 
+	 * @return boolean indicating whether to compact
+	 */
+	public boolean needsCompaction() {
+		return records >= COMPACT_RECORDS;
+	}
+	
+	
+	/**
+	 * Syncs and closes the journal file
+	 * 
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		Thread thread;
+		synchronized (syncLock) {
+			closed = true;
+			thread = syncer;
+			syncLock.notifyAll();
+		}
+		if (thread != null) {
+			try {
+				thread.join();
+			} catch (InterruptedException err) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (channel.isOpen()) {
+			sync();
+			channel.close();
+		}
+	}
+	
+	
+	// the puzzle word of the player's game, or INVALID for an adversarial 
+	// game, which has no word until it ends
+	private static int gameWord(PlayerAccount account) {
+		if (account.getPuzzle() instanceof AdversarialPuzzle) {
+			return PackedWord.INVALID;
+		}
+		return account.getPuzzle().getPackedWord();
+	}
+	
+	
+	private void start(byte type, String username) {
+		buffer.reset();
+		sequence++;
+		try {
+			out.writeLong(sequence);
+			out.writeByte(type);
+			out.writeUTF(username);
+		} catch (IOException err) {
+			// writing to a ByteArrayOutputStream never fails
+			throw new IllegalStateException(err);
+		}
+	}
+	
+	
+	// adds the rest of the record and appends it to the file
+	private void write(Payload payload) {
+		try {
+			payload.write();
+			byte[] body = buffer.toByteArray();
+			crc.reset();
+			crc.update(body);
+			ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + body.length);
+			record.putInt(body.length);
+			record.putInt((int) crc.getValue());
+			record.put(body);
+			record.flip();
+			while (record.hasRemaining()) {
+				channel.write(record);
+			}
+			records++;
+			requestSync();
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't write to the account journal");
+		}
+	}
+	
+	
+	// tells the sync thread there is a change to force to the disk, 
+	// starting the thread the first time
+	private void requestSync() {
+		synchronized (syncLock) {
+			if (closed) {
+				return;
+			}
+			if (unsynced == 0) {
+				oldestUnsynced = System.currentTimeMillis();
+			}
+			unsynced++;
+			if (syncer == null) {
+				syncer = new Thread(this::runSync, "account-journal-sync");
+				// close syncs whatever is left, so this should never keep the 
+				// program from closing
+				syncer.setDaemon(true);
+				syncer.start();
+			}
+			if (unsynced >= SYNC_RECORDS) {
+				syncLock.notifyAll();
+			}
+		}
+	}
+	
+	
+	// forces the records to the disk once enough of them are waiting or the 
+	// oldest has waited SYNC_MILLIS; every record written meanwhile is 
+	// forced by the same sync
+	private void runSync() {
+		while (true) {
+			synchronized (syncLock) {
+				try {
+					while (!closed && unsynced == 0) {
+						syncLock.wait();
+					}
+					long left = oldestUnsynced + SYNC_MILLIS - System.currentTimeMillis();
+					while (!closed && unsynced < SYNC_RECORDS && left > 0) {
+						syncLock.wait(left);
+						left = oldestUnsynced + SYNC_MILLIS - System.currentTimeMillis();
+					}
+				} catch (InterruptedException err) {
+					return;
+				}
+				if (closed) {
+					// close syncs on its own thread
+					return;
+				}
+				if (unsynced == 0) {
+					// synced by a call to sync while waiting
+					continue;
+				}
+			}
+			try {
+				sync();
+			} catch (IOException err) {
+				err.printStackTrace();
+				System.out.println("Couldn't sync the account journal");
+			}
+		}
+	}
+	
+	
+	// reads each good record in order, stopping at the first damaged one, 
+	// and returns where that record starts
+	private long scan(Visitor visitor) throws IOException {
+		long position = 0;
+		long size = channel.size();
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+		while (position + RECORD_HEADER <= size) {
+			header.clear();
+			channel.read(header, position);
+			int length = header.getInt(0);
+			if (length <= 0 || position + RECORD_HEADER + length > size) {
+				break;
+			}
+			ByteBuffer body = ByteBuffer.allocate(length);
+			channel.read(body, position + RECORD_HEADER);
+			crc.reset();
+			crc.update(body.array());
+			if ((int) crc.getValue() != header.getInt(4)) {
+				break;
+			}
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+			long recordSequence = in.readLong();
+			byte type = in.readByte();
+			String username = in.readUTF();
+			visitor.visit(recordSequence, type, username, in);
+			position += RECORD_HEADER + length;
+		}
+		return position;
+	}
+	
+	
+	private void apply(byte type, String username, DataInputStream in, 
+			Map<String, PlayerAccount> accounts) throws IOException {
+		if (type == CREATED) {
+			String password = in.readUTF();
+			accounts.put(username, PlayerAccount.restore(username, password, in.readInt()));
+			return;
+		}
+		PlayerAccount account = accounts.get(username);
+		if (account == null) {
+			// changes to an account that was removed later on
+			return;
+		}
+		switch (type) {
+			case GUESS:
+				account.restoreGuess(in.readInt());
+				break;
+			case WON:
+				account.gameWon();
+				break;
+			case LOST:
+				account.gameLost();
+				break;
+			case NEW_GAME:
+				account.restoreGame(in.readInt());
+				break;
+			case ACHIEVEMENT:
+				account.restoreAchievement(in.readByte());
+				break;
+			case REMOVED:
+				accounts.remove(username);
+				break;
+			case HARD_MODE:
+				account.setHardMode(in.readBoolean());
+				break;
+			case GAME_MODE:
+				account.setGameMode(GameMode.values()[in.readByte()]);
+				break;
+			case MULTI_GAME:
+				int[] words = new int[in.readUnsignedByte()];
+				for (int board = 0; board < words.length; board++) {
+					words[board] = in.readInt();
+				}
+				account.restoreMultiBoardGame(words);
+				break;
+			case MULTI_GUESS:
+				account.restoreMultiGuess(in.readInt());
+				break;
+			case DAILY_GUESS:
+				LocalDate date = LocalDate.ofEpochDay(in.readLong());
+				account.addDailyGuess(date, in.readInt());
+				break;
+			default:
+				System.out.println("Skipped an unknown account journal record");
+		}
+	}
+	
+	
+	private interface Visitor {
+		void visit(long sequence, byte type, String username, DataInputStream in) throws IOException;
+	}
+	
+	
+	private interface Payload {
+		void write() throws IOException;
+	}
+	
+}
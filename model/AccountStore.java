@@ -0,0 +1,318 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * AccountStore keeps every player account in its own record file, so saving 
+ * only has to write the accounts that changed. During play only the logged-in 
+ * player's account changes, so a save writes one record no matter how many 
+ * accounts there are, where writing accounts.ser wrote all of them. Each 
+ * PlayerAccount tracks whether it has changed since it was last stored (see 
+ * PlayerAccount.isDirty).
+ * 
+ * A record holds the sequence number of the last account journal record (see 
+ * AccountJournal) that the account includes, followed by the account in the 
+ * binary format of PlayerAccountCodec. Records are written under another 
+ * name and then moved into place, so a crash leaves either the old record 
+ * or the new one, and the journal replays only the changes that a record 
+ * does not have yet. Files are named after the username in hex, so any 
+ * username makes a safe file name. A username longer than FULL_NAME_BYTES 
+ * bytes would make a name too long for the file system, so its file is 
+ * named after the first PREFIX_BYTES bytes followed by a SHA-256 hash of the 
+ * whole username.
+ */
+
+public class AccountStore {
+	/**
+	 * Name of the directory that holds the records.
+	 */
+	public static final String DIRECTORY = "accounts";
+	
+	private static final String SUFFIX = ".acct";
+	// longest username whose hex, with the suffix and ".tmp", fits in the 
+	// 255 characters a file name can have
+	private static final int FULL_NAME_BYTES = 123;
+	// bytes of a longer username spelled out before its hash
+	private static final int PREFIX_BYTES = 64;
+	
+	private final File directory;
+	// journal sequence number stored with each account's record
+	private final Map<String, Long> sequences;
+	// records are written by AccountWriter's thread
+	private volatile long bytesWritten;
+	private volatile int recordsWritten;
+	
+	
+	/**
+	 * Creates a store in the given directory, which is made the first time 
+	 * an account is flushed
+	 * 
+	 * @param directory File representing the directory of records
+	 */
+	public AccountStore(File directory) {
+		this.directory = directory;
+		sequences = new ConcurrentHashMap<>();
+	}
+	
+	
+	/**
+	 * Indicates whether the store has been written to before
+	 * 
+	 * @return boolean indicating whether the directory exists
+	 */
+	public boolean exists() {
+		return directory.isDirectory();
+	}
+	
+	
+	/**
+	 * Reads every account in the store. A record that cannot be read is 
+	 * skipped so that one bad file does not lose every account
+	 * 
+	 * @return HashMap of usernames to accounts, none of them dirty
+	 */
+	public HashMap<String, PlayerAccount> load() {
+		HashMap<String, PlayerAccount> accounts = new HashMap<>();
+		sequences.clear();
+		forEach((account, sequence) -> {
+			accounts.put(account.getUsername(), account);
+			sequences.put(account.getUsername(), sequence);
+		});
+		return accounts;
+	}
+	
+	
+	/**
+	 * Reads one account from the store
+	 * 
+	 * @param username String representing the account's username
+	 * 
+	 * @return PlayerAccount that is not dirty, or null if the account has no 
+	 * 		   record or its record cannot be read
+	 */
+	public PlayerAccount load(String username) {
+		File file = fileFor(username);
+		if (!file.isFile()) {
+			return null;
+		}
+		PlayerAccount[] found = new PlayerAccount[1];
+		read(file, (account, sequence) -> {
+			found[0] = account;
+			sequences.put(username, sequence);
+		});
+		return found[0];
+	}
+	
+	
+	/**
+	 * Reads the accounts in the store one at a time, so that they do not all 
+	 * have to be held in memory at once. A record that cannot be read is 
+	 * skipped
+	 * 
+	 * @param action function given each account along with the sequence 
+	 * 		  number stored with it
+	 */
+	public void forEach(ObjLongConsumer<PlayerAccount> action) {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			read(file, action);
+		}
+	}
+	
+	
+	/**
+	 * Writes the record of every account that has changed since it was last 
+	 * stored, and marks those accounts clean
+	 * 
+	 * @param accounts Collection of every account
+	 * @param sequence long representing the last account journal record that 
+	 * 		  the accounts include
+	 * 
+	 * @return int representing the number of records written
+	 * 
+	 * @throws IOException if a record cannot be written
+	 */
+	public int flush(Collection<PlayerAccount> accounts, long sequence) throws IOException {
+		int written = 0;
+		for (PlayerAccount account : accounts) {
+			if (!account.isDirty()) {
+				continue;
+			}
+			write(account.getUsername(), toRecord(account, sequence));
+			account.markClean();
+			written++;
+		}
+		return written;
+	}
+	
+	
+	/**
+	 * Writes one record that was built by toRecord, replacing the account's 
+	 * old record
+	 * 
+	 * @param username String representing the account's username
+	 * @param record byte array holding the record
+	 * 
+	 * @throws IOException if the record cannot be written
+	 */
+	public void write(String username, byte[] record) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Couldn't make " + directory);
+		}
+		File target = fileFor(username);
+		File temp = new File(directory, target.getName() + ".tmp");
+		try (FileOutputStream output = new FileOutputStream(temp)) {
+			output.write(record);
+			output.getFD().sync();
+		}
+		Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, 
+				StandardCopyOption.ATOMIC_MOVE);
+		sequences.put(username, new DataInputStream(new ByteArrayInputStream(record)).readLong());
+		bytesWritten += record.length;
+		recordsWritten++;
+	}
+	
+	
+	/**
+	 * Deletes an account's record
+	 * 
+	 * @param username String representing the account's username
+	 */
+	public void remove(String username) {
+		fileFor(username).delete();
+		sequences.remove(username);
+	}
+	
+	
+	/**
+	 * Returns the sequence number stored with an account's record, so that 
+	 * replaying the journal can skip the changes already in it
+	 * 
+	 * @param username String representing the account's username
+	 * 
+	 * @return long representing the sequence number, or 0 if the account 
+	 * 		   has no record
+	 */
+	public long getSequence(String username) {
+		return sequences.getOrDefault(username, 0L);
+	}
+	
+	
+	/**
+	 * Returns the number of bytes of records written by this store
+	 * 
+	 * @return long representing the bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+	
+	
+	/**
+	 * Returns the number of records written by this store
+	 * 
+	 * @return int representing the records written
+	 */
+	public int getRecordsWritten() {
+		return recordsWritten;
+	}
+	
+	
+	/**
+	 * Builds the record for an account, the same bytes flush writes
+	 * 
+	 * @param account PlayerAccount to be stored
+	 * @param sequence long representing the last account journal record that 
+	 * 		  the account includes
+	 * 
+	 * @return byte array holding the record
+	 */
+	public static byte[] toRecord(PlayerAccount account, long sequence) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeLong(sequence);
+			PlayerAccountCodec.write(account, out);
+		} catch (IOException err) {
+			// writing to a ByteArrayOutputStream never fails
+			throw new IllegalStateException(err);
+		}
+		return bytes.toByteArray();
+	}
+	
+	
+	private void read(File file, ObjLongConsumer<PlayerAccount> action) {
+		try {
+			byte[] record = Files.readAllBytes(file.toPath());
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+			long sequence = in.readLong();
+			action.accept(PlayerAccountCodec.read(in), sequence);
+		} catch (IOException err) {
+			System.out.println("Couldn't read from " + file.getName());
+		}
+	}
+	
+	
+	/**
+	 * Reads the account back out of a record that was built by toRecord
+	 * 
+	 * @param record byte array holding the record
+	 * 
+	 * @return PlayerAccount that is not dirty
+	 * 
+	 * @throws IOException if the record cannot be read
+	 */
+	public static PlayerAccount fromRecord(byte[] record) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+		in.readLong();
+		return PlayerAccountCodec.read(in);
+	}
+	
+	
+	private File fileFor(String username) {
+		byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+		StringBuilder name = new StringBuilder();
+		if (bytes.length <= FULL_NAME_BYTES) {
+			appendHex(name, bytes, bytes.length);
+		}
+		else {
+			appendHex(name, bytes, PREFIX_BYTES);
+			try {
+				byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+				name.append('-');
+				appendHex(name, digest, digest.length);
+			} catch (NoSuchAlgorithmException err) {
+				// every Java platform has to provide SHA-256
+				throw new IllegalStateException(err);
+			}
+		}
+		return new File(directory, name + SUFFIX);
+	}
+	
+	
+	private static void appendHex(StringBuilder name, byte[] bytes, int length) {
+		for (int i = 0; i < length; i++) {
+			name.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+			name.append(Character.forDigit(bytes[i] & 0xf, 16));
+		}
+	}
+	
+}
@@ -0,0 +1,483 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AccountWriter saves accounts to an AccountStore on a background thread, so
+ * that saving never makes the GUI wait for the disk. A save only builds the
+ * records of the accounts that changed (see AccountStore.toRecord), which
+ * takes microseconds, and hands them to the writer thread, which writes each
+ * one to a temporary file and moves it into place. Saves that come in while
+ * a write is going on, or within COALESCE_MILLIS of the first one, are merged
+ * into the next write, and only the newest record of each account is
+ * written, so a burst of saves costs one write per account.
+ *
+ * Accounts that are waiting to be written are read from the waiting records
+ * rather than the store, so a save is seen at once. flush waits until every
+ * save made so far is on the disk; the shared writer runs it from a shutdown
+ * hook, so closing the program never loses a save. The writer keeps track of
+ * how long saves take to reach the disk and how many records have been
+ * waiting at once, which getReport describes for benchmarks and tests.
+ */
+
+public class AccountWriter implements AutoCloseable {
+	/**
+	 * How long the writer waits after a save before writing, so that the
+	 * saves right after it are written along with it, in milliseconds.
+	 */
+	public static final long COALESCE_MILLIS = 20;
+
+	// how long to wait before trying again after a write fails
+	private static final long RETRY_MILLIS = 1000;
+	// stands for a record that is waiting to be removed
+	private static final byte[] REMOVED = new byte[0];
+
+	private static AccountWriter shared;
+
+	private final AccountStore store;
+	private final long coalesceMillis;
+	// the newest record of each account that is not on the disk yet,
+	// including the ones being written right now
+	private final LinkedHashMap<String, Waiting> pending;
+	private final List<Runnable> afterWrite;
+	private Thread thread;
+	// whether there has been a save or removal since the last write began
+	private boolean requested;
+	private boolean writing;
+	private boolean failed;
+	private boolean closed;
+	private long requestedSequence;
+	private long writtenSequence;
+	// when the oldest save that is not being written yet was made
+	private long oldestRequest;
+	private int requests;
+	private int writes;
+	private int maxQueueDepth;
+	private long totalLatency;
+	private long maxLatency;
+
+
+	/**
+	 * Creates a writer for a store. The writer thread is started by the first
+	 * save
+	 *
+	 * @param store AccountStore to write the records to
+	 * @param coalesceMillis long representing how long to wait after a save
+	 * 		  before writing, in milliseconds
+	 */
+	public AccountWriter(AccountStore store, long coalesceMillis) {
+		this.store = store;
+		this.coalesceMillis = coalesceMillis;
+		pending = new LinkedHashMap<>();
+		afterWrite = new ArrayList<>();
+	}
+
+
+	/**
+	 * Returns the writer for the accounts directory, shared by the whole
+	 * program so that every backend sees the same saves. The first time it is
+	 * asked for, a shutdown hook is added that waits for every save
+	 *
+	 * @return AccountWriter for AccountStore.DIRECTORY
+	 */
+	public static synchronized AccountWriter getShared() {
+		if (shared == null) {
+			AccountWriter writer = new AccountWriter(new AccountStore(new File(AccountStore.DIRECTORY)),
+					COALESCE_MILLIS);
+			Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "account-writer-shutdown"));
+			shared = writer;
+		}
+		return shared;
+	}
+
+
+	/**
+	 * Returns the store this writer writes to
+	 *
+	 * @return AccountStore holding the records
+	 */
+	public AccountStore getStore() {
+		return store;
+	}
+
+
+	/**
+	 * Saves every account that has changed since it was last saved. The
+	 * records are built and the accounts marked clean right away; writing
+	 * them happens on the writer thread
+	 *
+	 * @param accounts Collection of every account in memory
+	 * @param sequence long representing the last account journal record that
+	 * 		  the accounts include
+	 * @param whenWritten Runnable to run on the writer thread once these
+	 * 		  records are on the disk, or null
+	 *
+	 * @return int representing the number of records handed to the writer
+	 */
+	public int save(Collection<PlayerAccount> accounts, long sequence, Runnable whenWritten) {
+		LinkedHashMap<String, Waiting> records = new LinkedHashMap<>();
+		for (PlayerAccount account : accounts) {
+			if (account.isDirty()) {
+				byte[] record = AccountStore.toRecord(account, sequence);
+				records.put(account.getUsername(), new Waiting(record, sequence));
+				account.markClean();
+			}
+		}
+		synchronized (this) {
+			checkOpen();
+			pending.putAll(records);
+			if (whenWritten != null) {
+				afterWrite.add(whenWritten);
+			}
+			requestedSequence = Math.max(requestedSequence, sequence);
+			request();
+		}
+		return records.size();
+	}
+
+
+	/**
+	 * Removes an account's record, after any save of it that is still waiting
+	 *
+	 * @param username String representing the account's username
+	 */
+	public synchronized void remove(String username) {
+		checkOpen();
+		pending.put(username, new Waiting(REMOVED, requestedSequence));
+		request();
+	}
+
+
+	/**
+	 * Reads one account, from its waiting record if it has one and from the
+	 * store otherwise
+	 *
+	 * @param username String representing the account's username
+	 *
+	 * @return PlayerAccount that is not dirty, or null if the account has no
+	 * 		   record or is waiting to be removed
+	 */
+	public PlayerAccount load(String username) {
+		byte[] record = null;
+		synchronized (this) {
+			Waiting waiting = pending.get(username);
+			if (waiting != null) {
+				record = waiting.record;
+			}
+		}
+		if (record == REMOVED) {
+			return null;
+		}
+		if (record == null) {
+			return store.load(username);
+		}
+		try {
+			return AccountStore.fromRecord(record);
+		} catch (IOException err) {
+			System.out.println("Couldn't read the waiting record of " + username);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Waits until every save made so far is on the disk
+	 *
+	 * @return boolean indicating whether everything was written. False if a
+	 * 		   write failed (the writer keeps trying) or the wait was
+	 * 		   interrupted
+	 */
+	public synchronized boolean flush() {
+		try {
+			while ((writing || requested) && !failed) {
+				wait();
+			}
+		} catch (InterruptedException err) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return pending.isEmpty();
+	}
+
+
+	/**
+	 * Waits for every save, then stops the writer thread. No more saves can
+	 * be made afterwards
+	 */
+	@Override
+	public void close() {
+		flush();
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+	}
+
+
+	/**
+	 * Returns the highest journal sequence number that every saved record
+	 * is on the disk for, so the journal records up to it are no longer
+	 * needed. It moves up after each write, as long as nothing that was
+	 * saved at or before the write's sequence number is still waiting
+	 *
+	 * @return long representing the sequence number
+	 */
+	public synchronized long getWrittenSequence() {
+		return writtenSequence;
+	}
+
+
+	/**
+	 * Returns the number of saves and removals asked for
+	 *
+	 * @return int representing the requests
+	 */
+	public synchronized int getRequestCount() {
+		return requests;
+	}
+
+
+	/**
+	 * Returns the number of times the writer has written a batch of records.
+	 * Fewer writes than requests means saves were merged
+	 *
+	 * @return int representing the writes
+	 */
+	public synchronized int getWriteCount() {
+		return writes;
+	}
+
+
+	/**
+	 * Returns the number of records waiting to be written, including the
+	 * ones being written now
+	 *
+	 * @return int representing the queue depth
+	 */
+	public synchronized int getQueueDepth() {
+		return pending.size();
+	}
+
+
+	/**
+	 * Returns the most records that have been waiting at once
+	 *
+	 * @return int representing the deepest the queue has been
+	 */
+	public synchronized int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+
+	/**
+	 * Returns the average time from a save to the end of the write that
+	 * includes it, counted from the oldest save in each write
+	 *
+	 * @return double representing the latency in milliseconds
+	 */
+	public synchronized double getAverageLatencyMillis() {
+		return writes == 0 ? 0 : totalLatency / 1e6 / writes;
+	}
+
+
+	/**
+	 * Returns the longest time from a save to the end of the write that
+	 * includes it
+	 *
+	 * @return double representing the latency in milliseconds
+	 */
+	public synchronized double getMaxLatencyMillis() {
+		return maxLatency / 1e6;
+	}
+
+
+	/**
+	 * Describes the saves made so far
+	 *
+	 * @return String holding the counts, latencies and queue depth
+	 */
+	public synchronized String getReport() {
+		return String.format("Account saves: %d requests in %d writes (%d records, %d bytes), "
+				+ "latency %.1f ms average and %.1f ms max, queue depth %d now and %d max",
+				requests, writes, store.getRecordsWritten(), store.getBytesWritten(),
+				getAverageLatencyMillis(), getMaxLatencyMillis(), pending.size(), maxQueueDepth);
+	}
+
+
+	// called while holding the lock, after a change to pending
+	private void request() {
+		requests++;
+		requested = true;
+		maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+		if (oldestRequest == 0) {
+			oldestRequest = System.nanoTime();
+		}
+		if (thread == null) {
+			thread = new Thread(this::run, "account-writer");
+			// the shutdown hook flushes, so the writer should never keep the
+			// program from closing
+			thread.setDaemon(true);
+			thread.start();
+		}
+		notifyAll();
+	}
+
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("The account writer has been closed");
+		}
+	}
+
+
+	private void run() {
+		try {
+			while (true) {
+				LinkedHashMap<String, Waiting> batch;
+				List<Runnable> callbacks;
+				long batchSequence;
+				long batchStart;
+				synchronized (this) {
+					try {
+						while (!requested) {
+							if (closed) {
+								return;
+							}
+							wait();
+						}
+						// let the rest of a burst of saves come in
+						long deadline = System.currentTimeMillis() + coalesceMillis;
+						long left = coalesceMillis;
+						while (left > 0 && !closed) {
+							wait(left);
+							left = deadline - System.currentTimeMillis();
+						}
+					} catch (InterruptedException err) {
+						return;
+					}
+					batch = new LinkedHashMap<>(pending);
+					callbacks = new ArrayList<>(afterWrite);
+					afterWrite.clear();
+					batchSequence = requestedSequence;
+					batchStart = oldestRequest;
+					oldestRequest = 0;
+					requested = false;
+					writing = true;
+				}
+
+				boolean ok = false;
+				try {
+					ok = write(batch);
+					if (ok) {
+						for (Runnable callback : callbacks) {
+							callback.run();
+						}
+					}
+				} catch (RuntimeException err) {
+					// such as an UncheckedIOException from forcing the account
+					// map; the batch is tried again like any failed write
+					err.printStackTrace();
+					System.out.println("Couldn't write to file");
+					ok = false;
+				} finally {
+					finishBatch(batch, callbacks, batchSequence, batchStart, ok);
+				}
+				if (!ok && !waitToRetry()) {
+					return;
+				}
+			}
+		} finally {
+			// if the thread dies, the next save starts a new one
+			synchronized (this) {
+				thread = null;
+			}
+		}
+	}
+
+
+	// called once a batch is over, however it ended, so that flush never
+	// waits on a write that has stopped
+	private synchronized void finishBatch(Map<String, Waiting> batch, List<Runnable> callbacks,
+			long batchSequence, long batchStart, boolean ok) {
+		writing = false;
+		failed = !ok;
+		if (ok) {
+			for (Map.Entry<String, Waiting> written : batch.entrySet()) {
+				// a newer record that came in during the write stays
+				pending.remove(written.getKey(), written.getValue());
+			}
+			long latency = System.nanoTime() - batchStart;
+			totalLatency += latency;
+			maxLatency = Math.max(maxLatency, latency);
+			writes++;
+			// records saved during the write don't hold back the ones it
+			// wrote, unless they were saved at the same point
+			boolean covered = true;
+			for (Waiting waiting : pending.values()) {
+				if (waiting.sequence <= batchSequence) {
+					covered = false;
+				}
+			}
+			if (covered) {
+				writtenSequence = Math.max(writtenSequence, batchSequence);
+			}
+		}
+		else {
+			afterWrite.addAll(0, callbacks);
+			requested = true;
+			oldestRequest = oldestRequest == 0 ? batchStart : Math.min(oldestRequest, batchStart);
+		}
+		notifyAll();
+	}
+
+
+	// waits before trying a failed batch again; false if interrupted
+	private synchronized boolean waitToRetry() {
+		try {
+			wait(RETRY_MILLIS);
+		} catch (InterruptedException err) {
+			return false;
+		}
+		failed = false;
+		return true;
+	}
+
+
+	private boolean write(Map<String, Waiting> batch) {
+		try {
+			for (Map.Entry<String, Waiting> entry : batch.entrySet()) {
+				if (entry.getValue().record == REMOVED) {
+					store.remove(entry.getKey());
+				}
+				else {
+					store.write(entry.getKey(), entry.getValue().record);
+				}
+			}
+			return true;
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't write to file");
+			return false;
+		}
+	}
+
+
+	// a record waiting to be written, with the journal sequence number it
+	// was saved at
+	private static final class Waiting {
+		private final byte[] record;
+		private final long sequence;
+
+		private Waiting(byte[] record, long sequence) {
+			this.record = record;
+			this.sequence = sequence;
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package model;
+
+/**
+ * AdversarialPuzzle is a puzzle that never commits to a word. It keeps every
+ * puzzle word that fits the colors given so far in a packed array, and after
+ * each guess it splits them into 243 buckets by the pattern code they would
+ * give, then keeps only the biggest bucket. The player wins once a single word
+ * is left and they guess it. A guess is scored the same way as in Puzzle, with
+ * one call to Feedback.scoreAll over the words still in play, and the kept
+ * words are moved to the front of the array so nothing new is created.
+ */
+
+public class AdversarialPuzzle extends Puzzle {
+	private static final long serialVersionUID = 1L;
+	
+	// the first count entries are the words still in play
+	private int[] candidates;
+	private int count;
+	// working space for scoring, made again after loading
+	private transient byte[] codes;
+	private transient int[] buckets;
+	
+	
+	/**
+	 * Creates an adversarial puzzle over every word in the shared answers
+	 */
+	public AdversarialPuzzle() {
+		this(Dictionary.getAnswers());
+	}
+	
+	
+	/**
+	 * Creates an adversarial puzzle over every word in the given answers
+	 * 
+	 * @param answers Dictionary holding the words that can be puzzle words
+	 */
+	public AdversarialPuzzle(Dictionary answers) {
+		super(answers.getPacked(0));
+		candidates = answers.copyPackedWords();
+		count = candidates.length;
+	}
+	
+	
+	/**
+	 * Returns one of the words still in play. Every one of them would have 
+	 * given the same colors for every guess so far
+	 * 
+	 * @return The puzzle word
+	 */
+	@Override
+	public String getWord() {
+		return PackedWord.decode(candidates[0]);
+	}
+	
+	
+	/**
+	 * Returns one of the words still in play in its packed form
+	 * 
+	 * @return int representing the packed puzzle word
+	 */
+	@Override
+	public int getPackedWord() {
+		return candidates[0];
+	}
+	
+	
+	/**
+	 * Scores a guess by keeping the biggest group of words that give the same 
+	 * pattern code. When groups are the same size the one with the lowest code,
+	 * which has the fewest greens and yellows, is kept
+	 * 
+	 * @param packedAttempt int representing the player's packed guess attempt
+	 * 
+	 * @return int representing the pattern code (see Feedback), or -1 if the
+	 * 		   attempt is not a valid word
+	 */
+	@Override
+	public int score(int packedAttempt) {
+		if (!Dictionary.getAllowedGuesses().contains(packedAttempt)) {
+			return -1;
+		}
+		if (codes == null) {
+			codes = new byte[candidates.length];
+			buckets = new int[Feedback.PATTERNS];
+		}
+		
+		Feedback.scoreAll(packedAttempt, candidates, count, codes);
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = 0;
+		}
+		for (int i = 0; i < count; i++) {
+			buckets[codes[i] & 0xff]++;
+		}
+		int kept = 0;
+		for (int pattern = 1; pattern < buckets.length; pattern++) {
+			if (buckets[pattern] > buckets[kept]) {
+				kept = pattern;
+			}
+		}
+		
+		// move the kept words to the front, keeping them in order
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			if ((codes[i] & 0xff) == kept) {
+				candidates[size] = candidates[i];
+				size++;
+			}
+		}
+		count = size;
+		return kept;
+	}
+	
+	
+	/**
+	 * Returns how many words are still in play
+	 * 
+	 * @return int representing the number of words that fit every guess so far
+	 */
+	public int getRemainingCount() {
+		return count;
+	}
+	
+}
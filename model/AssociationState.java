@@ -5,17 +5,43 @@ import java.io.Serializable;
 /**
  * Acts as a key-value pair that associates a letter with its state.
  * The fields are public for easy access to the stored data, which must be
- * accessed and potentially changed often.
+ * accessed often. They cannot be changed, so the same object can be shared:
+ * there are only 26 letters and 3 states, and of returns one shared object
+ * for each pair.
  * 
  * @author Adrianna Koppes
  * @since April 19, 2023
  */
 public class AssociationState implements Serializable {
-	public String letter;
-	public LetterState state;
+	private static final AssociationState[][] SHARED = new AssociationState[26][];
+	
+	static {
+		LetterState[] states = LetterState.values();
+		for (int letter = 0; letter < SHARED.length; letter++) {
+			SHARED[letter] = new AssociationState[states.length];
+			for (LetterState state : states) {
+				SHARED[letter][state.ordinal()] = new AssociationState(PackedWord.letterString(letter), state);
+			}
+		}
+	}
+	
+	public final String letter;
+	public final LetterState state;
 	
 	public AssociationState(String letter, LetterState state) {
 		this.letter = letter;
 		this.state = state;
 	}
+	
+	/**
+	 * Returns the shared object for a letter and state
+	 * 
+	 * @param letter integer from 0 to 25 representing the letter, 0 being 'a'
+	 * @param state LetterState representing the color of the letter
+	 * 
+	 * @return AssociationState shared by every caller asking for this pair
+	 */
+	public static AssociationState of(int letter, LetterState state) {
+		return SHARED[letter][state.ordinal()];
+	}
 }
@@ -0,0 +1,220 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Keeps track of which puzzle words are still possible after the guesses made
+ * so far. The answers are indexed once into bitsets: one for every letter in
+ * every position, and one for every letter and count, holding the words that
+ * have at least that many copies of the letter. Applying a guess only ANDs a
+ * handful of these bitsets into the set of remaining words, so the filter never
+ * has to look at the words themselves, and the count and list of remaining
+ * words can be read at any time. The guesses and pattern codes that were
+ * applied are kept too, so that a hint can be looked up by how the game went.
+ */
+public class CandidateFilter {
+	private static volatile Index shared;
+
+	private final Index index;
+	private final BitSet remaining;
+	private int[] guesses;
+	private int[] patterns;
+
+	/**
+	 * Creates a filter over the shared answer dictionary with every word still
+	 * possible.
+	 */
+	public CandidateFilter() {
+		this(Dictionary.getAnswers());
+	}
+
+	/**
+	 * Creates a filter over the given answers with every word still possible.
+	 *
+	 * @param answers Dictionary holding the words that can be puzzle words.
+	 */
+	public CandidateFilter(Dictionary answers) {
+		index = Index.forAnswers(answers);
+		remaining = new BitSet(answers.size());
+		reset();
+	}
+
+	/**
+	 * Makes every word possible again, as at the start of a game.
+	 */
+	public void reset() {
+		remaining.set(0, index.answers.size());
+		guesses = new int[0];
+		patterns = new int[0];
+	}
+
+	/**
+	 * Rules out every word that would not have given this pattern code for the
+	 * guess.
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param pattern int from 0 to 242 representing the pattern code the guess got.
+	 */
+	public void apply(int guess, int pattern) {
+		guesses = Arrays.copyOf(guesses, guesses.length + 1);
+		guesses[guesses.length - 1] = guess;
+		patterns = Arrays.copyOf(patterns, patterns.length + 1);
+		patterns[patterns.length - 1] = pattern;
+		
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			BitSet here = index.positions[i * 26 + PackedWord.letterAt(guess, i)];
+			if (Feedback.digitAt(pattern, i) == Feedback.GREEN) {
+				remaining.and(here);
+			} else {
+				remaining.andNot(here);
+			}
+		}
+
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			int letter = PackedWord.letterAt(guess, i);
+			if (seenBefore(guess, letter, i)) {
+				continue;
+			}
+			// the green and yellow copies of a letter give its least count in the
+			// answer, and a gray copy means there are no more than that
+			int colored = 0;
+			boolean gray = false;
+			for (int j = i; j < PackedWord.LENGTH; j++) {
+				if (PackedWord.letterAt(guess, j) == letter) {
+					if (Feedback.digitAt(pattern, j) == Feedback.GRAY) {
+						gray = true;
+					} else {
+						colored++;
+					}
+				}
+			}
+			if (colored > 0) {
+				remaining.and(index.counts[letter][colored]);
+			}
+			if (gray) {
+				remaining.andNot(index.counts[letter][colored + 1]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the answer dictionary this filter works over.
+	 *
+	 * @return Dictionary holding every word that could be the puzzle word.
+	 */
+	public Dictionary getAnswers() {
+		return index.answers;
+	}
+
+	/**
+	 * Returns the guesses applied so far, in order.
+	 *
+	 * @return int array holding the packed guesses.
+	 */
+	public int[] getGuesses() {
+		return guesses.clone();
+	}
+
+	/**
+	 * Returns the pattern codes of the guesses applied so far, in order.
+	 *
+	 * @return int array holding the pattern codes.
+	 */
+	public int[] getPatterns() {
+		return patterns.clone();
+	}
+
+	/**
+	 * Returns the number of words that are still possible.
+	 *
+	 * @return integer representing the number of remaining words.
+	 */
+	public int getCount() {
+		return remaining.cardinality();
+	}
+
+	/**
+	 * Determines whether a packed word is still possible.
+	 *
+	 * @param packed int representing the packed word.
+	 * @return boolean representing whether the word could still be the answer.
+	 */
+	public boolean contains(int packed) {
+		int position = index.answers.indexOf(packed);
+		return position != -1 && remaining.get(position);
+	}
+
+	/**
+	 * Returns the words that are still possible, in dictionary order.
+	 *
+	 * @return int array holding the packed remaining words.
+	 */
+	public int[] getCandidates() {
+		int[] words = new int[getCount()];
+		int count = 0;
+		for (int i = remaining.nextSetBit(0); i >= 0; i = remaining.nextSetBit(i + 1)) {
+			words[count] = index.answers.getPacked(i);
+			count++;
+		}
+		return words;
+	}
+
+	private static boolean seenBefore(int guess, int letter, int position) {
+		for (int j = 0; j < position; j++) {
+			if (PackedWord.letterAt(guess, j) == letter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the bitsets for one answer dictionary, shared by every filter over it
+	private static class Index {
+		private final Dictionary answers;
+		// words with letter l in position i, at i * 26 + l
+		private final BitSet[] positions = new BitSet[PackedWord.LENGTH * 26];
+		// words with at least k copies of letter l, at [l][k]; [l][0] is unused
+		// and [l][LENGTH + 1] stays empty
+		private final BitSet[][] counts = new BitSet[26][PackedWord.LENGTH + 2];
+
+		private Index(Dictionary answers) {
+			this.answers = answers;
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = new BitSet(answers.size());
+			}
+			for (BitSet[] letter : counts) {
+				for (int k = 1; k < letter.length; k++) {
+					letter[k] = new BitSet(answers.size());
+				}
+			}
+			int[] letterCounts = new int[26];
+			for (int n = 0; n < answers.size(); n++) {
+				int word = answers.getPacked(n);
+				for (int i = 0; i < PackedWord.LENGTH; i++) {
+					int letter = PackedWord.letterAt(word, i);
+					positions[i * 26 + letter].set(n);
+					letterCounts[letter]++;
+					counts[letter][letterCounts[letter]].set(n);
+				}
+				for (int i = 0; i < PackedWord.LENGTH; i++) {
+					letterCounts[PackedWord.letterAt(word, i)] = 0;
+				}
+			}
+		}
+
+		private static Index forAnswers(Dictionary answers) {
+			Index current = shared;
+			if (current == null || current.answers != answers) {
+				synchronized (CandidateFilter.class) {
+					current = shared;
+					if (current == null || current.answers != answers) {
+						current = new Index(answers);
+						shared = current;
+					}
+				}
+			}
+			return current;
+		}
+	}
+}
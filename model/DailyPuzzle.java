@@ -0,0 +1,284 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * DailyPuzzle is the daily challenge: one puzzle word per day that every 
+ * player gets. The word is worked out from the date and a secret seed, so it 
+ * does not have to be stored anywhere and every running copy of the game 
+ * agrees on it, but it cannot be guessed from the date alone. It is worked 
+ * out once per day and shared by every session; a player only keeps their 
+ * list of guesses for the day (see PlayerAccount). Since everyone has the 
+ * same word, the results for the day can be added up as they come in to give 
+ * the global spread of how many guesses it took.
+ * 
+ * The results for the day are kept in daily.results, next to the account 
+ * map, so they outlast the program. The file holds one small record: the day 
+ * followed by the counts. Each finished game locks the file, adds itself to 
+ * the counts stored there and writes them back, so games finished by other 
+ * copies of the game running on the same files are counted too. A record for 
+ * an earlier day is started over.
+ * 
+ * The seed is read from the wordle.daily.seed system property, or else the 
+ * WORDLE_DAILY_SEED environment variable. Without either, a fixed seed is 
+ * used, which is fine for playing on one computer.
+ */
+
+public class DailyPuzzle extends Puzzle {
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Name of the file the results for the day are kept in.
+	 */
+	public static final String FILE_NAME = "daily.results";
+	
+	private static final String SEED_PROPERTY = "wordle.daily.seed";
+	private static final String SEED_VARIABLE = "WORDLE_DAILY_SEED";
+	private static final long DEFAULT_SEED = 0x5747_4449_4c59L;
+	private static volatile DailyPuzzle today;
+	
+	private final LocalDate date;
+	// how many players won in 1 to 6 guesses, then how many lost
+	private final AtomicIntegerArray results;
+	// where the results are kept, or null to keep them in memory only
+	private final File file;
+	
+	
+	private DailyPuzzle(LocalDate date, int packedWord, File file) {
+		super(packedWord);
+		this.date = date;
+		this.file = file;
+		results = new AtomicIntegerArray(PlayerAccount.MAX_GUESSES + 1);
+	}
+	
+	
+	/**
+	 * Returns the puzzle for today. It is only worked out the first time it 
+	 * is asked for each day, and the same puzzle (with the same results) is 
+	 * returned to every session until the date changes
+	 * 
+	 * @return DailyPuzzle for today's date
+	 */
+	public static DailyPuzzle getToday() {
+		return get(LocalDate.now());
+	}
+	
+	
+	/**
+	 * Returns the puzzle for a date, reusing the shared one if the date is 
+	 * the one it was made for. Its results are kept in FILE_NAME
+	 * 
+	 * @param date LocalDate representing the day
+	 * 
+	 * @return DailyPuzzle for the date
+	 */
+	public static DailyPuzzle get(LocalDate date) {
+		DailyPuzzle puzzle = today;
+		if (puzzle == null || !puzzle.date.equals(date)) {
+			synchronized (DailyPuzzle.class) {
+				puzzle = today;
+				if (puzzle == null || !puzzle.date.equals(date)) {
+					puzzle = forDate(date, secretSeed(), new File(FILE_NAME));
+					today = puzzle;
+				}
+			}
+		}
+		return puzzle;
+	}
+	
+	
+	/**
+	 * Works out a new puzzle for a date and seed, with no results yet. The 
+	 * same date and seed always give the same word, as long as words.txt has 
+	 * not changed. The results are only kept in memory
+	 * 
+	 * @param date LocalDate representing the day
+	 * @param seed long representing the secret seed
+	 * 
+	 * @return DailyPuzzle for the date
+	 */
+	public static DailyPuzzle forDate(LocalDate date, long seed) {
+		return forDate(date, seed, null);
+	}
+	
+	
+	/**
+	 * Works out a new puzzle for a date and seed, starting from the results 
+	 * kept in a file if they are for the same date
+	 * 
+	 * @param date LocalDate representing the day
+	 * @param seed long representing the secret seed
+	 * @param file File the results are kept in, or null to keep them in 
+	 * 		  memory only
+	 * 
+	 * @return DailyPuzzle for the date
+	 */
+	public static DailyPuzzle forDate(LocalDate date, long seed, File file) {
+		Dictionary answers = Dictionary.getAnswers();
+		long mixed = mix(seed + date.toEpochDay() * 0x9E3779B97F4A7C15L);
+		int index = (int) Math.floorMod(mixed, (long) answers.size());
+		DailyPuzzle puzzle = new DailyPuzzle(date, answers.getPacked(index), file);
+		if (file != null && file.exists()) {
+			try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+				// the lock is let go when the file is closed
+				in.getChannel().lock(0, Long.MAX_VALUE, true);
+				puzzle.copyResults(puzzle.readResults(in));
+			} catch (IOException err) {
+				System.out.println("Couldn't read the daily results");
+			}
+		}
+		return puzzle;
+	}
+	
+	
+	/**
+	 * Returns the day this puzzle is for
+	 * 
+	 * @return LocalDate representing the day
+	 */
+	public LocalDate getDate() {
+		return date;
+	}
+	
+	
+	/**
+	 * Adds one player's finished game to the results for the day, and to the 
+	 * file they are kept in
+	 * 
+	 * @param guesses int representing the number of guesses the player made
+	 * @param won boolean indicating whether the player found the word
+	 */
+	public void recordResult(int guesses, boolean won) {
+		int slot = PlayerAccount.MAX_GUESSES;
+		if (won) {
+			slot = Math.min(guesses, PlayerAccount.MAX_GUESSES) - 1;
+		}
+		if (file == null) {
+			results.incrementAndGet(slot);
+			return;
+		}
+		synchronized (this) {
+			try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+				out.getChannel().lock();
+				// start from the stored counts, which include games finished 
+				// by other copies of the game
+				int[] stored = readResults(out);
+				stored[slot]++;
+				out.seek(0);
+				out.writeLong(date.toEpochDay());
+				for (int count : stored) {
+					out.writeInt(count);
+				}
+				out.setLength(out.getFilePointer());
+				out.getChannel().force(false);
+				copyResults(stored);
+			} catch (IOException err) {
+				err.printStackTrace();
+				System.out.println("Couldn't write the daily results");
+				results.incrementAndGet(slot);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns how the players did today
+	 * 
+	 * @return int array where position i holds the number of players who won 
+	 * 		   in i + 1 guesses, and the last position holds the number who lost
+	 */
+	public int[] getDistribution() {
+		int[] distribution = new int[results.length()];
+		for (int i = 0; i < distribution.length; i++) {
+			distribution[i] = results.get(i);
+		}
+		return distribution;
+	}
+	
+	
+	/**
+	 * Returns the number of players who have finished today's puzzle
+	 * 
+	 * @return int representing the number of finished games
+	 */
+	public int getPlayerCount() {
+		int total = 0;
+		for (int i = 0; i < results.length(); i++) {
+			total += results.get(i);
+		}
+		return total;
+	}
+	
+	
+	/**
+	 * Returns the percentage of finished games that were won
+	 * 
+	 * @return double representing the solve rate, or 0 if nobody has 
+	 * 		   finished yet
+	 */
+	public double getSolveRate() {
+		int players = getPlayerCount();
+		if (players == 0) {
+			return 0;
+		}
+		int lost = results.get(PlayerAccount.MAX_GUESSES);
+		return (players - lost) * 100.0 / players;
+	}
+	
+	
+	// reads the stored counts, or zeros if the file holds another day or 
+	// nothing at all
+	private int[] readResults(RandomAccessFile in) throws IOException {
+		int[] stored = new int[results.length()];
+		long bytes = Long.BYTES + (long) Integer.BYTES * stored.length;
+		if (in.length() != bytes) {
+			return stored;
+		}
+		in.seek(0);
+		if (in.readLong() != date.toEpochDay()) {
+			return stored;
+		}
+		for (int i = 0; i < stored.length; i++) {
+			stored[i] = in.readInt();
+		}
+		return stored;
+	}
+	
+	
+	private void copyResults(int[] stored) {
+		for (int i = 0; i < stored.length; i++) {
+			results.set(i, stored[i]);
+		}
+	}
+	
+	
+	private static long secretSeed() {
+		String value = System.getProperty(SEED_PROPERTY);
+		if (value == null) {
+			value = System.getenv(SEED_VARIABLE);
+		}
+		if (value == null || value.isBlank()) {
+			return DEFAULT_SEED;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException err) {
+			// any text works as a seed
+			return mix(value.hashCode());
+		}
+	}
+	
+	
+	// spreads the bits of a number out (the last step of SplitMix64), so 
+	// that days next to each other land far apart in the word list
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+}
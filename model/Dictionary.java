@@ -0,0 +1,399 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dictionary holds an immutable list of Wordle words. There are two shared
+ * dictionaries: the answers, read from words.txt, which puzzle words are picked
+ * from, and the allowed guesses, which are the answers plus any extra words
+ * listed in allowed.txt (if that file exists). The files are read the first
+ * time a dictionary is needed and the result is shared by every WordList and
+ * Puzzle, so starting a new game never has to go back to the disk and the words
+ * are only held in memory once no matter how many accounts or games there are.
+ * The two dictionaries have separate indexes, so a long list of allowed
+ * guesses does not slow down picking puzzle words. The files are read by
+ * WordFileLoader straight into packed words (see PackedWord), and a hash index
+ * from each packed word to its position is built when the words are loaded, so
+ * checking a guess takes the same time no matter how long the word list is.
+ *
+ * The word files can be changed while the game is running. Once startWatching
+ * has been called, a background thread rebuilds both dictionaries whenever one
+ * of the files changes and then swaps them in together with a single atomic
+ * update. Games in progress keep their packed puzzle word, so they are not
+ * affected, and guesses are never made to wait for the reload. Code that
+ * needs both dictionaries, such as the feedback matrix, should take them from
+ * one Snapshot (see current) so a reload can't hand it one old dictionary and
+ * one new one.
+ */
+public final class Dictionary {
+	private static final String ANSWERS_FILE = "words.txt";
+	private static final String ALLOWED_FILE = "allowed.txt";
+	// how long the files have to stay the same after a change before they
+	// are read, so that an editor has time to finish writing the whole file
+	private static final long RELOAD_DELAY = 500;
+	private static final int EMPTY = -1;
+	private static final AtomicReference<Snapshot> current = new AtomicReference<>();
+	private static Thread watcher;
+	private final int[] words;
+	// open addressing table holding positions in words, or EMPTY
+	private final int[] table;
+	private final int shift;
+	private final long fingerprint;
+
+	private Dictionary(int[] words) {
+		this.words = words;
+		long hash = 1125899906842597L;
+		for (int word : words) {
+			hash = 31 * hash + word;
+		}
+		fingerprint = hash;
+		int capacity = Integer.highestOneBit(Math.max(words.length, 1) * 2) * 2;
+		shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+		table = new int[capacity];
+		Arrays.fill(table, EMPTY);
+		for (int i = 0; i < words.length; i++) {
+			int slot = slotFor(words[i]);
+			// keep the first position if the file lists a word twice
+			if (table[slot] == EMPTY) {
+				table[slot] = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared dictionary of words that can be puzzle words, loading it
+	 * from words.txt the first time it is asked for.
+	 *
+	 * @return Dictionary object shared by the whole program.
+	 */
+	public static Dictionary getAnswers() {
+		return current().answers;
+	}
+
+	/**
+	 * Returns the shared dictionary of words that can be guessed. Every answer can
+	 * be guessed and comes first, in the same order, followed by the extra words
+	 * in allowed.txt. If there is no allowed.txt, this is the answer dictionary.
+	 *
+	 * @return Dictionary object shared by the whole program.
+	 */
+	public static Dictionary getAllowedGuesses() {
+		return current().allowed;
+	}
+
+	/**
+	 * Returns the answers and allowed guesses that are in use right now, as a
+	 * pair that a reload can't change, loading them the first time they are
+	 * asked for.
+	 *
+	 * @return Snapshot holding both shared dictionaries.
+	 */
+	public static Snapshot current() {
+		Snapshot snapshot = current.get();
+		if (snapshot == null) {
+			synchronized (Dictionary.class) {
+				snapshot = current.get();
+				if (snapshot == null) {
+					snapshot = loadSnapshot();
+					current.set(snapshot);
+				}
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Reads words.txt and allowed.txt again and swaps the new dictionaries in. If
+	 * words.txt cannot be read or has no words in it, the current dictionaries
+	 * are kept.
+	 *
+	 * @return boolean representing whether the new words were swapped in.
+	 */
+	public static boolean reload() {
+		Snapshot fresh = loadSnapshot();
+		if (fresh.answers.size() == 0) {
+			return false;
+		}
+		current.set(fresh);
+		return true;
+	}
+
+	/**
+	 * Starts a background thread that reloads the dictionaries whenever
+	 * words.txt or allowed.txt changes. Calling this more than once does nothing.
+	 */
+	public static synchronized void startWatching() {
+		if (watcher != null) {
+			return;
+		}
+		watcher = new Thread(Dictionary::watchFiles, "dictionary-watcher");
+		// the watcher should never keep the program from closing
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * Builds a dictionary out of the given words instead of words.txt. This is
+	 * meant for testing and benchmarking with word lists of different sizes.
+	 * Anything that is not a five letter lowercase word is left out.
+	 *
+	 * @param words Collection of Strings representing the words to be stored.
+	 * @return Dictionary object holding the given words.
+	 */
+	public static Dictionary fromWords(Collection<String> words) {
+		return new Dictionary(pack(words));
+	}
+
+	/**
+	 * Returns the word stored at the given position in the dictionary.
+	 *
+	 * @param index integer representing the position of the word.
+	 * @return String representing the word at that position.
+	 */
+	public String get(int index) {
+		return PackedWord.decode(words[index]);
+	}
+
+	/**
+	 * Returns the packed form of the word stored at the given position.
+	 *
+	 * @param index integer representing the position of the word.
+	 * @return int representing the packed word at that position.
+	 */
+	public int getPacked(int index) {
+		return words[index];
+	}
+
+	/**
+	 * Returns the number of words in the dictionary.
+	 *
+	 * @return integer representing the number of words.
+	 */
+	public int size() {
+		return words.length;
+	}
+
+	/**
+	 * Determines if the dictionary contains the given word.
+	 *
+	 * @param word String representing the word to be found
+	 * @return boolean representing whether the given word is in the dictionary.
+	 *         True if it is, false otherwise.
+	 */
+	public boolean contains(String word) {
+		return indexOf(PackedWord.encode(word)) != -1;
+	}
+
+	/**
+	 * Determines if the dictionary contains the given packed word.
+	 *
+	 * @param packed int representing the packed word to be found
+	 * @return boolean representing whether the given word is in the dictionary.
+	 */
+	public boolean contains(int packed) {
+		return indexOf(packed) != -1;
+	}
+
+	/**
+	 * Returns the position of the given word in the dictionary.
+	 *
+	 * @param word String representing the word to be found
+	 * @return integer representing the position of the word, or -1 if the word
+	 *         is not in the dictionary.
+	 */
+	public int indexOf(String word) {
+		return indexOf(PackedWord.encode(word));
+	}
+
+	/**
+	 * Returns the position of the given packed word in the dictionary.
+	 *
+	 * @param packed int representing the packed word to be found
+	 * @return integer representing the position of the word, or -1 if the word
+	 *         is not in the dictionary.
+	 */
+	public int indexOf(int packed) {
+		if (packed == PackedWord.INVALID) {
+			return -1;
+		}
+		int position = table[slotFor(packed)];
+		if (position == EMPTY) {
+			return -1;
+		}
+		return position;
+	}
+
+	/**
+	 * Returns a number that identifies exactly which words are in the dictionary
+	 * and in what order. Files that were built from a dictionary (such as the
+	 * feedback matrix) store this so they can tell when the words have changed.
+	 *
+	 * @return long representing the hash of the dictionary's words.
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Returns a copy of every packed word in the dictionary, in order.
+	 *
+	 * @return int array holding the packed words.
+	 */
+	public int[] copyPackedWords() {
+		return words.clone();
+	}
+
+	// finds the slot holding the word, or the empty slot where it would go
+	private int slotFor(int packed) {
+		int mask = table.length - 1;
+		int slot = (packed * 0x9E3779B9) >>> shift;
+		while (table[slot] != EMPTY && words[table[slot]] != packed) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int[] pack(Collection<String> words) {
+		int[] packed = new int[words.size()];
+		int count = 0;
+		for (String word : words) {
+			int code = PackedWord.encode(word);
+			if (code != PackedWord.INVALID) {
+				packed[count] = code;
+				count++;
+			}
+		}
+		return Arrays.copyOf(packed, count);
+	}
+
+	private static Dictionary loadAllowed(Dictionary answers) {
+		File extra = new File(ALLOWED_FILE);
+		if (!extra.isFile()) {
+			return answers;
+		}
+		int[] extraWords = WordFileLoader.load(extra);
+		int[] allowed = Arrays.copyOf(answers.words, answers.size() + extraWords.length);
+		int count = answers.size();
+		// one bit for every possible packed word, to skip repeats quickly
+		BitSet seen = new BitSet(PackedWord.UPPER_BOUND);
+		for (int word : answers.words) {
+			seen.set(word);
+		}
+		for (int word : extraWords) {
+			if (!seen.get(word)) {
+				seen.set(word);
+				allowed[count] = word;
+				count++;
+			}
+		}
+		return new Dictionary(Arrays.copyOf(allowed, count));
+	}
+
+	private static Snapshot loadSnapshot() {
+		Dictionary answers = new Dictionary(WordFileLoader.load(new File(ANSWERS_FILE)));
+		return new Snapshot(answers, loadAllowed(answers));
+	}
+
+	private static void watchFiles() {
+		Path directory = Paths.get("").toAbsolutePath();
+		try (WatchService service = FileSystems.getDefault().newWatchService()) {
+			directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					String name = String.valueOf(event.context());
+					if (name.equals(ANSWERS_FILE) || name.equals(ALLOWED_FILE)) {
+						changed = true;
+					}
+				}
+				key.reset();
+				
+				if (changed) {
+					// wait until the files stop changing, so a file that is
+					// still being written is never swapped in
+					long[] before;
+					long[] after = fileStates();
+					do {
+						before = after;
+						Thread.sleep(RELOAD_DELAY);
+						// skip the events from the rest of the writes to the same file
+						WatchKey extra = service.poll();
+						while (extra != null) {
+							extra.pollEvents();
+							extra.reset();
+							extra = service.poll();
+						}
+						after = fileStates();
+					} while (!Arrays.equals(before, after));
+					try {
+						reload();
+					} catch (RuntimeException | Error err) {
+						// such as a file cut short while it was mapped; the
+						// old words are kept until the next change
+						err.printStackTrace();
+						System.out.println("Couldn't reload the word files");
+					}
+				}
+			}
+		} catch (IOException err) {
+			System.out.println("Couldn't watch the word files for changes");
+		} catch (InterruptedException err) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// the size and last change time of each word file, which stay the same
+	// once an editor has finished writing them
+	private static long[] fileStates() {
+		File answers = new File(ANSWERS_FILE);
+		File allowed = new File(ALLOWED_FILE);
+		return new long[] {answers.length(), answers.lastModified(), allowed.length(), allowed.lastModified()};
+	}
+
+	/**
+	 * The answers and allowed guesses that were loaded together. They are always
+	 * swapped in as a pair so that a reader never sees one new dictionary
+	 * together with an old one.
+	 */
+	public static final class Snapshot {
+		private final Dictionary answers;
+		private final Dictionary allowed;
+
+		private Snapshot(Dictionary answers, Dictionary allowed) {
+			this.answers = answers;
+			this.allowed = allowed;
+		}
+
+		/**
+		 * Returns the words that can be puzzle words.
+		 *
+		 * @return Dictionary holding the answers.
+		 */
+		public Dictionary getAnswers() {
+			return answers;
+		}
+
+		/**
+		 * Returns the words that can be guessed.
+		 *
+		 * @return Dictionary holding the allowed guesses.
+		 */
+		public Dictionary getAllowedGuesses() {
+			return allowed;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package model;
+
+/**
+ * Scores a guess against a puzzle word. The colors for all five letters are
+ * returned together as a single pattern code, which is a base 3 number where
+ * the digit for letter i is worth 3 to the power of i and is GRAY (0), YELLOW
+ * (1) or GREEN (2). This gives 243 possible codes, from 0 (all gray) to 242
+ * (all green). Scoring works only on packed words and ints and does not create
+ * any objects; the AssociationState list the GUI needs is only looked up (see
+ * GuessResult) when toStates is called. scoreAll scores one guess against a whole array of
+ * puzzle words at once, for anything that has to look at many candidates.
+ */
+public final class Feedback {
+	/**
+	 * Digit for a letter that is not in the puzzle word (or is used up).
+	 */
+	public static final int GRAY = 0;
+
+	/**
+	 * Digit for a letter that is in the puzzle word in another position.
+	 */
+	public static final int YELLOW = 1;
+
+	/**
+	 * Digit for a letter that is in the right position.
+	 */
+	public static final int GREEN = 2;
+
+	/**
+	 * Number of different pattern codes.
+	 */
+	public static final int PATTERNS = 243;
+
+	/**
+	 * Pattern code for a guess that matches the puzzle word exactly.
+	 */
+	public static final int ALL_GREEN = PATTERNS - 1;
+
+	private static final int[] POWERS = {1, 3, 9, 27, 81};
+	// the low four bits and the top bit of each letter in a packed word
+	private static final int LOW_BITS = 0b01111_01111_01111_01111_01111;
+	private static final int HIGH_BITS = 0b10000_10000_10000_10000_10000;
+	// pattern code for each set of green positions (bit i set if letter i is green)
+	private static final int[] GREEN_CODES = new int[1 << PackedWord.LENGTH];
+
+	static {
+		for (int greens = 0; greens < GREEN_CODES.length; greens++) {
+			for (int i = 0; i < PackedWord.LENGTH; i++) {
+				if ((greens & (1 << i)) != 0) {
+					GREEN_CODES[greens] += GREEN * POWERS[i];
+				}
+			}
+		}
+	}
+
+	private Feedback() {
+	}
+
+	/**
+	 * Scores a packed guess against a packed puzzle word. Greens are found first,
+	 * then the remaining letters are marked yellow from left to right as long as
+	 * the puzzle word still has an unused copy of that letter.
+	 *
+	 * @param guess  int representing the packed guess.
+	 * @param answer int representing the packed puzzle word.
+	 * @return int from 0 to 242 representing the pattern code.
+	 */
+	public static int score(int guess, int answer) {
+		int greens = greens(guess, answer);
+		return GREEN_CODES[greens] + yellows(guess, answer, greens);
+	}
+
+	/**
+	 * Scores one packed guess against every packed puzzle word in an array. This
+	 * gives the same codes as calling score for each word, but letters that the
+	 * guess does not share with a puzzle word are ruled out with one bit test, so
+	 * most words never reach the letter by letter check.
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param answers int array holding the packed puzzle words.
+	 * @param out     byte array that the pattern code for answers[i] is written
+	 *                to at position i. Codes above 127 come out negative, so
+	 *                read them back with (out[i] &amp; 0xff).
+	 * @throws IllegalArgumentException if out is shorter than answers.
+	 */
+	public static void scoreAll(int guess, int[] answers, byte[] out) {
+		scoreAll(guess, answers, answers.length, out);
+	}
+
+	/**
+	 * Scores one packed guess against the first count packed puzzle words in an
+	 * array, for arrays that are only partly in use (see AdversarialPuzzle).
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param answers int array holding the packed puzzle words.
+	 * @param count   integer representing how many puzzle words to score.
+	 * @param out     byte array that the pattern code for answers[i] is written
+	 *                to at position i.
+	 * @throws IllegalArgumentException if out or answers is shorter than count.
+	 */
+	public static void scoreAll(int guess, int[] answers, int count, byte[] out) {
+		if (out.length < count || answers.length < count) {
+			throw new IllegalArgumentException("out has room for " + out.length
+					+ " codes but there are " + count + " answers");
+		}
+		int guessLetters = 0;
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			guessLetters |= 1 << PackedWord.letterAt(guess, i);
+		}
+		for (int n = 0; n < count; n++) {
+			int answer = answers[n];
+			int greens = greens(guess, answer);
+			int pattern = GREEN_CODES[greens];
+			// letters of the answer that are still free to make a yellow
+			int open = 0;
+			for (int j = 0; j < PackedWord.LENGTH; j++) {
+				if ((greens & (1 << j)) == 0) {
+					open |= 1 << PackedWord.letterAt(answer, j);
+				}
+			}
+			if ((open & guessLetters) != 0) {
+				pattern += yellows(guess, answer, greens);
+			}
+			out[n] = (byte) pattern;
+		}
+	}
+
+	// finds all five greens at once: a letter is green when its five bits of
+	// guess ^ answer are all zero. Adding LOW_BITS carries into the top bit of
+	// every letter that has a low bit set, and the letters never carry into
+	// each other.
+	private static int greens(int guess, int answer) {
+		int diff = guess ^ answer;
+		int same = ~(((diff & LOW_BITS) + LOW_BITS) | diff) & HIGH_BITS;
+		// the first letter is in the highest bits, so turn the top bits around
+		// into bit i for letter i
+		return ((same >>> 24) & 1) | ((same >>> 18) & 2) | ((same >>> 12) & 4)
+				| ((same >>> 6) & 8) | (same & 16);
+	}
+
+	// marks the letters that are not green yellow from left to right as long as
+	// the puzzle word still has an unused copy of that letter. Bit j of used is
+	// set once letter j of the answer has been matched; this takes the place of
+	// a letter count array, so nothing has to be created.
+	private static int yellows(int guess, int answer, int greens) {
+		int used = greens;
+		int pattern = 0;
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			if ((greens & (1 << i)) != 0) {
+				continue;
+			}
+			int letter = PackedWord.letterAt(guess, i);
+			for (int j = 0; j < PackedWord.LENGTH; j++) {
+				if ((used & (1 << j)) == 0 && PackedWord.letterAt(answer, j) == letter) {
+					used |= 1 << j;
+					pattern += YELLOW * POWERS[i];
+					break;
+				}
+			}
+		}
+		return pattern;
+	}
+
+	/**
+	 * Returns the digit for one letter of a pattern code.
+	 *
+	 * @param pattern  int representing the pattern code.
+	 * @param position integer from 0 to 4 representing the letter.
+	 * @return integer representing GRAY, YELLOW or GREEN.
+	 */
+	public static int digitAt(int pattern, int position) {
+		return (pattern / POWERS[position]) % 3;
+	}
+
+	/**
+	 * Returns the LetterState that matches a pattern digit.
+	 *
+	 * @param digit integer representing GRAY, YELLOW or GREEN.
+	 * @return LetterState representing the color of the letter.
+	 */
+	public static LetterState stateOf(int digit) {
+		if (digit == GREEN) {
+			return LetterState.GREEN;
+		}
+		if (digit == YELLOW) {
+			return LetterState.YELLOW;
+		}
+		return LetterState.GRAY;
+	}
+
+	/**
+	 * Returns the color coding that the GUI uses for a pattern code.
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param pattern int representing the pattern code for the guess.
+	 * @return GuessResult holding one AssociationState for each letter. The
+	 *         result is shared and cannot be changed.
+	 */
+	public static GuessResult toStates(int guess, int pattern) {
+		return GuessResult.of(guess, pattern);
+	}
+}
@@ -0,0 +1,249 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.stream.IntStream;
+
+/**
+ * Holds the pattern code (see Feedback) for every pair of guess word and
+ * puzzle word, one byte per pair, so scoring a guess becomes a single lookup.
+ * The matrix is built once by running the main method, which scores every pair
+ * in parallel and writes the result to feedback.bin. When the game starts the
+ * file is memory-mapped instead of read in, so it costs almost no heap and the
+ * operating system shares the same pages between every running copy of the
+ * program.
+ *
+ * The file starts with a header (magic number, format version, number of
+ * guess words, number of puzzle words and the fingerprints of both
+ * dictionaries) followed by the rows of codes, one row per guess word. A file
+ * whose header does not match the current dictionaries is ignored.
+ */
+public final class FeedbackMatrix {
+	/**
+	 * Version of the file layout. Must be increased whenever the layout changes.
+	 */
+	public static final int VERSION = 1;
+
+	private static final String FILE_NAME = "feedback.bin";
+	private static final int MAGIC = 0x57464d58; // "WFMX"
+	private static final int HEADER_SIZE = 32;
+
+	private static volatile FeedbackMatrix shared;
+
+	private final Dictionary guesses;
+	private final Dictionary answers;
+	private final ByteBuffer codes;
+
+	private FeedbackMatrix(Dictionary guesses, Dictionary answers, ByteBuffer codes) {
+		this.guesses = guesses;
+		this.answers = answers;
+		this.codes = codes;
+	}
+
+	/**
+	 * Builds the matrix in memory by scoring every guess word against every
+	 * puzzle word. Rows are scored in parallel on all of the available cores.
+	 *
+	 * @param guesses Dictionary holding the words that can be guessed.
+	 * @param answers Dictionary holding the words that can be puzzle words.
+	 * @return FeedbackMatrix holding every pattern code.
+	 * @throws IllegalArgumentException if there are more pairs than fit in one
+	 *                                  array (about 2 billion).
+	 */
+	public static FeedbackMatrix build(Dictionary guesses, Dictionary answers) {
+		int columns = answers.size();
+		long pairs = (long) guesses.size() * columns;
+		if (pairs > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(guesses.size() + " guess words x " + columns
+					+ " puzzle words is too many pairs for one matrix");
+		}
+		byte[] codes = new byte[(int) pairs];
+		int[] answerWords = answers.copyPackedWords();
+		IntStream.range(0, guesses.size()).parallel().forEach(row -> {
+			int guess = guesses.getPacked(row);
+			int offset = row * columns;
+			for (int column = 0; column < columns; column++) {
+				codes[offset + column] = (byte) Feedback.score(guess, answerWords[column]);
+			}
+		});
+		return new FeedbackMatrix(guesses, answers, ByteBuffer.wrap(codes));
+	}
+
+	/**
+	 * Memory-maps a matrix file that was written by write.
+	 *
+	 * @param file    File holding the matrix.
+	 * @param guesses Dictionary holding the words that can be guessed.
+	 * @param answers Dictionary holding the words that can be puzzle words.
+	 * @return FeedbackMatrix backed by the file, or null if the file does not
+	 *         exist, is not a matrix file, or was built from different words.
+	 */
+	public static FeedbackMatrix load(File file, Dictionary guesses, Dictionary answers) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			long expected = HEADER_SIZE + (long) guesses.size() * answers.size();
+			if (channel.size() != expected || expected > Integer.MAX_VALUE) {
+				return null;
+			}
+			// the mapping stays valid after the channel is closed
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+			if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+					|| mapped.getInt(8) != guesses.size() || mapped.getInt(12) != answers.size()
+					|| mapped.getLong(16) != guesses.getFingerprint()
+					|| mapped.getLong(24) != answers.getFingerprint()) {
+				return null;
+			}
+			mapped.position(HEADER_SIZE);
+			return new FeedbackMatrix(guesses, answers, mapped.slice());
+		} catch (IOException err) {
+			System.out.println("Couldn't read from " + file.getName());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the matrix in feedback.bin if it matches the shared dictionaries.
+	 * The file is only mapped once for each set of words; after that the same
+	 * matrix is returned until the dictionaries are reloaded.
+	 *
+	 * @return FeedbackMatrix for the shared dictionaries, or null if feedback.bin
+	 *         has not been built for the current words.
+	 */
+	public static FeedbackMatrix getShared() {
+		return getShared(Dictionary.current());
+	}
+
+	/**
+	 * Returns the matrix in feedback.bin if it matches the given dictionaries.
+	 *
+	 * @param words Dictionary.Snapshot holding the answers and allowed guesses
+	 *              the caller is using.
+	 * @return FeedbackMatrix for those dictionaries, or null if feedback.bin has
+	 *         not been built for them.
+	 */
+	public static FeedbackMatrix getShared(Dictionary.Snapshot words) {
+		Dictionary guessWords = words.getAllowedGuesses();
+		Dictionary answerWords = words.getAnswers();
+		FeedbackMatrix matrix = shared;
+		if (matrix == null || matrix.guesses != guessWords || matrix.answers != answerWords) {
+			synchronized (FeedbackMatrix.class) {
+				matrix = shared;
+				if (matrix == null || matrix.guesses != guessWords || matrix.answers != answerWords) {
+					matrix = load(new File(FILE_NAME), guessWords, answerWords);
+					if (matrix == null) {
+						// remember which words were checked so the file is not
+						// opened again on every guess
+						matrix = new FeedbackMatrix(guessWords, answerWords, null);
+					}
+					shared = matrix;
+				}
+			}
+		}
+		if (matrix.codes == null) {
+			return null;
+		}
+		return matrix;
+	}
+
+	/**
+	 * Writes the matrix to a file in the format that load expects.
+	 *
+	 * @param file File to write the matrix to. Any existing file is replaced.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(File file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC);
+		header.putInt(VERSION);
+		header.putInt(guesses.size());
+		header.putInt(answers.size());
+		header.putLong(guesses.getFingerprint());
+		header.putLong(answers.getFingerprint());
+		header.flip();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+				FileChannel channel = raf.getChannel()) {
+			channel.truncate(0);
+			channel.write(header);
+			ByteBuffer body = codes.duplicate();
+			body.clear();
+			while (body.hasRemaining()) {
+				channel.write(body);
+			}
+		}
+	}
+
+	/**
+	 * Returns the pattern code for a guess word and a puzzle word.
+	 *
+	 * @param guessIndex  integer representing the position of the guess in the
+	 *                    guess dictionary.
+	 * @param answerIndex integer representing the position of the puzzle word in
+	 *                    the answer dictionary.
+	 * @return int from 0 to 242 representing the pattern code.
+	 */
+	public int get(int guessIndex, int answerIndex) {
+		return codes.get(guessIndex * answers.size() + answerIndex) & 0xff;
+	}
+
+	/**
+	 * Returns the pattern code for a packed guess and a packed puzzle word, using
+	 * the dictionaries this matrix was built from to find their positions.
+	 *
+	 * @param guess  int representing the packed guess.
+	 * @param answer int representing the packed puzzle word.
+	 * @return int from 0 to 242 representing the pattern code, or -1 if either
+	 *         word is not in the matrix.
+	 */
+	public int score(int guess, int answer) {
+		int guessIndex = guesses.indexOf(guess);
+		int answerIndex = answers.indexOf(answer);
+		if (guessIndex == -1 || answerIndex == -1) {
+			return -1;
+		}
+		return get(guessIndex, answerIndex);
+	}
+
+	/**
+	 * Returns whether this matrix was built for the given dictionaries.
+	 *
+	 * @param guessWords  Dictionary holding the words that can be guessed.
+	 * @param answerWords Dictionary holding the words that can be puzzle words.
+	 * @return boolean representing whether lookups can be made with positions
+	 *         from these dictionaries.
+	 */
+	public boolean matches(Dictionary guessWords, Dictionary answerWords) {
+		return guessWords.getFingerprint() == guesses.getFingerprint()
+				&& answerWords.getFingerprint() == answers.getFingerprint();
+	}
+
+	/**
+	 * Builds the matrix for the allowed guesses and answers and writes it to
+	 * feedback.bin.
+	 *
+	 * @param args not used.
+	 */
+	public static void main(String[] args) {
+		Dictionary.Snapshot words = Dictionary.current();
+		Dictionary guesses = words.getAllowedGuesses();
+		Dictionary answers = words.getAnswers();
+		long start = System.nanoTime();
+		FeedbackMatrix matrix = build(guesses, answers);
+		long built = System.nanoTime();
+		try {
+			matrix.write(new File(FILE_NAME));
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't write to file");
+			return;
+		}
+		System.out.printf("Built %d x %d matrix in %d ms, wrote %s in %d ms%n",
+				guesses.size(), answers.size(), (built - start) / 1000000, FILE_NAME,
+				(System.nanoTime() - built) / 1000000);
+	}
+}
@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * The kinds of game a player can choose from.
+ */
+
+public enum GameMode {
+	/**
+	 * The puzzle word is picked at the start of the game and never changes.
+	 */
+	CLASSIC,
+	
+	/**
+	 * The puzzle word is not picked at all; after every guess the game keeps
+	 * whichever words tell the player the least (see AdversarialPuzzle).
+	 */
+	ADVERSARIAL
+}
@@ -0,0 +1,103 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The color coding for one guess, as a read-only list of five AssociationState
+ * objects. A result is nothing more than the packed guess and its pattern code
+ * (see Feedback); the AssociationState for each letter is one of the shared
+ * instances from AssociationState.of, so reading the list creates nothing.
+ * Results for words in the allowed guesses are cached by guess and pattern
+ * code, so the same guess with the same colors always gives back the same
+ * object, and the backend and the GUI can pass it around without copying it.
+ */
+public final class GuessResult extends AbstractList<AssociationState> implements RandomAccess {
+	private static volatile Cache cache;
+
+	private final int guess;
+	private final int pattern;
+
+	private GuessResult(int guess, int pattern) {
+		this.guess = guess;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * Returns the result for a packed guess and its pattern code.
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param pattern int from 0 to 242 representing the pattern code.
+	 * @return GuessResult holding the colors for each letter of the guess.
+	 */
+	public static GuessResult of(int guess, int pattern) {
+		Dictionary allowed = Dictionary.getAllowedGuesses();
+		Cache results = cache;
+		if (results == null || results.dictionary != allowed) {
+			// the positions changed with the words, so start over
+			results = new Cache(allowed);
+			cache = results;
+		}
+		int index = allowed.indexOf(guess);
+		if (index == -1) {
+			return new GuessResult(guess, pattern);
+		}
+		// two threads may both make the same result, which does no harm since
+		// results never change
+		GuessResult[] row = results.rows[index];
+		if (row == null) {
+			row = new GuessResult[Feedback.PATTERNS];
+			results.rows[index] = row;
+		}
+		GuessResult result = row[pattern];
+		if (result == null) {
+			result = new GuessResult(guess, pattern);
+			row[pattern] = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the packed guess these colors are for.
+	 *
+	 * @return int representing the packed guess.
+	 */
+	public int getPackedGuess() {
+		return guess;
+	}
+
+	/**
+	 * Returns the pattern code for the colors.
+	 *
+	 * @return int from 0 to 242 representing the pattern code.
+	 */
+	public int getPattern() {
+		return pattern;
+	}
+
+	@Override
+	public AssociationState get(int index) {
+		if (index < 0 || index >= PackedWord.LENGTH) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + PackedWord.LENGTH);
+		}
+		return AssociationState.of(PackedWord.letterAt(guess, index),
+				Feedback.stateOf(Feedback.digitAt(pattern, index)));
+	}
+
+	@Override
+	public int size() {
+		return PackedWord.LENGTH;
+	}
+
+	// one row of results for each allowed guess, made the first time that word
+	// is guessed
+	private static class Cache {
+		private final Dictionary dictionary;
+		private final GuessResult[][] rows;
+
+		private Cache(Dictionary dictionary) {
+			this.dictionary = dictionary;
+			rows = new GuessResult[dictionary.size()][];
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * Keeps track of what the hints so far require of the next guess in hard
+ * mode: every green letter has to stay where it is, every revealed letter has
+ * to be used at least as many times as it has been revealed, and a yellow
+ * letter cannot go back in a spot where it was already shown to be wrong. The
+ * rules are updated from each guess's pattern code, so checking an attempt
+ * only looks at its five letters instead of going back over every guess.
+ *
+ * The rules are small enough to be saved with the player's account: the green
+ * letters as a packed word with a mask of which positions are green, the least
+ * count of each letter, and a mask of banned letters for each position.
+ */
+public class HardModeRules implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private static final String[] ORDINALS = {"1st", "2nd", "3rd", "4th", "5th"};
+
+	// the green letters, in a packed word; only positions in greenMask count
+	private int greens;
+	// bit i set if letter i is green
+	private int greenMask;
+	// the fewest copies of each letter the next guess must use
+	private byte[] minCounts = new byte[26];
+	// for each position: bit l set if letter l cannot go there
+	private int[] banned = new int[PackedWord.LENGTH];
+	// bit l set if minCounts[l] is above zero
+	private int required;
+
+	/**
+	 * Forgets every hint, as at the start of a new game.
+	 */
+	public void reset() {
+		greens = 0;
+		greenMask = 0;
+		minCounts = new byte[26];
+		banned = new int[PackedWord.LENGTH];
+		required = 0;
+	}
+
+	/**
+	 * Adds the hints from one guess.
+	 *
+	 * @param guess   int representing the packed guess.
+	 * @param pattern int from 0 to 242 representing the pattern code it got.
+	 */
+	public void update(int guess, int pattern) {
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			int letter = PackedWord.letterAt(guess, i);
+			int digit = Feedback.digitAt(pattern, i);
+			if (digit == Feedback.GREEN && (greenMask & (1 << i)) == 0) {
+				greenMask |= 1 << i;
+				greens = PackedWord.withLetter(greens, i, letter);
+			} else if (digit == Feedback.YELLOW) {
+				banned[i] |= 1 << letter;
+			}
+			if (digit != Feedback.GRAY) {
+				int colored = colored(guess, pattern, letter);
+				if (colored > minCounts[letter]) {
+					minCounts[letter] = (byte) colored;
+					required |= 1 << letter;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks an attempt against the hints so far.
+	 *
+	 * @param attempt int representing the packed attempt.
+	 * @return String describing the first hint the attempt does not use, or null
+	 *         if it uses all of them.
+	 */
+	public String check(int attempt) {
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			int letter = PackedWord.letterAt(attempt, i);
+			if ((greenMask & (1 << i)) != 0 && letter != PackedWord.letterAt(greens, i)) {
+				return ORDINALS[i] + " letter must be " + upper(PackedWord.letterAt(greens, i));
+			}
+			if ((banned[i] & (1 << letter)) != 0) {
+				return ORDINALS[i] + " letter cannot be " + upper(letter);
+			}
+		}
+		// at most five letters can be required, each counted in five steps
+		for (int letters = required; letters != 0; letters &= letters - 1) {
+			int letter = Integer.numberOfTrailingZeros(letters);
+			int count = 0;
+			for (int i = 0; i < PackedWord.LENGTH; i++) {
+				if (PackedWord.letterAt(attempt, i) == letter) {
+					count++;
+				}
+			}
+			if (count < minCounts[letter]) {
+				if (minCounts[letter] == 1) {
+					return "Guess must contain " + upper(letter);
+				}
+				return "Guess must contain " + minCounts[letter] + " " + upper(letter) + "s";
+			}
+		}
+		return null;
+	}
+
+	// the number of copies of a letter in the guess that were green or yellow
+	private static int colored(int guess, int pattern, int letter) {
+		int count = 0;
+		for (int i = 0; i < PackedWord.LENGTH; i++) {
+			if (PackedWord.letterAt(guess, i) == letter && Feedback.digitAt(pattern, i) != Feedback.GRAY) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String upper(int letter) {
+		return String.valueOf((char) ('A' + letter));
+	}
+}
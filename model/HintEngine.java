@@ -0,0 +1,315 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the best next guess for the puzzle words that are still possible. Every
+ * allowed guess is scored against every remaining word, the pattern codes are
+ * counted into 243 buckets, and the guess whose buckets are spread most evenly
+ * (the one with the highest expected information, in bits) wins. A guess that
+ * could itself be the answer wins a tie. The guesses are split into ranges
+ * that are ranked in parallel on the common fork-join pool.
+ *
+ * A ranking can be cancelled through the future it returns, which stops the
+ * ranges that are still running. Finished rankings are kept for the last few
+ * sets of remaining words, so asking again in the same game state (or from
+ * the start of any game) does not rank again. When opening.bin has been built
+ * (see OpeningBook), hints for the first two guesses are looked up in it
+ * instead. An engine made without a dictionary takes the shared allowed
+ * guesses again for every ranking, so it keeps up with the word files being
+ * reloaded, and drops its finished rankings when the words change.
+ */
+public class HintEngine {
+	// ranges with fewer guesses than this are ranked on one thread
+	private static final int SPLIT_SIZE = 256;
+	private static final int CACHE_SIZE = 64;
+	// entropies closer than this are treated as a tie
+	private static final double EPSILON = 1e-9;
+
+	// null when the engine follows the shared dictionaries
+	private final Dictionary fixedGuesses;
+	// the guesses the cached rankings were made with, guarded by cache
+	private Dictionary cachedGuesses;
+	private final Map<GameState, Integer> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<GameState, Integer> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Creates a hint engine that picks from the shared allowed guesses, as they
+	 * are when each ranking starts.
+	 */
+	public HintEngine() {
+		this(null);
+	}
+
+	/**
+	 * Creates a hint engine that picks from the given guesses.
+	 *
+	 * @param guesses Dictionary holding the words that can be guessed.
+	 */
+	public HintEngine(Dictionary guesses) {
+		fixedGuesses = guesses;
+	}
+
+	/**
+	 * Starts ranking every guess against the remaining words. The ranking runs
+	 * in the background; the returned future completes with the best guess, or
+	 * right away if this set of words has been ranked before. Cancelling the
+	 * future stops the ranking.
+	 *
+	 * @param candidates int array holding the packed words that are still
+	 *                   possible, such as from CandidateFilter.getCandidates.
+	 * @return CompletableFuture that completes with the packed best guess, or
+	 *         with PackedWord.INVALID if there are no remaining words.
+	 */
+	public CompletableFuture<Integer> rank(int[] candidates) {
+		return rank(fixedGuesses == null ? Dictionary.getAllowedGuesses() : fixedGuesses, candidates);
+	}
+
+	private CompletableFuture<Integer> rank(Dictionary guesses, int[] candidates) {
+		if (candidates.length == 0) {
+			return CompletableFuture.completedFuture(PackedWord.INVALID);
+		}
+		GameState state = new GameState(candidates);
+		synchronized (cache) {
+			if (guesses != cachedGuesses) {
+				// rankings made with other words no longer hold
+				cache.clear();
+				cachedGuesses = guesses;
+			}
+			Integer known = cache.get(state);
+			if (known != null) {
+				return CompletableFuture.completedFuture(known);
+			}
+		}
+		Search search = new Search(guesses, candidates);
+		ForkJoinPool.commonPool().execute(() -> {
+			try {
+				Best best = new RankTask(search, 0, guesses.size()).invoke();
+				if (!search.result.isDone()) {
+					int word = guesses.getPacked(best.index);
+					synchronized (cache) {
+						if (guesses == cachedGuesses) {
+							cache.put(state, word);
+						}
+					}
+					search.result.complete(word);
+				}
+			} catch (RuntimeException err) {
+				search.result.completeExceptionally(err);
+			}
+		});
+		return search.result;
+	}
+
+	/**
+	 * Starts finding the best guess for a game in progress. If the game has
+	 * only just started and the opening book covers it, the hint is looked up
+	 * and the returned future is already complete; otherwise every guess is
+	 * ranked against the words the filter still allows.
+	 *
+	 * @param filter CandidateFilter holding the guesses made so far.
+	 * @return CompletableFuture that completes with the packed best guess, or
+	 *         with PackedWord.INVALID if there are no remaining words.
+	 */
+	public CompletableFuture<Integer> rank(CandidateFilter filter) {
+		Dictionary.Snapshot words = Dictionary.current();
+		Dictionary guesses = fixedGuesses == null ? words.getAllowedGuesses() : fixedGuesses;
+		if (guesses == words.getAllowedGuesses() && filter.getAnswers() == words.getAnswers()) {
+			OpeningBook book = OpeningBook.getShared(words);
+			if (book != null) {
+				int word = book.lookup(filter.getGuesses(), filter.getPatterns());
+				if (word != PackedWord.INVALID) {
+					return CompletableFuture.completedFuture(word);
+				}
+			}
+		}
+		return rank(guesses, filter.getCandidates());
+	}
+
+	/**
+	 * Ranks every guess against the remaining words and waits for the result.
+	 *
+	 * @param candidates int array holding the packed words that are still
+	 *                   possible.
+	 * @return int representing the packed best guess, or PackedWord.INVALID if
+	 *         there are no remaining words.
+	 */
+	public int bestGuess(int[] candidates) {
+		return rank(candidates).join();
+	}
+
+	/**
+	 * Returns the expected information, in bits, that a guess gives about the
+	 * remaining words.
+	 *
+	 * @param guess      int representing the packed guess.
+	 * @param candidates int array holding the packed words that are still
+	 *                   possible.
+	 * @return double representing the entropy of the guess's pattern codes.
+	 */
+	public static double entropy(int guess, int[] candidates) {
+		byte[] codes = new byte[candidates.length];
+		int[] buckets = new int[Feedback.PATTERNS];
+		return entropy(guess, candidates, codes, buckets, xLogX(candidates.length));
+	}
+
+	private static double entropy(int guess, int[] candidates, byte[] codes, int[] buckets,
+			double[] xLogX) {
+		Feedback.scoreAll(guess, candidates, codes);
+		Arrays.fill(buckets, 0);
+		for (byte code : codes) {
+			buckets[code & 0xff]++;
+		}
+		// H = log2(n) - sum(c * log2(c)) / n, with the c * log2(c) values looked up
+		int n = candidates.length;
+		double sum = 0;
+		for (int count : buckets) {
+			sum += xLogX[count];
+		}
+		return xLogX[n] / n - sum / n;
+	}
+
+	// x * log2(x) for every count that a bucket can hold
+	private static double[] xLogX(int n) {
+		double[] table = new double[n + 1];
+		for (int x = 1; x <= n; x++) {
+			table[x] = x * Math.log(x) / Math.log(2);
+		}
+		return table;
+	}
+
+	// everything the ranges of one ranking share
+	private static class Search {
+		private final Dictionary guesses;
+		private final int[] candidates;
+		// positions in guesses of the words that are still possible
+		private final BitSet possible = new BitSet();
+		private final double[] xLogX;
+		private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+		private Search(Dictionary guesses, int[] candidates) {
+			this.guesses = guesses;
+			this.candidates = candidates;
+			for (int word : candidates) {
+				int index = guesses.indexOf(word);
+				if (index != -1) {
+					possible.set(index);
+				}
+			}
+			xLogX = xLogX(candidates.length);
+		}
+	}
+
+	private static class Best {
+		private final int index;
+		private final double entropy;
+		private final boolean possible;
+
+		private Best(int index, double entropy, boolean possible) {
+			this.index = index;
+			this.entropy = entropy;
+			this.possible = possible;
+		}
+
+		private boolean beats(Best other) {
+			return other == null || HintEngine.beats(entropy, possible, index, other.entropy, other.possible,
+					other.index);
+		}
+	}
+
+	/**
+	 * Decides which of two guesses ranks higher: higher entropy first, with
+	 * entropies closer than EPSILON counted as a tie, then a word that could be
+	 * the answer, then dictionary order. OpeningBook ranks its first guesses
+	 * the same way, so the book and the engine agree on the best guess.
+	 */
+	static boolean beats(double entropy, boolean possible, int index, double otherEntropy,
+			boolean otherPossible, int otherIndex) {
+		if (Math.abs(entropy - otherEntropy) > EPSILON) {
+			return entropy > otherEntropy;
+		}
+		if (possible != otherPossible) {
+			return possible;
+		}
+		return index < otherIndex;
+	}
+
+	private static class RankTask extends RecursiveTask<Best> {
+		private static final long serialVersionUID = 1L;
+
+		private final Search search;
+		private final int from;
+		private final int to;
+
+		private RankTask(Search search, int from, int to) {
+			this.search = search;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Best compute() {
+			if (to - from > SPLIT_SIZE) {
+				int middle = (from + to) >>> 1;
+				RankTask left = new RankTask(search, from, middle);
+				left.fork();
+				Best right = new RankTask(search, middle, to).compute();
+				Best best = left.join();
+				if (right != null && right.beats(best)) {
+					best = right;
+				}
+				return best;
+			}
+
+			byte[] codes = new byte[search.candidates.length];
+			int[] buckets = new int[Feedback.PATTERNS];
+			Best best = null;
+			for (int i = from; i < to; i++) {
+				// stop early once the ranking has been cancelled
+				if (search.result.isDone()) {
+					return best;
+				}
+				double bits = entropy(search.guesses.getPacked(i), search.candidates, codes, buckets,
+						search.xLogX);
+				Best next = new Best(i, bits, search.possible.get(i));
+				if (next.beats(best)) {
+					best = next;
+				}
+			}
+			return best;
+		}
+	}
+
+	// the remaining words of a game, used as the cache key
+	private static class GameState {
+		private final int[] words;
+		private final int hash;
+
+		private GameState(int[] words) {
+			this.words = words.clone();
+			hash = Arrays.hashCode(this.words);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof GameState && Arrays.equals(words, ((GameState) other).words);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package model;
+
+/**
+ * One line of the global leaderboard: a player's username, total wins and the
+ * weighted average of the guesses their wins took. Entries are made from the
+ * numbers in the account map (see MappedAccountStore), so showing the
+ * leaderboard does not have to read in any accounts. Entries sort the same way
+ * the leaderboard always has: more wins first, and for the same number of wins
+ * the smaller weighted average (fewer guesses needed to win) first.
+ */
+
+public final class LeaderboardEntry implements Comparable<LeaderboardEntry> {
+	private final String username;
+	private final int wins;
+	private final double weightedGuesses;
+
+
+	/**
+	 * Creates an entry
+	 *
+	 * @param username String representing the player's username
+	 * @param wins int representing the player's total wins
+	 * @param weightedGuesses double representing the weighted average of the
+	 * 		  guesses the player's wins took (see PlayerAccount.getWeightedGuesses)
+	 */
+	public LeaderboardEntry(String username, int wins, double weightedGuesses) {
+		this.username = username;
+		this.wins = wins;
+		this.weightedGuesses = weightedGuesses;
+	}
+
+
+	/**
+	 * Creates the entry for an account that is already in memory
+	 *
+	 * @param account PlayerAccount to make the entry for
+	 *
+	 * @return LeaderboardEntry holding the account's numbers
+	 */
+	public static LeaderboardEntry of(PlayerAccount account) {
+		return new LeaderboardEntry(account.getUsername(), (int) account.getTotalWins(),
+				account.getWeightedGuesses());
+	}
+
+
+	/**
+	 * Returns the player's username
+	 *
+	 * @return String representing the username
+	 */
+	public String getUsername() {
+		return username;
+	}
+
+
+	/**
+	 * Returns the player's total wins
+	 *
+	 * @return int representing the number of games won
+	 */
+	public int getWins() {
+		return wins;
+	}
+
+
+	/**
+	 * Returns the weighted average of the guesses the player's wins took
+	 *
+	 * @return double representing the weighted average
+	 */
+	public double getWeightedGuesses() {
+		return weightedGuesses;
+	}
+
+
+	@Override
+	public int compareTo(LeaderboardEntry other) {
+		return compare(wins, weightedGuesses, other.wins, other.weightedGuesses);
+	}
+
+
+	/**
+	 * Compares two players by their numbers alone, so a player can be checked
+	 * against the leaderboard before an entry is made for them
+	 *
+	 * @param wins int representing the first player's total wins
+	 * @param weightedGuesses double representing the first player's weighted
+	 * 		  average
+	 * @param otherWins int representing the second player's total wins
+	 * @param otherWeightedGuesses double representing the second player's
+	 * 		  weighted average
+	 *
+	 * @return int that is negative if the first player ranks higher, positive
+	 * 		   if the second does, and 0 if they are tied
+	 */
+	static int compare(int wins, double weightedGuesses, int otherWins, double otherWeightedGuesses) {
+		if (wins != otherWins) {
+			return Integer.compare(otherWins, wins);
+		}
+		return Double.compare(weightedGuesses, otherWeightedGuesses);
+	}
+
+}
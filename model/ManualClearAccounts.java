@@ -8,7 +8,8 @@ import java.io.ObjectOutputStream;
 import java.util.HashMap;
 
 /**
- * Clears the serialized file with the accounts in it manually. This program is
+ * Clears the serialized file with the accounts in it manually, along with the
+ * stored account records, the account map and the account journal. This program is
  * intended to be used only by the developers during testing and development (eg
  * when a class is changed and the old instances of this class are stored).
  * 
@@ -19,6 +20,19 @@ public class ManualClearAccounts {
 
 	public static void main(String[] args) {
 		clear();
+		clearStore();
+	}
+	
+	private static void clearStore() {
+		File[] records = new File(AccountStore.DIRECTORY).listFiles();
+		if (records != null) {
+			for (File record : records) {
+				record.delete();
+			}
+		}
+		new File(AccountJournal.FILE_NAME).delete();
+		new File(MappedAccountStore.FILE_NAME).delete();
+		new File(MappedAccountStore.INDEX_FILE_NAME).delete();
 	}
 	
 	private static void clear() {
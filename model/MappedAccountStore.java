@@ -0,0 +1,579 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+
+/**
+ * MappedAccountStore keeps the fixed-width part of every account (username, a
+ * check of the password, past wins, streaks, totals and achievements) in a
+ * memory-mapped file, one record of RECORD_SIZE bytes per account. Logging in
+ * and building the leaderboard read these records straight from the mapping,
+ * so the whole accounts (see AccountStore) only have to be read in for the
+ * players that are actually playing, and the heap no longer grows with the
+ * number of accounts. The operating system keeps the pages that are used in
+ * memory and writes changes back on its own; force makes sure they are on the
+ * disk. force can be called from another thread (the account writer does so
+ * after each write), so it holds the same lock as put and clear, which are
+ * the only methods that map the files again.
+ *
+ * Usernames are found through a separate open addressing index in its own
+ * mapped file, which maps the hash of a username to its record. The index
+ * only holds what can be worked out from the records, so it is built again
+ * whenever it does not match them (or has grown too full). The password check
+ * is the first 8 bytes of a SHA-256 hash, enough to turn away a wrong
+ * password without reading the account; the account's own password is still
+ * checked once it is read in. Records are never moved, and a removed
+ * account's record is only marked as removed, so creating the account again
+ * uses the same record.
+ *
+ * Usernames can be at most MAX_NAME_BYTES bytes long in UTF-8. The records
+ * file can hold at most about 16 million accounts, since a mapping cannot be
+ * larger than 2 GB.
+ */
+
+public class MappedAccountStore implements AutoCloseable {
+	/**
+	 * Name of the file that holds the records.
+	 */
+	public static final String FILE_NAME = "accounts.map";
+
+	/**
+	 * Name of the file that holds the username index.
+	 */
+	public static final String INDEX_FILE_NAME = "accounts.idx";
+
+	/**
+	 * Version of the file layout. Must be increased whenever the layout changes.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Number of bytes each account takes up in the records file.
+	 */
+	public static final int RECORD_SIZE = 128;
+
+	/**
+	 * Longest username that fits in a record, in UTF-8 bytes.
+	 */
+	public static final int MAX_NAME_BYTES = 64;
+
+	private static final int MAGIC = 0x574d4153; // "WMAS"
+	private static final int INDEX_MAGIC = 0x574d4149; // "WMAI"
+	private static final int HEADER_SIZE = 32;
+	private static final int FIRST_CAPACITY = 64;
+	private static final int EMPTY = 0;
+
+	// where each field starts inside a record
+	private static final int LIVE = 0;
+	private static final int NAME_LENGTH = 1;
+	private static final int NAME = 2;
+	private static final int NAME_HASH = 68;
+	private static final int PASSWORD = 72;
+	private static final int PAST_WINS = 80;
+	private static final int STREAK = 104;
+	private static final int LONGEST_STREAK = 108;
+	private static final int TOTAL_GAMES = 112;
+	private static final int TOTAL_WINS = 116;
+	private static final int ACHIEVEMENTS = 120;
+	private static final int WIN_COUNTS = (STREAK - PAST_WINS) / Integer.BYTES;
+
+	private final File file;
+	private final File indexFile;
+	private MappedByteBuffer records;
+	// open addressing table holding record numbers plus one, or EMPTY
+	private MappedByteBuffer index;
+	private int capacity;
+	private int tableSize;
+	private int shift;
+	private int count;
+	private int live;
+
+
+	/**
+	 * Maps the records file and its index, making them if they do not exist
+	 *
+	 * @param file File holding the records
+	 * @param indexFile File holding the username index
+	 *
+	 * @throws IOException if a file cannot be mapped, is not an account map,
+	 * 		   or was written by a newer version of the program
+	 */
+	public MappedAccountStore(File file, File indexFile) throws IOException {
+		this.file = file;
+		this.indexFile = indexFile;
+		long size = file.length();
+		if (size >= HEADER_SIZE) {
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(file.getName() + " is too large to map");
+			}
+			records = map(file, size);
+			if (records.getInt(0) != MAGIC) {
+				throw new IOException(file.getName() + " is not an account map");
+			}
+			if (records.getInt(4) > VERSION) {
+				throw new IOException(file.getName() + " was written by a newer version");
+			}
+			capacity = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+			count = records.getInt(8);
+			live = records.getInt(12);
+			if (count < 0 || count > capacity) {
+				throw new IOException(file.getName() + " is damaged");
+			}
+		}
+		else {
+			capacity = FIRST_CAPACITY;
+			records = map(file, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+			records.putInt(0, MAGIC);
+			records.putInt(4, VERSION);
+			writeCounts();
+		}
+		openIndex();
+	}
+
+
+	/**
+	 * Finds the record of an account
+	 *
+	 * @param username String representing the account's username
+	 *
+	 * @return int representing the record number, or -1 if there is no
+	 * 		   account with that username
+	 */
+	public int find(String username) {
+		byte[] name = username.getBytes(StandardCharsets.UTF_8);
+		if (name.length > MAX_NAME_BYTES) {
+			return -1;
+		}
+		int entry = index.getInt(tableOffset(probe(name, hash(name))));
+		if (entry == EMPTY || !isLive(entry - 1)) {
+			return -1;
+		}
+		return entry - 1;
+	}
+
+
+	/**
+	 * Indicates whether a username is short enough to be stored
+	 *
+	 * @param username String representing the username
+	 *
+	 * @return boolean indicating whether the username fits in a record
+	 */
+	public static boolean fits(String username) {
+		return username.getBytes(StandardCharsets.UTF_8).length <= MAX_NAME_BYTES;
+	}
+
+
+	/**
+	 * Writes the numbers of an account to its record, adding a record if the
+	 * account does not have one yet
+	 *
+	 * @param account PlayerAccount to be stored
+	 *
+	 * @return int representing the record number
+	 *
+	 * @throws IOException if the records or the index cannot be made larger
+	 * @throws IllegalArgumentException if the username does not fit (see fits)
+	 */
+	public synchronized int put(PlayerAccount account) throws IOException {
+		byte[] name = account.getUsername().getBytes(StandardCharsets.UTF_8);
+		if (name.length > MAX_NAME_BYTES) {
+			throw new IllegalArgumentException("Usernames can be at most " + MAX_NAME_BYTES
+					+ " bytes long");
+		}
+		int hash = hash(name);
+		int slot = probe(name, hash);
+		int entry = index.getInt(tableOffset(slot));
+		int record;
+		if (entry == EMPTY) {
+			if (count == capacity) {
+				growRecords();
+			}
+			// keep the index at most half full so probes stay short
+			if ((count + 1) * 2 > tableSize) {
+				buildIndex(tableSize * 2);
+				slot = probe(name, hash);
+			}
+			record = count;
+			int base = offset(record);
+			// the slot may still hold a record from before a clear
+			records.put(base + LIVE, (byte) 0);
+			records.put(base + NAME_LENGTH, (byte) name.length);
+			for (int i = 0; i < name.length; i++) {
+				records.put(base + NAME + i, name[i]);
+			}
+			records.putInt(base + NAME_HASH, hash);
+			count++;
+			index.putInt(tableOffset(slot), record + 1);
+			index.putInt(12, count);
+		}
+		else {
+			record = entry - 1;
+		}
+		int base = offset(record);
+		if (!isLive(record)) {
+			records.put(base + LIVE, (byte) 1);
+			live++;
+		}
+		records.putLong(base + PASSWORD, passwordCheck(account.getPassword()));
+		int[] wins = account.getPastWins();
+		for (int i = 0; i < WIN_COUNTS; i++) {
+			records.putInt(base + PAST_WINS + i * Integer.BYTES, i < wins.length ? wins[i] : 0);
+		}
+		records.putInt(base + STREAK, account.getStreak());
+		records.putInt(base + LONGEST_STREAK, account.getLongestStreak());
+		records.putInt(base + TOTAL_GAMES, (int) account.getTotalGames());
+		records.putInt(base + TOTAL_WINS, (int) account.getTotalWins());
+		int earned = 0;
+		boolean[] achievements = account.getAchievements();
+		for (int i = 0; i < achievements.length; i++) {
+			if (achievements[i]) {
+				earned |= 1 << i;
+			}
+		}
+		records.putInt(base + ACHIEVEMENTS, earned);
+		writeCounts();
+		return record;
+	}
+
+
+	/**
+	 * Marks an account's record as removed
+	 *
+	 * @param username String representing the account's username
+	 *
+	 * @return boolean indicating whether there was an account to remove
+	 */
+	public boolean remove(String username) {
+		int record = find(username);
+		if (record == -1) {
+			return false;
+		}
+		records.put(offset(record) + LIVE, (byte) 0);
+		live--;
+		writeCounts();
+		return true;
+	}
+
+
+	/**
+	 * Removes every record
+	 */
+	public synchronized void clear() {
+		count = 0;
+		live = 0;
+		writeCounts();
+		buildIndex(tableSize);
+	}
+
+
+	/**
+	 * Checks a password against the one stored in a record
+	 *
+	 * @param record int representing the record number (see find)
+	 * @param password String representing the password to check
+	 *
+	 * @return boolean indicating whether the password matches
+	 */
+	public boolean checkPassword(int record, String password) {
+		return records.getLong(offset(record) + PASSWORD) == passwordCheck(password);
+	}
+
+
+	/**
+	 * Returns the username stored in a record
+	 *
+	 * @param record int representing the record number (see find)
+	 *
+	 * @return String representing the username
+	 */
+	public String getUsername(int record) {
+		int base = offset(record);
+		byte[] name = new byte[records.get(base + NAME_LENGTH) & 0xff];
+		for (int i = 0; i < name.length; i++) {
+			name[i] = records.get(base + NAME + i);
+		}
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Returns the total wins stored in a record
+	 *
+	 * @param record int representing the record number (see find)
+	 *
+	 * @return int representing the number of games won
+	 */
+	public int getWins(int record) {
+		return records.getInt(offset(record) + TOTAL_WINS);
+	}
+
+
+	/**
+	 * Returns the weighted average of the guesses the wins in a record took,
+	 * worked out the same way as PlayerAccount.getWeightedGuesses
+	 *
+	 * @param record int representing the record number (see find)
+	 *
+	 * @return double representing the weighted average
+	 */
+	public double getWeightedGuesses(int record) {
+		int base = offset(record) + PAST_WINS;
+		double weightAvg = 0.0;
+		for (int i = 1; i <= WIN_COUNTS; i++) {
+			weightAvg += i * records.getInt(base + (i - 1) * Integer.BYTES);
+		}
+		return weightAvg / 21.0;	// 21 = 1+2+3+4+5+6 = sum of the weights
+	}
+
+
+	/**
+	 * Returns the achievements stored in a record
+	 *
+	 * @param record int representing the record number (see find)
+	 *
+	 * @return int with bit i set if achievement i has been earned
+	 */
+	public int getAchievements(int record) {
+		return records.getInt(offset(record) + ACHIEVEMENTS);
+	}
+
+
+	/**
+	 * Returns the players at the top of the leaderboard. Every record is read
+	 * from the mapping, but only the players that make it onto the
+	 * leaderboard are turned into objects
+	 *
+	 * @param limit int representing the most players to return
+	 *
+	 * @return ArrayList of LeaderboardEntries in leaderboard order
+	 */
+	public ArrayList<LeaderboardEntry> top(int limit) {
+		// the lowest ranked of the best players so far is at the head
+		PriorityQueue<LeaderboardEntry> best = new PriorityQueue<>(Math.max(limit, 1),
+				Collections.reverseOrder());
+		for (int record = 0; record < count && limit > 0; record++) {
+			if (!isLive(record)) {
+				continue;
+			}
+			int wins = getWins(record);
+			double weighted = getWeightedGuesses(record);
+			if (best.size() == limit) {
+				LeaderboardEntry lowest = best.peek();
+				if (LeaderboardEntry.compare(wins, weighted, lowest.getWins(),
+						lowest.getWeightedGuesses()) >= 0) {
+					continue;
+				}
+				best.poll();
+			}
+			best.add(new LeaderboardEntry(getUsername(record), wins, weighted));
+		}
+		ArrayList<LeaderboardEntry> board = new ArrayList<>(best);
+		Collections.sort(board);
+		return board;
+	}
+
+
+	/**
+	 * Returns the number of accounts stored
+	 *
+	 * @return int representing the accounts that have not been removed
+	 */
+	public int getSize() {
+		return live;
+	}
+
+
+	/**
+	 * Returns the sequence number of the last account journal record (see
+	 * AccountJournal) that the stored accounts include
+	 *
+	 * @return long representing the sequence number
+	 */
+	public long getSequence() {
+		return records.getLong(16);
+	}
+
+
+	/**
+	 * Sets the sequence number of the last account journal record that the
+	 * stored accounts include
+	 *
+	 * @param sequence long representing the sequence number
+	 */
+	public void setSequence(long sequence) {
+		records.putLong(16, sequence);
+	}
+
+
+	/**
+	 * Forces every change to the records and the index onto the disk. Safe to
+	 * call from any thread
+	 */
+	public synchronized void force() {
+		records.force();
+		index.force();
+	}
+
+
+	@Override
+	public void close() {
+		force();
+	}
+
+
+	// uses the index file if it was built for the records as they are now,
+	// and builds it again otherwise
+	private void openIndex() throws IOException {
+		long size = indexFile.length();
+		if (size >= HEADER_SIZE && size <= Integer.MAX_VALUE) {
+			index = map(indexFile, size);
+			int slots = index.getInt(8);
+			if (index.getInt(0) == INDEX_MAGIC && index.getInt(4) == VERSION
+					&& index.getInt(12) == count && Integer.bitCount(slots) == 1
+					&& slots >= count * 2 && HEADER_SIZE + (long) slots * Integer.BYTES <= size) {
+				setTableSize(slots);
+				return;
+			}
+		}
+		index = null;
+		buildIndex(Integer.highestOneBit(Math.max(capacity, 1)) * 2);
+	}
+
+
+	// fills a table of the given size with every record
+	private void buildIndex(int slots) {
+		try {
+			index = map(indexFile, HEADER_SIZE + (long) slots * Integer.BYTES);
+		} catch (IOException err) {
+			throw new IllegalStateException("Couldn't map " + indexFile.getName(), err);
+		}
+		setTableSize(slots);
+		for (int i = 0; i < slots; i++) {
+			index.putInt(tableOffset(i), EMPTY);
+		}
+		for (int record = 0; record < count; record++) {
+			int base = offset(record);
+			int hash = records.getInt(base + NAME_HASH);
+			int slot = (hash * 0x9E3779B9) >>> shift;
+			while (index.getInt(tableOffset(slot)) != EMPTY) {
+				slot = (slot + 1) & (tableSize - 1);
+			}
+			index.putInt(tableOffset(slot), record + 1);
+		}
+		index.putInt(0, INDEX_MAGIC);
+		index.putInt(4, VERSION);
+		index.putInt(8, slots);
+		index.putInt(12, count);
+	}
+
+
+	private void setTableSize(int slots) {
+		tableSize = slots;
+		shift = Integer.SIZE - Integer.numberOfTrailingZeros(slots);
+	}
+
+
+	private void growRecords() throws IOException {
+		long size = HEADER_SIZE + (long) capacity * 2 * RECORD_SIZE;
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException(file.getName() + " is full");
+		}
+		capacity *= 2;
+		// the old mapping and the new one share the same pages, so nothing
+		// has to be copied
+		records = map(file, size);
+	}
+
+
+	// finds the table slot holding the record for the name, or the empty
+	// slot where it would go
+	private int probe(byte[] name, int hash) {
+		int slot = (hash * 0x9E3779B9) >>> shift;
+		while (true) {
+			int entry = index.getInt(tableOffset(slot));
+			if (entry == EMPTY || holdsName(entry - 1, name, hash)) {
+				return slot;
+			}
+			slot = (slot + 1) & (tableSize - 1);
+		}
+	}
+
+
+	private boolean holdsName(int record, byte[] name, int hash) {
+		int base = offset(record);
+		if (records.getInt(base + NAME_HASH) != hash
+				|| (records.get(base + NAME_LENGTH) & 0xff) != name.length) {
+			return false;
+		}
+		for (int i = 0; i < name.length; i++) {
+			if (records.get(base + NAME + i) != name[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private boolean isLive(int record) {
+		return records.get(offset(record) + LIVE) != 0;
+	}
+
+
+	private void writeCounts() {
+		records.putInt(8, count);
+		records.putInt(12, live);
+	}
+
+
+	private static int offset(int record) {
+		return HEADER_SIZE + record * RECORD_SIZE;
+	}
+
+
+	private static int tableOffset(int slot) {
+		return HEADER_SIZE + slot * Integer.BYTES;
+	}
+
+
+	private static int hash(byte[] name) {
+		return Arrays.hashCode(name);
+	}
+
+
+	private static long passwordCheck(String password) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(password.getBytes(StandardCharsets.UTF_8));
+			long check = 0;
+			for (int i = 0; i < Long.BYTES; i++) {
+				check = (check << 8) | (digest[i] & 0xff);
+			}
+			return check;
+		} catch (NoSuchAlgorithmException err) {
+			// every Java platform has to provide SHA-256
+			throw new IllegalStateException(err);
+		}
+	}
+
+
+	// the mapping stays valid after the channel is closed, and making it
+	// larger than the file makes the file larger
+	private static MappedByteBuffer map(File file, long size) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+				FileChannel channel = raf.getChannel()) {
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+	}
+
+}
@@ -0,0 +1,286 @@
+package model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * MultiPuzzle is a game with several puzzle words at once (like Quordle), where
+ * each guess counts for every board that has not been solved yet. A guess is
+ * scored against all of the boards in one call to Feedback.scoreAll over the
+ * packed puzzle words instead of one Puzzle per board, so even 16 boards take
+ * only about a microsecond per guess. The game keeps only the packed guesses
+ * and one pattern code byte per board per guess, in arrays made big enough
+ * for the whole game when it starts, so guess(int) allocates nothing; the
+ * grid and keyboard colors for any board can be worked out from those.
+ */
+
+public class MultiPuzzle implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Most boards a game can have.
+	 */
+	public static final int MAX_BOARDS = Integer.SIZE;
+	
+	private final int[] answers;
+	// bit b set once board b has been solved
+	private int solved;
+	// room for every guess the game allows; the first rows are used
+	private final int[] guesses;
+	private int rows;
+	// the code for guess r on board b, at r * boards + b
+	private final byte[] patterns;
+	// working space for scoring, made again after loading
+	private transient byte[] codes;
+	
+	
+	/**
+	 * Creates a game with the given puzzle words, one per board
+	 * 
+	 * @param packedAnswers int array holding the packed puzzle words
+	 */
+	public MultiPuzzle(int[] packedAnswers) {
+		if (packedAnswers.length < 1 || packedAnswers.length > MAX_BOARDS) {
+			throw new IllegalArgumentException("a game needs 1 to " + MAX_BOARDS + " boards");
+		}
+		answers = packedAnswers.clone();
+		guesses = new int[getMaxGuesses()];
+		patterns = new byte[guesses.length * answers.length];
+		codes = new byte[answers.length];
+	}
+	
+	
+	/**
+	 * Creates a game with different puzzle words picked from a player's 
+	 * WordList, so the words count as used for that player
+	 * 
+	 * @param wordList WordList to pick the puzzle words from
+	 * @param boards int representing the number of boards
+	 * @param seed int representing the seed for the picks, or -1 for random 
+	 * 		  picks
+	 */
+	public MultiPuzzle(WordList wordList, int boards, int seed) {
+		this(pick(wordList, boards, seed));
+	}
+	
+	
+	/**
+	 * Scores a guess against every board that has not been solved yet
+	 * 
+	 * @param attempt The player's guess attempt
+	 * 
+	 * @return Array holding the GuessResult for each board, with null for 
+	 * 		   boards that were already solved before this guess. Null if the 
+	 * 		   attempt is not a valid word or the game is over
+	 */
+	public GuessResult[] guess(String attempt) {
+		int packed = PackedWord.encode(attempt);
+		int before = solved;
+		if (!guess(packed)) {
+			return null;
+		}
+		int row = rows - 1;
+		GuessResult[] results = new GuessResult[answers.length];
+		for (int board = 0; board < answers.length; board++) {
+			if ((before & (1 << board)) == 0) {
+				results[board] = getResult(board, row);
+			}
+		}
+		return results;
+	}
+	
+	
+	/**
+	 * Scores a packed guess against every board that has not been solved yet, 
+	 * without building the results. The colors can be read afterwards with 
+	 * getResult
+	 * 
+	 * @param packed int representing the packed guess
+	 * 
+	 * @return boolean indicating whether the guess was made. False if it is 
+	 * 		   not a valid word or the game is over
+	 */
+	public boolean guess(int packed) {
+		if (!Dictionary.getAllowedGuesses().contains(packed)) {
+			return false;
+		}
+		return restore(packed);
+	}
+	
+	
+	/**
+	 * Makes a guess that was already accepted, such as one read back from a 
+	 * saved account. It is not checked against the allowed guesses again, 
+	 * so a word taken out of the word files since keeps its row
+	 * 
+	 * @param packed int representing the packed guess
+	 * 
+	 * @return boolean indicating whether the guess was made. False if it is 
+	 * 		   not a packed word or the game is over
+	 */
+	public boolean restore(int packed) {
+		if (isOver() || packed < 0 || packed >= PackedWord.UPPER_BOUND) {
+			return false;
+		}
+		Feedback.scoreAll(packed, answers, codes);
+		
+		int row = rows;
+		guesses[row] = packed;
+		System.arraycopy(codes, 0, patterns, row * answers.length, answers.length);
+		rows++;
+		for (int board = 0; board < answers.length; board++) {
+			if (codes[board] == (byte) Feedback.ALL_GREEN) {
+				solved |= 1 << board;
+			}
+		}
+		return true;
+	}
+	
+	
+	/**
+	 * Returns the number of boards
+	 * 
+	 * @return int representing the number of boards
+	 */
+	public int getBoardCount() {
+		return answers.length;
+	}
+	
+	
+	/**
+	 * Returns the number of guesses the player gets: five more than the 
+	 * number of boards
+	 * 
+	 * @return int representing the most guesses allowed
+	 */
+	public int getMaxGuesses() {
+		return answers.length + 5;
+	}
+	
+	
+	/**
+	 * Returns the number of guesses made so far
+	 * 
+	 * @return int representing the number of guesses
+	 */
+	public int getGuessCount() {
+		return rows;
+	}
+	
+	
+	/**
+	 * Returns one of the guesses made so far
+	 * 
+	 * @param row int representing which guess, 0 being the first
+	 * 
+	 * @return String representing the guess
+	 */
+	public String getGuess(int row) {
+		return PackedWord.decode(guesses[row]);
+	}
+	
+	
+	/**
+	 * Returns the colors one guess got on one board. Boards that were solved 
+	 * before the guess still have a code, but it is not shown to the player
+	 * 
+	 * @param board int representing the board
+	 * @param row int representing which guess, 0 being the first
+	 * 
+	 * @return GuessResult holding the colors
+	 */
+	public GuessResult getResult(int board, int row) {
+		return GuessResult.of(guesses[row], patterns[row * answers.length + board] & 0xff);
+	}
+	
+	
+	/**
+	 * Returns the puzzle word for one board
+	 * 
+	 * @param board int representing the board
+	 * 
+	 * @return String representing the puzzle word
+	 */
+	public String getWord(int board) {
+		return PackedWord.decode(answers[board]);
+	}
+	
+	
+	/**
+	 * Returns the packed puzzle word for one board
+	 * 
+	 * @param board int representing the board
+	 * 
+	 * @return int representing the packed puzzle word
+	 */
+	public int getPackedWord(int board) {
+		return answers[board];
+	}
+	
+	
+	/**
+	 * Indicates whether a board has been solved
+	 * 
+	 * @param board int representing the board
+	 * 
+	 * @return boolean indicating whether the board's word has been guessed
+	 */
+	public boolean isSolved(int board) {
+		return (solved & (1 << board)) != 0;
+	}
+	
+	
+	/**
+	 * Indicates whether every board has been solved
+	 * 
+	 * @return boolean indicating whether the player won
+	 */
+	public boolean isWon() {
+		return Integer.bitCount(solved) == answers.length;
+	}
+	
+	
+	/**
+	 * Indicates whether the game is over, either won or out of guesses
+	 * 
+	 * @return boolean indicating whether no more guesses can be made
+	 */
+	public boolean isOver() {
+		return isWon() || rows >= getMaxGuesses();
+	}
+	
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		codes = new byte[answers.length];
+	}
+	
+	
+	private static int[] pick(WordList wordList, int boards, int seed) {
+		int[] picked = new int[boards];
+		int count = 0;
+		// the word list only repeats a word after every word has been used, so
+		// a repeat here is rare; the limit just stops a tiny list from looping
+		int tries = 0;
+		while (count < boards && tries < boards + Dictionary.getAnswers().size()) {
+			// a fresh seed for each pick keeps a seeded game repeatable
+			int next = seed == -1 ? -1 : (seed + tries) & Integer.MAX_VALUE;
+			int word = PackedWord.encode(wordList.getPuzzleWord(next));
+			tries++;
+			boolean repeat = false;
+			for (int i = 0; i < count; i++) {
+				if (picked[i] == word) {
+					repeat = true;
+				}
+			}
+			if (!repeat) {
+				picked[count] = word;
+				count++;
+			}
+		}
+		return Arrays.copyOf(picked, count);
+	}
+	
+}
@@ -0,0 +1,312 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Holds the hints for the first two guesses of a game, which are the same for
+ * every game and the most expensive to work out. The book keeps the best few
+ * first guesses (by expected information, see HintEngine) and, for each of
+ * them, the best second guess after every pattern code the first guess can
+ * get. It is built once by running the main method and written to
+ * opening.bin, so a hint early in the game is just a lookup.
+ *
+ * The file starts with a header (magic number, format version, the
+ * fingerprints of the guess and answer dictionaries, and the number of first
+ * guesses) followed by one row per first guess: the packed first guess and
+ * then 243 packed second guesses, one per pattern code (PackedWord.INVALID
+ * where no puzzle word gives that code). A file whose header does not match
+ * the current dictionaries is ignored.
+ */
+public final class OpeningBook {
+	/**
+	 * Version of the file layout. Must be increased whenever the layout changes.
+	 */
+	public static final int VERSION = 1;
+
+	private static final String FILE_NAME = "opening.bin";
+	private static final int MAGIC = 0x574f424b; // "WOBK"
+	private static final int HEADER_SIZE = 28;
+	private static final int ROW_SIZE = (1 + Feedback.PATTERNS) * Integer.BYTES;
+	private static final int DEFAULT_OPENINGS = 5;
+
+	private static volatile OpeningBook shared;
+
+	private final Dictionary guesses;
+	private final Dictionary answers;
+	// the packed first guesses, best first
+	private final int[] openings;
+	// the best second guess for opening i and pattern p, at i * PATTERNS + p
+	private final int[] replies;
+
+	private OpeningBook(Dictionary guesses, Dictionary answers, int[] openings, int[] replies) {
+		this.guesses = guesses;
+		this.answers = answers;
+		this.openings = openings;
+		this.replies = replies;
+	}
+
+	/**
+	 * Works out the book for the given words. The first guesses are ranked in
+	 * parallel, then the second guesses are ranked by a HintEngine.
+	 *
+	 * @param guesses  Dictionary holding the words that can be guessed.
+	 * @param answers  Dictionary holding the words that can be puzzle words.
+	 * @param openings integer representing how many first guesses to keep.
+	 * @return OpeningBook holding the best first and second guesses.
+	 */
+	public static OpeningBook build(Dictionary guesses, Dictionary answers, int openings) {
+		int[] answerWords = answers.copyPackedWords();
+		double[] bits = new double[guesses.size()];
+		IntStream.range(0, guesses.size()).parallel().forEach(i -> {
+			bits[i] = HintEngine.entropy(guesses.getPacked(i), answerWords);
+		});
+		boolean[] possible = new boolean[guesses.size()];
+		for (int i = 0; i < possible.length; i++) {
+			possible[i] = answers.contains(guesses.getPacked(i));
+		}
+
+		// best first, picked one at a time with HintEngine's rule; a tie within
+		// EPSILON is not transitive, so the words can't just be sorted by it
+		int count = Math.min(openings, guesses.size());
+		int[] order = new int[count];
+		boolean[] taken = new boolean[guesses.size()];
+		for (int i = 0; i < count; i++) {
+			int best = -1;
+			for (int word = 0; word < bits.length; word++) {
+				if (!taken[word] && (best < 0
+						|| HintEngine.beats(bits[word], possible[word], word, bits[best], possible[best], best))) {
+					best = word;
+				}
+			}
+			taken[best] = true;
+			order[i] = best;
+		}
+
+		int[] firsts = new int[count];
+		int[] replies = new int[count * Feedback.PATTERNS];
+		HintEngine engine = new HintEngine(guesses);
+		byte[] codes = new byte[answerWords.length];
+		for (int i = 0; i < count; i++) {
+			firsts[i] = guesses.getPacked(order[i]);
+			Feedback.scoreAll(firsts[i], answerWords, codes);
+			for (int pattern = 0; pattern < Feedback.PATTERNS; pattern++) {
+				replies[i * Feedback.PATTERNS + pattern] = engine.bestGuess(matching(answerWords, codes, pattern));
+			}
+		}
+		return new OpeningBook(guesses, answers, firsts, replies);
+	}
+
+	/**
+	 * Reads a book file that was written by write.
+	 *
+	 * @param file    File holding the book.
+	 * @param guesses Dictionary holding the words that can be guessed.
+	 * @param answers Dictionary holding the words that can be puzzle words.
+	 * @return OpeningBook read from the file, or null if the file does not exist,
+	 *         is not a book file, or was built from different words.
+	 */
+	public static OpeningBook load(File file, Dictionary guesses, Dictionary answers) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			if (channel.size() < HEADER_SIZE) {
+				return null;
+			}
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) != -1) {
+			}
+			header.flip();
+			if (header.getInt() != MAGIC || header.getInt() != VERSION
+					|| header.getLong() != guesses.getFingerprint()
+					|| header.getLong() != answers.getFingerprint()) {
+				return null;
+			}
+			int count = header.getInt();
+			if (count < 0 || channel.size() != HEADER_SIZE + (long) count * ROW_SIZE) {
+				return null;
+			}
+			ByteBuffer body = ByteBuffer.allocate(count * ROW_SIZE);
+			while (body.hasRemaining() && channel.read(body) != -1) {
+			}
+			body.flip();
+			int[] openings = new int[count];
+			int[] replies = new int[count * Feedback.PATTERNS];
+			for (int i = 0; i < count; i++) {
+				openings[i] = body.getInt();
+				for (int pattern = 0; pattern < Feedback.PATTERNS; pattern++) {
+					replies[i * Feedback.PATTERNS + pattern] = body.getInt();
+				}
+			}
+			return new OpeningBook(guesses, answers, openings, replies);
+		} catch (IOException err) {
+			System.out.println("Couldn't read from " + file.getName());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the book in opening.bin if it matches the shared dictionaries. The
+	 * file is only read once for each set of words; after that the same book is
+	 * returned until the dictionaries are reloaded.
+	 *
+	 * @return OpeningBook for the shared dictionaries, or null if opening.bin has
+	 *         not been built for the current words.
+	 */
+	public static OpeningBook getShared() {
+		return getShared(Dictionary.current());
+	}
+
+	/**
+	 * Returns the book in opening.bin if it matches the given dictionaries.
+	 *
+	 * @param words Dictionary.Snapshot holding the answers and allowed guesses
+	 *              the caller is using.
+	 * @return OpeningBook for those dictionaries, or null if opening.bin has
+	 *         not been built for them.
+	 */
+	public static OpeningBook getShared(Dictionary.Snapshot words) {
+		Dictionary guessWords = words.getAllowedGuesses();
+		Dictionary answerWords = words.getAnswers();
+		OpeningBook book = shared;
+		if (book == null || book.guesses != guessWords || book.answers != answerWords) {
+			synchronized (OpeningBook.class) {
+				book = shared;
+				if (book == null || book.guesses != guessWords || book.answers != answerWords) {
+					book = load(new File(FILE_NAME), guessWords, answerWords);
+					if (book == null) {
+						// remember which words were checked so the file is not
+						// read again on every hint
+						book = new OpeningBook(guessWords, answerWords, null, null);
+					}
+					shared = book;
+				}
+			}
+		}
+		if (book.openings == null) {
+			return null;
+		}
+		return book;
+	}
+
+	/**
+	 * Writes the book to a file in the format that load expects.
+	 *
+	 * @param file File to write the book to. Any existing file is replaced.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(File file) throws IOException {
+		ByteBuffer bytes = ByteBuffer.allocate(HEADER_SIZE + openings.length * ROW_SIZE);
+		bytes.putInt(MAGIC);
+		bytes.putInt(VERSION);
+		bytes.putLong(guesses.getFingerprint());
+		bytes.putLong(answers.getFingerprint());
+		bytes.putInt(openings.length);
+		for (int i = 0; i < openings.length; i++) {
+			bytes.putInt(openings[i]);
+			for (int pattern = 0; pattern < Feedback.PATTERNS; pattern++) {
+				bytes.putInt(replies[i * Feedback.PATTERNS + pattern]);
+			}
+		}
+		bytes.flip();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+				FileChannel channel = raf.getChannel()) {
+			channel.truncate(0);
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Looks up the hint for a game that has only just started.
+	 *
+	 * @param played   int array holding the packed guesses made so far.
+	 * @param patterns int array holding the pattern codes those guesses got.
+	 * @return int representing the packed best guess, or PackedWord.INVALID if
+	 *         the book does not cover this game (more than one guess made, or a
+	 *         first guess that is not in the book).
+	 */
+	public int lookup(int[] played, int[] patterns) {
+		if (played.length == 0) {
+			return openings.length == 0 ? PackedWord.INVALID : openings[0];
+		}
+		if (played.length > 1) {
+			return PackedWord.INVALID;
+		}
+		for (int i = 0; i < openings.length; i++) {
+			if (openings[i] == played[0]) {
+				return replies[i * Feedback.PATTERNS + patterns[0]];
+			}
+		}
+		return PackedWord.INVALID;
+	}
+
+	/**
+	 * Returns whether this book was built for the given dictionaries.
+	 *
+	 * @param guessWords  Dictionary holding the words that can be guessed.
+	 * @param answerWords Dictionary holding the words that can be puzzle words.
+	 * @return boolean representing whether the hints in the book apply.
+	 */
+	public boolean matches(Dictionary guessWords, Dictionary answerWords) {
+		return guessWords.getFingerprint() == guesses.getFingerprint()
+				&& answerWords.getFingerprint() == answers.getFingerprint();
+	}
+
+	/**
+	 * Returns the packed first guesses in the book, best first.
+	 *
+	 * @return int array holding the packed first guesses.
+	 */
+	public int[] getOpenings() {
+		return openings.clone();
+	}
+
+	private static int[] matching(int[] answerWords, byte[] codes, int pattern) {
+		int[] words = new int[answerWords.length];
+		int count = 0;
+		for (int i = 0; i < answerWords.length; i++) {
+			if ((codes[i] & 0xff) == pattern) {
+				words[count] = answerWords[i];
+				count++;
+			}
+		}
+		return Arrays.copyOf(words, count);
+	}
+
+	/**
+	 * Builds the book for the allowed guesses and answers and writes it to
+	 * opening.bin.
+	 *
+	 * @param args optionally, the number of first guesses to keep (5 if not
+	 *             given).
+	 */
+	public static void main(String[] args) {
+		int openings = DEFAULT_OPENINGS;
+		if (args.length > 0) {
+			openings = Integer.parseInt(args[0]);
+		}
+		Dictionary.Snapshot words = Dictionary.current();
+		Dictionary guesses = words.getAllowedGuesses();
+		Dictionary answers = words.getAnswers();
+		long start = System.nanoTime();
+		OpeningBook book = build(guesses, answers, openings);
+		try {
+			book.write(new File(FILE_NAME));
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't write to file");
+			return;
+		}
+		System.out.printf("Built book with %d first guesses (best: %s) in %d ms%n", book.openings.length,
+				PackedWord.decode(book.openings[0]), (System.nanoTime() - start) / 1000000);
+	}
+}
@@ -0,0 +1,121 @@
+package model;
+
+/**
+ * Utilities for storing a five letter word inside a single int. Each letter is
+ * turned into a number from 0 (a) to 25 (z) and given 5 bits, with the first
+ * letter in the highest bits, so packed words sort in alphabetical order and
+ * two words can be compared with ==. The model keeps words in this form and
+ * only turns them back into Strings when the view needs to show them.
+ */
+public final class PackedWord {
+	/**
+	 * Number of letters in every Wordle word.
+	 */
+	public static final int LENGTH = 5;
+
+	/**
+	 * Returned by encode when the given String is not a five letter word.
+	 */
+	public static final int INVALID = -1;
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * Every packed word is a number from 0 up to (but not including) this one.
+	 */
+	public static final int UPPER_BOUND = 1 << (LENGTH * BITS);
+	private static final String[] LETTERS = new String[26];
+
+	static {
+		for (int i = 0; i < LETTERS.length; i++) {
+			LETTERS[i] = String.valueOf((char) ('a' + i));
+		}
+	}
+
+	private PackedWord() {
+	}
+
+	/**
+	 * Packs a five letter lowercase word into an int.
+	 *
+	 * @param word String representing the word to be packed.
+	 * @return int representing the packed word, or INVALID if the String is null
+	 *         or is not exactly five lowercase letters.
+	 */
+	public static int encode(String word) {
+		if (word == null || word.length() != LENGTH) {
+			return INVALID;
+		}
+		int packed = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			char c = word.charAt(i);
+			if (c < 'a' || c > 'z') {
+				return INVALID;
+			}
+			packed = addLetter(packed, c - 'a');
+		}
+		return packed;
+	}
+
+	/**
+	 * Adds one more letter to the end of a partly packed word. Packing five
+	 * letters this way, starting from 0, gives the same int as encode.
+	 *
+	 * @param packed int representing the letters packed so far.
+	 * @param letter integer from 0 (a) to 25 (z) representing the next letter.
+	 * @return int representing the packed letters with the new one added.
+	 */
+	public static int addLetter(int packed, int letter) {
+		return (packed << BITS) | letter;
+	}
+
+	/**
+	 * Turns a packed word back into a lowercase String.
+	 *
+	 * @param packed int representing a word made by encode.
+	 * @return String representing the unpacked word.
+	 */
+	public static String decode(int packed) {
+		char[] letters = new char[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			letters[i] = (char) ('a' + letterAt(packed, i));
+		}
+		return new String(letters);
+	}
+
+	/**
+	 * Returns one letter of a packed word as a number.
+	 *
+	 * @param packed   int representing a word made by encode.
+	 * @param position integer from 0 to 4 representing which letter to get.
+	 * @return integer from 0 (a) to 25 (z) representing the letter.
+	 */
+	public static int letterAt(int packed, int position) {
+		return (packed >>> ((LENGTH - 1 - position) * BITS)) & MASK;
+	}
+
+	/**
+	 * Replaces the letter at the given position of a packed word.
+	 *
+	 * @param packed   int representing the packed word.
+	 * @param position integer from 0 to 4 representing the letter to replace.
+	 * @param letter   integer from 0 (a) to 25 (z) representing the new letter.
+	 * @return int representing the packed word with the letter replaced.
+	 */
+	public static int withLetter(int packed, int position, int letter) {
+		int shift = (LENGTH - 1 - position) * BITS;
+		return (packed & ~(MASK << shift)) | (letter << shift);
+	}
+
+	/**
+	 * Returns a one letter String for a letter number. The Strings are made once
+	 * and shared, so calling this does not create a new object.
+	 *
+	 * @param letter integer from 0 (a) to 25 (z) representing the letter.
+	 * @return String holding the lowercase letter.
+	 */
+	public static String letterString(int letter) {
+		return LETTERS[letter];
+	}
+}
@@ -1,14 +1,21 @@
 package model;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import javafx.scene.paint.Color;
 
 /**
  * PlayerAccount stores information for the player's username, password, guesses made,
  * previous game wins, and save information for current games to be accesses if 
- * player is logged out.
+ * player is logged out. Each player also has their own WordList so that puzzle
+ * words are not repeated for them until every word has been played.
  * 
  * @author Blue Garrabrant
  * @since April 15, 2023
@@ -16,7 +23,20 @@ import javafx.scene.paint.Color;
 
 public class PlayerAccount implements Serializable{
 	
+	// kept the same as when this class had no explicit version so that the
+	// accounts already in accounts.ser can still be read in
+	private static final long serialVersionUID = -6610271374577753974L;
+	
+	/**
+	 * Number of guesses a player gets for each game.
+	 */
+	public static final int MAX_GUESSES = 6;
+	
+	// counts and string positions in a codec record are stored in one byte
+	private static final int MAX_RECORD_COUNT = 0xff;
+	
 	private Puzzle puzzle;
+	private WordList wordList;
 	private String username;
 	private String password;
 	private int guesses;
@@ -26,11 +46,19 @@ public class PlayerAccount implements Serializable{
 	private double totalGames;
 	private double totalWins;
 	private ArrayList<ArrayList<String>> saved;
-	private ArrayList<String> oldGuesses;
+	private int[] savedGuesses;
+	private boolean hardMode;
+	private GameMode gameMode;
+	private MultiPuzzle multiPuzzle;
+	private LocalDate lastDailyDate;
+	private int[] dailyGuesses;
+	private HardModeRules hardModeRules;
 	private String[] keyboard;
 	private boolean[] achievements = {false, false, false, false, false, 
 			false, false, false, false, false};
 	private String[] newAchievements = {"", "", "", "", "", "", "", "", "", "", "", ""};
+	// whether anything changed since the account was last stored
+	private transient boolean dirty;
 
 	
 	/**
@@ -40,7 +68,28 @@ public class PlayerAccount implements Serializable{
 	 * @param givenPassword String representing the player's password.
 	 */
 	public PlayerAccount(String givenUsername, String givenPassword) {
-		puzzle = new Puzzle();
+		this(givenUsername, givenPassword, -1);
+	}
+	
+	/**
+	 * Creates the player's account like the constructor above, but picks the
+	 * first puzzle word from the given seed so that every word the account 
+	 * plays can be repeated (see newGame(int)).
+	 * 
+	 * @param givenUsername String representing the player's username.
+	 * @param givenPassword String representing the player's password.
+	 * @param seed Int representing the seed for picking the first puzzle word,
+	 * 		  or -1 for a random pick.
+	 */
+	public PlayerAccount(String givenUsername, String givenPassword, int seed) {
+		this(givenUsername, givenPassword, new WordList());
+		puzzle = new Puzzle(wordList.getPuzzleWord(seed));
+	}
+	
+	// sets up everything but the puzzle, which the caller picks
+	private PlayerAccount(String givenUsername, String givenPassword, WordList givenWordList) {
+		wordList = givenWordList;
+		gameMode = GameMode.CLASSIC;
 		username = givenUsername;
 		password = givenPassword;
 		guesses = 0;
@@ -49,7 +98,26 @@ public class PlayerAccount implements Serializable{
 		totalGames = 0;
 		totalWins = 0;
 		saved = new ArrayList<>();
-		oldGuesses = new ArrayList<>();
+		savedGuesses = new int[0];
+		hardMode = false;
+		hardModeRules = new HardModeRules();
+		dailyGuesses = new int[0];
+		dirty = true;
+	}
+	
+	/**
+	 * Creates an account whose first puzzle word is already known, such as 
+	 * when replaying the account journal (see AccountJournal).
+	 * 
+	 * @param givenUsername String representing the player's username.
+	 * @param givenPassword String representing the player's password.
+	 * @param packedWord Int representing the packed first puzzle word.
+	 * @return PlayerAccount playing a game with that word.
+	 */
+	static PlayerAccount restore(String givenUsername, String givenPassword, int packedWord) {
+		PlayerAccount account = new PlayerAccount(givenUsername, givenPassword, new WordList());
+		account.restoreGame(packedWord);
+		return account;
 	}
 	
 	/**
@@ -88,6 +156,15 @@ public class PlayerAccount implements Serializable{
 		return totalGames;
 	}
 	
+	/**
+	 * Returns the count of total games won by the player.
+	 * 
+	 * @return Double representing player's total wins count.
+	 */
+	public double getTotalWins() {
+		return totalWins;
+	}
+	
 	/**
 	 * Returns current streak of the player.
 	 * 
@@ -126,6 +203,7 @@ public class PlayerAccount implements Serializable{
 	 * 
 	 */
 	public void guessMade() {
+		dirty = true;
 		guesses += 1;
 	}
 	
@@ -144,13 +222,15 @@ public class PlayerAccount implements Serializable{
 	 * 
 	 */
 	public void gameWon() {
+		dirty = true;
 		pastWins[guesses - 1] += 1;
 		totalGames += 1;
 		totalWins += 1;
 		guesses = 0;
 		streak += 1;
 		saved = new ArrayList<>();
-		oldGuesses = new ArrayList<>();
+		savedGuesses = new int[0];
+		hardModeRules.reset();
 		checkAllAchievements();
 	}
 	
@@ -160,6 +240,7 @@ public class PlayerAccount implements Serializable{
 	 * 
 	 */
 	public void gameLost() {
+		dirty = true;
 		if (streak > longestStreak) {
 			longestStreak = streak;
 		}
@@ -167,7 +248,8 @@ public class PlayerAccount implements Serializable{
 		totalGames += 1;
 		guesses = 0;
 		saved = new ArrayList<>();
-		oldGuesses = new ArrayList<>();
+		savedGuesses = new int[0];
+		hardModeRules.reset();
 	}
 	
 	/**
@@ -176,7 +258,7 @@ public class PlayerAccount implements Serializable{
 	 * @return Boolean representing if the player has maxed out their guesses.
 	 */
 	public boolean exhaustedGuesses() {
-		if (guesses > 5) {
+		if (guesses >= MAX_GUESSES) {
 			return true;
 		}
 		return false;
@@ -197,10 +279,241 @@ public class PlayerAccount implements Serializable{
 	 * 
 	 */
 	public void newGame() {
-		puzzle = new Puzzle();
+		newGame(-1);
+	}
+	
+	/**
+	 * Starts a new game like newGame, but picks the puzzle word from the given
+	 * seed so that a run of games (such as a simulation) can be repeated.
+	 * 
+	 * @param seed Int representing the seed for picking the puzzle word, or -1
+	 * 		  for a random pick.
+	 */
+	public void newGame(int seed) {
+		dirty = true;
+		if (gameMode == GameMode.ADVERSARIAL) {
+			// there is no puzzle word to pick, so the player's list is left alone
+			puzzle = new AdversarialPuzzle();
+		}
+		else {
+			puzzle = new Puzzle(wordList.getPuzzleWord(seed));
+		}
+		guesses = 0;
+		saved = new ArrayList<>();
+		savedGuesses = new int[0];
+		hardModeRules.reset();
+	}
+	
+	/**
+	 * Starts a new game with a puzzle word that was picked before, such as 
+	 * when replaying the account journal. The word is marked as used in the 
+	 * player's WordList.
+	 * 
+	 * @param packedWord Int representing the packed puzzle word, or 
+	 * 		  PackedWord.INVALID for an adversarial game.
+	 */
+	public void restoreGame(int packedWord) {
+		dirty = true;
+		if (packedWord == PackedWord.INVALID) {
+			puzzle = new AdversarialPuzzle();
+		}
+		else {
+			puzzle = new Puzzle(packedWord);
+			wordList.markUsed(packedWord);
+		}
 		guesses = 0;
 		saved = new ArrayList<>();
-		oldGuesses = new ArrayList<>();
+		savedGuesses = new int[0];
+		hardModeRules.reset();
+	}
+	
+	/**
+	 * Makes a guess in the current game the way WordleBackend.processGuess 
+	 * does, for replaying the account journal: the guess is counted, saved 
+	 * and added to the hard mode hints.
+	 * 
+	 * @param packedGuess Int representing the packed guess.
+	 */
+	public void restoreGuess(int packedGuess) {
+		dirty = true;
+		// scoring also narrows an adversarial puzzle down the same way again
+		int pattern = puzzle.score(packedGuess);
+		guessMade();
+		savedGuesses = Arrays.copyOf(savedGuesses, savedGuesses.length + 1);
+		savedGuesses[savedGuesses.length - 1] = packedGuess;
+		if (pattern != -1) {
+			hardModeRules.update(packedGuess, pattern);
+		}
+	}
+	
+	/**
+	 * Starts a multi-board game alongside the player's regular game. Its 
+	 * puzzle words are picked from the player's own WordList.
+	 * 
+	 * @param boards Int representing the number of boards, such as 4, 8 or 16.
+	 * @param seed Int representing the seed for picking the puzzle words, or 
+	 * 		  -1 for random picks.
+	 */
+	public void newMultiBoardGame(int boards, int seed) {
+		dirty = true;
+		multiPuzzle = new MultiPuzzle(wordList, boards, seed);
+	}
+	
+	/**
+	 * Starts a multi-board game with the given puzzle words, for replaying the 
+	 * account journal. The words count as used, as they did when the game was 
+	 * first started.
+	 * 
+	 * @param packedWords Int array holding the packed puzzle words.
+	 */
+	public void restoreMultiBoardGame(int[] packedWords) {
+		dirty = true;
+		for (int word : packedWords) {
+			wordList.markUsed(word);
+		}
+		multiPuzzle = new MultiPuzzle(packedWords);
+	}
+	
+	/**
+	 * Makes a guess in the player's multi-board game that 
+	 * WordleBackend.processMultiGuess already accepted, for replaying the 
+	 * account journal. Like restoreGuess, the guess is kept even if the word 
+	 * has been taken out of the word files since.
+	 * 
+	 * @param packedGuess Int representing the packed guess.
+	 */
+	public void restoreMultiGuess(int packedGuess) {
+		if (multiPuzzle != null) {
+			dirty = true;
+			// it was allowed when it was made, even if the word files changed
+			multiPuzzle.restore(packedGuess);
+		}
+	}
+	
+	/**
+	 * Returns the player's multi-board game.
+	 * 
+	 * @return MultiPuzzle representing the game, or null if the player has 
+	 * 		   not started one.
+	 */
+	public MultiPuzzle getMultiPuzzle() {
+		return multiPuzzle;
+	}
+	
+	/**
+	 * Returns the guesses the player has made on a day's daily puzzle (see 
+	 * DailyPuzzle).
+	 * 
+	 * @param date LocalDate representing the day.
+	 * @return int array holding the packed guesses, empty if the player has 
+	 * 		   not played that day's puzzle.
+	 */
+	public int[] getDailyGuesses(LocalDate date) {
+		if (!date.equals(lastDailyDate)) {
+			return new int[0];
+		}
+		return dailyGuesses.clone();
+	}
+	
+	/**
+	 * Adds a guess on a day's daily puzzle. Guesses from an earlier day are 
+	 * dropped, since only the latest day is kept.
+	 * 
+	 * @param date LocalDate representing the day of the puzzle.
+	 * @param packedGuess Int representing the packed guess.
+	 */
+	public void addDailyGuess(LocalDate date, int packedGuess) {
+		dirty = true;
+		if (!date.equals(lastDailyDate)) {
+			lastDailyDate = date;
+			dailyGuesses = new int[0];
+		}
+		dailyGuesses = Arrays.copyOf(dailyGuesses, dailyGuesses.length + 1);
+		dailyGuesses[dailyGuesses.length - 1] = packedGuess;
+	}
+	
+	/**
+	 * Returns the last day the player played the daily puzzle.
+	 * 
+	 * @return LocalDate representing the day, or null if they never have.
+	 */
+	public LocalDate getLastDailyDate() {
+		return lastDailyDate;
+	}
+	
+	/**
+	 * Returns the kind of game the player plays.
+	 * 
+	 * @return GameMode representing the player's kind of game.
+	 */
+	public GameMode getGameMode() {
+		return gameMode;
+	}
+	
+	/**
+	 * Sets the kind of game the player plays. This takes effect from the next
+	 * new game.
+	 * 
+	 * @param gameMode GameMode representing the kind of game to play.
+	 */
+	public void setGameMode(GameMode gameMode) {
+		dirty = true;
+		this.gameMode = gameMode;
+	}
+	
+	/**
+	 * Returns whether the player is playing in hard mode, where every guess has
+	 * to use all of the hints revealed so far.
+	 * 
+	 * @return Boolean representing whether hard mode is on.
+	 */
+	public boolean isHardMode() {
+		return hardMode;
+	}
+	
+	/**
+	 * Turns hard mode on or off for the player. The hints are tracked either 
+	 * way, so hard mode can be turned on part way through a game.
+	 * 
+	 * @param hardMode Boolean representing whether hard mode should be on.
+	 */
+	public void setHardMode(boolean hardMode) {
+		dirty = true;
+		this.hardMode = hardMode;
+	}
+	
+	/**
+	 * Returns the hints from the current game that a hard mode guess has to use.
+	 * 
+	 * @return HardModeRules for the current game.
+	 */
+	public HardModeRules getHardModeRules() {
+		return hardModeRules;
+	}
+	
+	/**
+	 * Returns whether the account has changed since it was last stored (see 
+	 * AccountStore). New accounts start out dirty and accounts that were just 
+	 * read in start out clean.
+	 * 
+	 * @return Boolean representing whether the account needs to be written.
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+	
+	/**
+	 * Marks the account as stored, so it is not written again until it 
+	 * changes.
+	 */
+	public void markClean() {
+		dirty = false;
+	}
+	
+	// for changes made through the objects the account holds, such as its 
+	// MultiPuzzle
+	void markDirty() {
+		dirty = true;
 	}
 	
 	/**
@@ -246,24 +559,41 @@ public class PlayerAccount implements Serializable{
 	 * @param word String of the players newest guess.
 	 */
 	public void addNewSavedGuess(String word) {
-		oldGuesses.add(word.toUpperCase());
+		dirty = true;
+		savedGuesses = Arrays.copyOf(savedGuesses, savedGuesses.length + 1);
+		savedGuesses[savedGuesses.length - 1] = PackedWord.encode(word.toLowerCase());
 	}
 	
 	/**
 	 * Returns the player's previous guesses.
 	 * 
-	 * @return ArrayList of Strings representing the player's saved guesses.
+	 * @return ArrayList of Strings representing the player's saved guesses,
+	 * 		   in all caps.
 	 */
 	public ArrayList<String> getOldGuesses() {
+		ArrayList<String> oldGuesses = new ArrayList<>();
+		for (int guess : savedGuesses) {
+			oldGuesses.add(PackedWord.decode(guess).toUpperCase());
+		}
 		return oldGuesses;
 	}
 	
+	/**
+	 * Returns the player's previous guesses in packed form.
+	 * 
+	 * @return int array representing the player's saved guesses.
+	 */
+	public int[] getPackedGuesses() {
+		return savedGuesses.clone();
+	}
+	
 	/**
 	 * Updates the grid for the player's the current game.
 	 * 
 	 * @param toSave ArrayList of ArrayLists of Strings representing the current game.
 	 */
 	public void saveGrid(ArrayList<ArrayList<String>> toSave) {
+		dirty = true;
 		saved = toSave;
 	}
 
@@ -282,6 +612,7 @@ public class PlayerAccount implements Serializable{
 	 * @param toSave List of Strings representing the colors of the keyboard.
 	 */
 	public void saveKeyboard(String[] toSave) {
+		dirty = true;
 		keyboard = toSave;
 	}
 
@@ -303,6 +634,17 @@ public class PlayerAccount implements Serializable{
 		return achievements;
 	}
 	
+	/**
+	 * Marks an achievement as made, for replaying the account journal.
+	 * 
+	 * @param index Int representing the achievement's position in 
+	 * 		  getAchievements.
+	 */
+	public void restoreAchievement(int index) {
+		dirty = true;
+		achievements[index] = true;
+	}
+	
 	/**
 	 * Returns which new achievements the player has made.
 	 * 
@@ -318,6 +660,282 @@ public class PlayerAccount implements Serializable{
 	}
 	
 	
+	/**
+	 * Writes the account in the binary record format of PlayerAccountCodec. 
+	 * The puzzle is stored as its packed word and the game as packed guesses; 
+	 * the hard mode hints (and an adversarial puzzle's words) are worked out 
+	 * again from the guesses when the record is read. The grid, keyboard and 
+	 * achievement strings repeat the same few values, so each distinct 
+	 * String is written once and then referred to by its position.
+	 * 
+	 * @param out DataOutputStream to write to.
+	 * @throws IOException if the stream cannot be written.
+	 * @throws IllegalStateException if a list in the account is longer than 
+	 * 		   the 255 entries a record can hold.
+	 */
+	void writeRecord(DataOutputStream out) throws IOException {
+		out.writeUTF(username);
+		out.writeUTF(password);
+		out.writeByte(gameMode.ordinal());
+		out.writeBoolean(hardMode);
+		out.writeInt(puzzle instanceof AdversarialPuzzle ? PackedWord.INVALID : puzzle.getPackedWord());
+		writeCount(out, guesses, "guesses");
+		writeWords(out, savedGuesses);
+		for (int wins : pastWins) {
+			out.writeInt(wins);
+		}
+		out.writeInt(streak);
+		out.writeInt(longestStreak);
+		out.writeInt((int) totalGames);
+		out.writeInt((int) totalWins);
+		int earned = 0;
+		for (int i = 0; i < achievements.length; i++) {
+			if (achievements[i]) {
+				earned |= 1 << i;
+			}
+		}
+		out.writeShort(earned);
+		
+		ArrayList<String> strings = new ArrayList<>();
+		HashMap<String, Integer> positions = new HashMap<>();
+		ArrayList<String> all = new ArrayList<>(Arrays.asList(newAchievements));
+		for (ArrayList<String> row : saved) {
+			all.addAll(row);
+		}
+		if (keyboard != null) {
+			all.addAll(Arrays.asList(keyboard));
+		}
+		for (String value : all) {
+			if (positions.putIfAbsent(value, strings.size()) == null) {
+				strings.add(value);
+			}
+		}
+		writeCount(out, strings.size(), "different strings");
+		for (String value : strings) {
+			out.writeUTF(value);
+		}
+		writeStrings(out, newAchievements, positions);
+		writeCount(out, saved.size(), "saved rows");
+		for (ArrayList<String> row : saved) {
+			writeStrings(out, row.toArray(new String[0]), positions);
+		}
+		out.writeBoolean(keyboard != null);
+		if (keyboard != null) {
+			writeStrings(out, keyboard, positions);
+		}
+		
+		wordList.writeRecord(out);
+		out.writeLong(lastDailyDate == null ? Long.MIN_VALUE : lastDailyDate.toEpochDay());
+		writeWords(out, dailyGuesses);
+		out.writeByte(multiPuzzle == null ? 0 : multiPuzzle.getBoardCount());
+		if (multiPuzzle != null) {
+			for (int board = 0; board < multiPuzzle.getBoardCount(); board++) {
+				out.writeInt(multiPuzzle.getPackedWord(board));
+			}
+			writeCount(out, multiPuzzle.getGuessCount(), "multi-board guesses");
+			for (int row = 0; row < multiPuzzle.getGuessCount(); row++) {
+				out.writeInt(PackedWord.encode(multiPuzzle.getGuess(row)));
+			}
+		}
+	}
+	
+	/**
+	 * Reads an account written by writeRecord.
+	 * 
+	 * @param in DataInputStream to read from.
+	 * @param version Int representing the record format version, for telling
+	 * 		  older layouts apart once there are any.
+	 * @return PlayerAccount read from the record. It starts out clean.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	static PlayerAccount readRecord(DataInputStream in, int version) throws IOException {
+		String name = in.readUTF();
+		String pass = in.readUTF();
+		GameMode mode = GameMode.values()[in.readByte()];
+		boolean hard = in.readBoolean();
+		int word = in.readInt();
+		int made = in.readUnsignedByte();
+		int[] guessWords = readWords(in);
+		int[] wins = new int[6];
+		for (int i = 0; i < wins.length; i++) {
+			wins[i] = in.readInt();
+		}
+		int currentStreak = in.readInt();
+		int bestStreak = in.readInt();
+		int games = in.readInt();
+		int won = in.readInt();
+		int earned = in.readUnsignedShort();
+		
+		String[] strings = new String[in.readUnsignedByte()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+		String[] messages = readStrings(in, strings);
+		ArrayList<ArrayList<String>> grid = new ArrayList<>();
+		int rows = in.readUnsignedByte();
+		for (int i = 0; i < rows; i++) {
+			grid.add(new ArrayList<>(Arrays.asList(readStrings(in, strings))));
+		}
+		String[] keys = in.readBoolean() ? readStrings(in, strings) : null;
+		
+		PlayerAccount account = new PlayerAccount(name, pass, WordList.readRecord(in));
+		long day = in.readLong();
+		account.lastDailyDate = day == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(day);
+		account.dailyGuesses = readWords(in);
+		int boards = in.readUnsignedByte();
+		if (boards > 0) {
+			int[] answers = new int[boards];
+			for (int i = 0; i < boards; i++) {
+				answers[i] = in.readInt();
+			}
+			account.multiPuzzle = new MultiPuzzle(answers);
+			int rounds = in.readUnsignedByte();
+			for (int i = 0; i < rounds; i++) {
+				account.multiPuzzle.restore(in.readInt());
+			}
+		}
+		
+		account.gameMode = mode;
+		account.hardMode = hard;
+		account.puzzle = word == PackedWord.INVALID ? new AdversarialPuzzle() : new Puzzle(word);
+		account.guesses = made;
+		account.savedGuesses = guessWords;
+		for (int guess : guessWords) {
+			if (guess == PackedWord.INVALID) {
+				continue;
+			}
+			// scoring also narrows an adversarial puzzle down again
+			int pattern = word == PackedWord.INVALID ? account.puzzle.score(guess) 
+					: Feedback.score(guess, word);
+			if (pattern != -1) {
+				account.hardModeRules.update(guess, pattern);
+			}
+		}
+		account.pastWins = wins;
+		account.streak = currentStreak;
+		account.longestStreak = bestStreak;
+		account.totalGames = games;
+		account.totalWins = won;
+		for (int i = 0; i < account.achievements.length; i++) {
+			account.achievements[i] = (earned & (1 << i)) != 0;
+		}
+		account.newAchievements = messages;
+		account.saved = grid;
+		account.keyboard = keys;
+		account.dirty = false;
+		return account;
+	}
+	
+	
+	private static void writeCount(DataOutputStream out, int count, String what) throws IOException {
+		if (count > MAX_RECORD_COUNT) {
+			throw new IllegalStateException("An account record can hold at most " + MAX_RECORD_COUNT 
+					+ " " + what + ", not " + count);
+		}
+		out.writeByte(count);
+	}
+	
+	
+	private static void writeWords(DataOutputStream out, int[] words) throws IOException {
+		writeCount(out, words.length, "words in a list");
+		for (int word : words) {
+			out.writeInt(word);
+		}
+	}
+	
+	
+	private static int[] readWords(DataInputStream in) throws IOException {
+		int[] words = new int[in.readUnsignedByte()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = in.readInt();
+		}
+		return words;
+	}
+	
+	
+	private static void writeStrings(DataOutputStream out, String[] values, 
+			HashMap<String, Integer> positions) throws IOException {
+		writeCount(out, values.length, "strings in a list");
+		for (String value : values) {
+			out.writeByte(positions.get(value));
+		}
+	}
+	
+	
+	private static String[] readStrings(DataInputStream in, String[] strings) throws IOException {
+		String[] values = new String[in.readUnsignedByte()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = strings[in.readUnsignedByte()];
+		}
+		return values;
+	}
+	
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		puzzle = (Puzzle) fields.get("puzzle", null);
+		wordList = (WordList) fields.get("wordList", null);
+		if (wordList == null) {
+			// saved before players had their own list of used words
+			wordList = new WordList();
+		}
+		username = (String) fields.get("username", null);
+		password = (String) fields.get("password", null);
+		guesses = fields.get("guesses", 0);
+		pastWins = (int[]) fields.get("pastWins", null);
+		streak = fields.get("streak", 0);
+		longestStreak = fields.get("longestStreak", 0);
+		totalGames = fields.get("totalGames", 0.0);
+		totalWins = fields.get("totalWins", 0.0);
+		saved = copyRows(fields.get("saved", null));
+		keyboard = (String[]) fields.get("keyboard", null);
+		achievements = (boolean[]) fields.get("achievements", null);
+		newAchievements = (String[]) fields.get("newAchievements", null);
+		savedGuesses = (int[]) fields.get("savedGuesses", null);
+		if (savedGuesses == null) {
+			// saved before guesses were packed, so they were kept as Strings
+			ArrayList<?> oldGuesses = (ArrayList<?>) fields.get("oldGuesses", null);
+			savedGuesses = new int[oldGuesses.size()];
+			for (int i = 0; i < savedGuesses.length; i++) {
+				savedGuesses[i] = PackedWord.encode(((String) oldGuesses.get(i)).toLowerCase());
+			}
+		}
+		hardMode = fields.get("hardMode", false);
+		gameMode = (GameMode) fields.get("gameMode", GameMode.CLASSIC);
+		multiPuzzle = (MultiPuzzle) fields.get("multiPuzzle", null);
+		lastDailyDate = (LocalDate) fields.get("lastDailyDate", null);
+		dailyGuesses = (int[]) fields.get("dailyGuesses", new int[0]);
+		hardModeRules = (HardModeRules) fields.get("hardModeRules", null);
+		if (hardModeRules == null) {
+			// saved before hard mode, so work out the hints from the saved guesses
+			hardModeRules = new HardModeRules();
+			for (int guess : savedGuesses) {
+				if (guess != PackedWord.INVALID && puzzle != null) {
+					hardModeRules.update(guess, Feedback.score(guess, puzzle.getPackedWord()));
+				}
+			}
+		}
+	}
+	
+	
+	// copies the saved grid out of a serialized field, checking each String, 
+	// since the stream can't say what type the lists hold
+	private static ArrayList<ArrayList<String>> copyRows(Object field) {
+		if (field == null) {
+			return null;
+		}
+		ArrayList<ArrayList<String>> rows = new ArrayList<>();
+		for (Object row : (ArrayList<?>) field) {
+			ArrayList<String> copy = new ArrayList<>();
+			for (Object value : (ArrayList<?>) row) {
+				copy.add((String) value);
+			}
+			rows.add(copy);
+		}
+		return rows;
+	}
+	
+	
 	private void checkAllAchievements() {
 		for (int i = 0; i < 6; i++) {
 			newAchievements[i] = "";
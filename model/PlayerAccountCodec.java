@@ -0,0 +1,134 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads and writes a PlayerAccount in a compact binary record instead of Java
+ * serialization, which stored the whole Puzzle and WordList objects along with
+ * the class description of everything the account holds. A record stores the
+ * puzzle as its packed word, the game as packed guesses, the used words as a
+ * bitset and each distinct grid or keyboard color String only once, so a
+ * typical account takes a couple of hundred bytes.
+ *
+ * A record starts with a magic number and the format version. Records from an
+ * older version can still be read (PlayerAccount.readRecord is told the
+ * version), and a record from a newer version than this code knows about is
+ * refused instead of being read wrongly.
+ *
+ * The main method is a one-shot migrator: it reads the accounts from the
+ * legacy accounts.ser (plus the account journal) and writes each one to the
+ * account store (see AccountStore) in this format.
+ */
+public final class PlayerAccountCodec {
+	/**
+	 * Version of the record layout. Must be increased whenever the layout
+	 * changes.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 0x57504143; // "WPAC"
+
+	private PlayerAccountCodec() {
+	}
+
+	/**
+	 * Writes an account into a record.
+	 *
+	 * @param account PlayerAccount to be written.
+	 * @return byte array holding the record.
+	 */
+	public static byte[] encode(PlayerAccount account) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			write(account, out);
+		} catch (IOException err) {
+			// writing to a ByteArrayOutputStream never fails
+			throw new IllegalStateException(err);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Writes an account's record to a stream.
+	 *
+	 * @param account PlayerAccount to be written.
+	 * @param out     DataOutputStream to write the record to.
+	 * @throws IOException if the stream cannot be written.
+	 */
+	public static void write(PlayerAccount account, DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		account.writeRecord(out);
+	}
+
+	/**
+	 * Reads an account from a record written by encode.
+	 *
+	 * @param record byte array holding the record.
+	 * @return PlayerAccount read from the record. It starts out clean.
+	 * @throws IOException if the record is damaged or from a newer version.
+	 */
+	public static PlayerAccount decode(byte[] record) throws IOException {
+		return read(new DataInputStream(new ByteArrayInputStream(record)));
+	}
+
+	/**
+	 * Reads an account's record from a stream.
+	 *
+	 * @param in DataInputStream to read the record from.
+	 * @return PlayerAccount read from the record. It starts out clean.
+	 * @throws IOException if the record is damaged or from a newer version.
+	 */
+	public static PlayerAccount read(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a player account record");
+		}
+		int version = in.readUnsignedByte();
+		if (version > VERSION) {
+			throw new IOException("Player account record version " + version
+					+ " is newer than this program");
+		}
+		try {
+			return PlayerAccount.readRecord(in, version);
+		} catch (RuntimeException err) {
+			// such as a game mode or string position that is out of range
+			throw new IOException("Damaged player account record", err);
+		}
+	}
+
+	/**
+	 * Moves the accounts in accounts.ser into the account store. Does nothing
+	 * if the store has already been written.
+	 *
+	 * @param args not used.
+	 */
+	public static void main(String[] args) {
+		AccountStore store = new AccountStore(new File(AccountStore.DIRECTORY));
+		if (store.exists()) {
+			System.out.println("The accounts are already in " + AccountStore.DIRECTORY);
+			return;
+		}
+		File legacy = new File("accounts.ser");
+		WordleBackend backend = new WordleBackend();
+		// with no store yet this reads accounts.ser, and saving writes every
+		// account to the store
+		backend.readAccountsFile();
+		backend.writeAccountsFile();
+		backend.flushAccounts();
+		int count = new AccountStore(new File(AccountStore.DIRECTORY)).load().size();
+		long bytes = 0;
+		File[] records = new File(AccountStore.DIRECTORY).listFiles();
+		if (records != null) {
+			for (File record : records) {
+				bytes += record.length();
+			}
+		}
+		System.out.printf("Moved %d accounts from %s (%d bytes) to %s (%d bytes)%n", count,
+				legacy.getName(), legacy.length(), AccountStore.DIRECTORY, bytes);
+	}
+}
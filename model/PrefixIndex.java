@@ -0,0 +1,175 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Answers whether some typed letters are the start of any allowed word, so the
+ * game can point out a dead end while the player is still typing. The words
+ * are stored as a DAWG: a trie where identical branches (for example every
+ * word ending in "ight") are only stored once. Each node keeps a 26 bit mask of
+ * the letters that can follow it and where its children start in one shared
+ * array, so a check walks one node per letter and does not create any
+ * objects.
+ */
+public final class PrefixIndex {
+	private static volatile PrefixIndex shared;
+
+	private final Dictionary dictionary;
+	// for each node: bit i set if letter i can come next
+	private final int[] masks;
+	// for each node: where its children start in edges
+	private final int[] offsets;
+	// child nodes, in letter order for each node
+	private final int[] edges;
+	private final int root;
+
+	private PrefixIndex(Dictionary dictionary) {
+		this.dictionary = dictionary;
+		int[] words = dictionary.copyPackedWords();
+		Arrays.sort(words);
+		words = removeRepeats(words);
+
+		Builder builder = new Builder();
+		root = builder.node(words, 0, words.length, 0);
+		masks = toArray(builder.masks);
+		offsets = toArray(builder.offsets);
+		edges = toArray(builder.edges);
+	}
+
+	/**
+	 * Builds the index for a dictionary.
+	 *
+	 * @param dictionary Dictionary holding the words to be indexed.
+	 * @return PrefixIndex for the dictionary's words.
+	 */
+	public static PrefixIndex build(Dictionary dictionary) {
+		return new PrefixIndex(dictionary);
+	}
+
+	/**
+	 * Returns the index for the shared allowed guesses. The index is built the
+	 * first time it is needed and again after the dictionaries are reloaded.
+	 *
+	 * @return PrefixIndex for the words that can be guessed.
+	 */
+	public static PrefixIndex getShared() {
+		Dictionary allowed = Dictionary.getAllowedGuesses();
+		PrefixIndex index = shared;
+		if (index == null || index.dictionary != allowed) {
+			synchronized (PrefixIndex.class) {
+				index = shared;
+				if (index == null || index.dictionary != allowed) {
+					index = build(allowed);
+					shared = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Determines whether the given letters are the start of at least one word.
+	 * Upper and lowercase letters are treated the same, and an empty prefix is
+	 * always valid.
+	 *
+	 * @param prefix CharSequence holding the letters typed so far.
+	 * @return boolean representing whether any word starts with these letters.
+	 */
+	public boolean isValidPrefix(CharSequence prefix) {
+		int node = root;
+		for (int i = 0; i < prefix.length(); i++) {
+			int letter = Character.toLowerCase(prefix.charAt(i)) - 'a';
+			if (letter < 0 || letter >= 26) {
+				return false;
+			}
+			int bit = 1 << letter;
+			if ((masks[node] & bit) == 0) {
+				return false;
+			}
+			node = edges[offsets[node] + Integer.bitCount(masks[node] & (bit - 1))];
+		}
+		return true;
+	}
+
+	/**
+	 * Determines whether the given letters spell a whole word.
+	 *
+	 * @param word CharSequence holding the letters typed so far.
+	 * @return boolean representing whether the letters are a word.
+	 */
+	public boolean isWord(CharSequence word) {
+		return word.length() == PackedWord.LENGTH && isValidPrefix(word);
+	}
+
+	/**
+	 * Returns the number of nodes in the index, to see how much the shared
+	 * branches save. Mostly for testing purposes.
+	 *
+	 * @return integer representing the number of nodes.
+	 */
+	public int getNodeCount() {
+		return masks.length;
+	}
+
+	private static int[] removeRepeats(int[] sorted) {
+		int count = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (i == 0 || sorted[i] != sorted[i - 1]) {
+				sorted[count] = sorted[i];
+				count++;
+			}
+		}
+		return Arrays.copyOf(sorted, count);
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	// builds the nodes from the bottom up, reusing any node whose children are
+	// exactly the same as one that was already made
+	private static class Builder {
+		private final ArrayList<Integer> masks = new ArrayList<>();
+		private final ArrayList<Integer> offsets = new ArrayList<>();
+		private final ArrayList<Integer> edges = new ArrayList<>();
+		private final HashMap<List<Integer>, Integer> made = new HashMap<>();
+
+		// makes the node for words[from..to), which all share their first depth letters
+		private int node(int[] words, int from, int to, int depth) {
+			ArrayList<Integer> signature = new ArrayList<>();
+			int mask = 0;
+			if (depth < PackedWord.LENGTH) {
+				int start = from;
+				while (start < to) {
+					int letter = PackedWord.letterAt(words[start], depth);
+					int end = start;
+					while (end < to && PackedWord.letterAt(words[end], depth) == letter) {
+						end++;
+					}
+					mask |= 1 << letter;
+					signature.add(node(words, start, end, depth + 1));
+					start = end;
+				}
+			}
+			signature.add(mask);
+
+			Integer existing = made.get(signature);
+			if (existing != null) {
+				return existing;
+			}
+			int id = masks.size();
+			masks.add(mask);
+			offsets.add(edges.size());
+			edges.addAll(signature.subList(0, signature.size() - 1));
+			made.put(signature, id);
+			return id;
+		}
+	}
+}
@@ -1,12 +1,14 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * Puzzle class represents the word of the day. It also indicates the correctness
- * of a guess attempt by coding each letter with respective colors.  
+ * of a guess attempt by coding each letter with respective colors. The word is
+ * kept packed into an int (see PackedWord) and only turned back into a String
+ * when it is asked for.
  * 
  * @author Amelia Matheson
  * @since April 8, 2023
@@ -16,18 +18,34 @@ import java.util.HashMap;
 public class Puzzle implements Serializable{
 	private static final long serialVersionUID = 395048122194616710L;
 	
-	private LetterState correct = LetterState.GREEN;
-	private LetterState inWord = LetterState.YELLOW;
-	private LetterState incorrect = LetterState.GRAY;
-	private String word;
-	private WordList wordList = new WordList();
+	private int answer;
 	
 	
 	public Puzzle() {
-		word = setPuzzleWord();
+		answer = PackedWord.encode(setPuzzleWord());
 		
 	}
 	
+	/**
+	 * Creates a puzzle for the given word, such as one picked from a player's
+	 * own WordList
+	 * 
+	 * @param puzzleWord String representing the puzzle word
+	 */
+	public Puzzle(String puzzleWord) {
+		answer = PackedWord.encode(puzzleWord);
+	}
+	
+	
+	/**
+	 * Creates a puzzle for an already packed word
+	 * 
+	 * @param packedWord int representing the packed puzzle word
+	 */
+	protected Puzzle(int packedWord) {
+		answer = packedWord;
+	}
+	
 	
 	/**
 	 * Returns the puzzle word
@@ -35,7 +53,17 @@ public class Puzzle implements Serializable{
 	 * @return The puzzle word
 	 */
 	public String getWord() {
-		return word;
+		return PackedWord.decode(answer);
+	}
+	
+	
+	/**
+	 * Returns the puzzle word in its packed form
+	 * 
+	 * @return int representing the packed puzzle word
+	 */
+	public int getPackedWord() {
+		return answer;
 	}
 	
 	
@@ -44,63 +72,60 @@ public class Puzzle implements Serializable{
 	 * 
 	 * @param attempt The player's guess attempt at the puzzle word
 	 * 
-	 * @return An ArrayList of AssociationState objects
+	 * @return A shared, read-only GuessResult holding one AssociationState per
+	 * 		   letter, or null if the attempt is not a valid word
 	 */
-	public ArrayList<AssociationState> guess(String attempt) {
-		ArrayList<AssociationState> coding = new ArrayList<>();
-		HashMap<String, Integer> puzzCounts = new HashMap<>();
-		
-		char[] attempArr = attempt.toCharArray();
-		char[] correctArr = word.toCharArray();
-		
-		if (!wordList.contains(attempt)) {
+	public GuessResult guess(String attempt) {
+		int packedAttempt = PackedWord.encode(attempt);
+		int pattern = score(packedAttempt);
+		if (pattern == -1) {
 			return null;
 		}
-		
-		// get instance count of letters in puzzle word
-		for (int i = 0; i < correctArr.length; i++) {
-			String l = String.valueOf(correctArr[i]);
-			if (!puzzCounts.containsKey(l)) {
-				puzzCounts.put(l, 0);
-			}
-			puzzCounts.put(l, puzzCounts.get(l) + 1);
-		}
-		
-		// find correct letters first
-		for (int i = 0; i < attempArr.length; i++) {
-			String c = String.valueOf(attempArr[i]);
-			if (attempArr[i] == correctArr[i]) {
-				coding.add(new AssociationState(c, correct));
-				puzzCounts.put(c, puzzCounts.get(c) - 1);
-			}
-			else {
-				coding.add(new AssociationState("", incorrect));
-			}
+		return Feedback.toStates(packedAttempt, pattern);
+	}
+	
+	
+	/**
+	 * Checks a packed guess attempt against the puzzle word without building 
+	 * the color-coding, so nothing is created
+	 * 
+	 * @param packedAttempt int representing the player's packed guess attempt
+	 * 
+	 * @return int representing the pattern code (see Feedback), or -1 if the
+	 * 		   attempt is not a valid word
+	 */
+	public int score(int packedAttempt) {
+		// check the word and find the matrix with the same pair of dictionaries
+		Dictionary.Snapshot words = Dictionary.current();
+		if (!words.getAllowedGuesses().contains(packedAttempt)) {
+			return -1;
 		}
 		
-		// now find in-word and incorrect letters
-		for (int i = 0; i < attempArr.length; i++) {
-			String c = String.valueOf(attempArr[i]);
-			
-			if (coding.get(i).state != correct) {
-				if (word.contains(c) && puzzCounts.get(c) > 0) {
-					coding.get(i).letter = c;
-					coding.get(i).state = inWord;
-					puzzCounts.put(c, puzzCounts.get(c) - 1);
-				}
-				else {
-					coding.get(i).letter = c;
-					coding.get(i).state = incorrect;
-				}
+		// use the precomputed matrix when feedback.bin has been built
+		FeedbackMatrix matrix = FeedbackMatrix.getShared(words);
+		if (matrix != null) {
+			int pattern = matrix.score(packedAttempt, answer);
+			if (pattern != -1) {
+				return pattern;
 			}
 		}
-		
-		return coding;
+		return Feedback.score(packedAttempt, answer);
 	}
 	
 	
 	private String setPuzzleWord() {
-		return wordList.getPuzzleWord(-1);
+		// a WordList no longer reads the file itself, so this does no I/O
+		return new WordList().getPuzzleWord(-1);
+	}
+	
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		answer = fields.get("answer", PackedWord.INVALID);
+		if (answer == PackedWord.INVALID) {
+			// saved before words were packed, so the word was kept as a String
+			answer = PackedWord.encode((String) fields.get("word", null));
+		}
 	}
 	
 }
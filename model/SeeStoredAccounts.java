@@ -1,5 +1,6 @@
 package model;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -7,8 +8,8 @@ import java.io.ObjectInputStream;
 import java.util.HashMap;
 
 /**
- * Reads in all of the stored accounts in the serialized file and prints them
- * out so they can be easily accessed during development. For development/testing 
+ * Reads in all of the stored accounts in the serialized file (or in the account
+ * records, once the accounts have been saved that way) and prints them out so they can be easily accessed during development. For development/testing 
  * purposes only.
  * 
  * @author Adrianna Koppes
@@ -21,6 +22,11 @@ public class SeeStoredAccounts {
 	}
 	
 	private static void readAccounts() {
+		AccountStore store = new AccountStore(new File(AccountStore.DIRECTORY));
+		if (store.exists()) {
+			printAccounts(store.load());
+			return;
+		}
 		HashMap<String, PlayerAccount> accounts = new HashMap<>();
 		FileInputStream fromFile;
 		try {
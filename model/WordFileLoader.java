@@ -0,0 +1,138 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a word file (one word per line, like words.txt) straight into packed
+ * words. The file is memory-mapped and the lines are split on the raw bytes,
+ * skipping the carriage returns that files saved on Windows have, so no
+ * Strings are made along the way. Large files are cut into chunks at line
+ * breaks and the chunks are read in parallel. Lines that are not a five letter
+ * lowercase word (after trimming spaces) are skipped.
+ */
+public final class WordFileLoader {
+	// files smaller than this are read on one thread
+	private static final int CHUNK_SIZE = 1 << 20;
+
+	private WordFileLoader() {
+	}
+
+	/**
+	 * Reads every word in a file.
+	 *
+	 * @param file File holding one word per line.
+	 * @return int array holding the packed words in the order they appear in the
+	 *         file. Empty if the file does not exist or cannot be read.
+	 */
+	public static int[] load(File file) {
+		if (!file.isFile()) {
+			return new int[0];
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			long size = channel.size();
+			if (size == 0) {
+				return new int[0];
+			}
+			if (size > Integer.MAX_VALUE) {
+				System.out.println(file.getName() + " is too large to load");
+				return new int[0];
+			}
+			MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			int[] bounds = chunkBounds(bytes);
+			int[][] chunks = new int[bounds.length - 1][];
+			IntStream.range(0, chunks.length).parallel().forEach(i -> {
+				chunks[i] = parse(bytes, bounds[i], bounds[i + 1]);
+			});
+			return join(chunks);
+		} catch (IOException err) {
+			System.out.println("Couldn't read from " + file.getName());
+			return new int[0];
+		}
+	}
+
+	// splits the file into pieces of about CHUNK_SIZE bytes that each end just
+	// after a line break (or at the end of the file)
+	private static int[] chunkBounds(MappedByteBuffer bytes) {
+		int size = bytes.limit();
+		ArrayList<Integer> bounds = new ArrayList<>();
+		bounds.add(0);
+		int next = CHUNK_SIZE;
+		while (next < size) {
+			while (next < size && bytes.get(next - 1) != '\n') {
+				next++;
+			}
+			if (next < size) {
+				bounds.add(next);
+			}
+			next += CHUNK_SIZE;
+		}
+		bounds.add(size);
+		int[] result = new int[bounds.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bounds.get(i);
+		}
+		return result;
+	}
+
+	private static int[] parse(MappedByteBuffer bytes, int from, int to) {
+		// a word takes at least six bytes with its line break, which bounds the count
+		int[] words = new int[(to - from) / (PackedWord.LENGTH + 1) + 1];
+		int count = 0;
+		int lineStart = from;
+		for (int i = from; i <= to; i++) {
+			if (i == to || bytes.get(i) == '\n') {
+				int word = packLine(bytes, lineStart, i);
+				if (word != PackedWord.INVALID) {
+					words[count] = word;
+					count++;
+				}
+				lineStart = i + 1;
+			}
+		}
+		return Arrays.copyOf(words, count);
+	}
+
+	private static int packLine(MappedByteBuffer bytes, int start, int end) {
+		// trim spaces, tabs and the carriage return from both ends
+		while (start < end && bytes.get(start) <= ' ') {
+			start++;
+		}
+		while (end > start && bytes.get(end - 1) <= ' ') {
+			end--;
+		}
+		if (end - start != PackedWord.LENGTH) {
+			return PackedWord.INVALID;
+		}
+		int packed = 0;
+		for (int i = start; i < end; i++) {
+			int letter = bytes.get(i) - 'a';
+			if (letter < 0 || letter >= 26) {
+				return PackedWord.INVALID;
+			}
+			packed = PackedWord.addLetter(packed, letter);
+		}
+		return packed;
+	}
+
+	private static int[] join(int[][] chunks) {
+		int total = 0;
+		for (int[] chunk : chunks) {
+			total += chunk.length;
+		}
+		int[] words = new int[total];
+		int position = 0;
+		for (int[] chunk : chunks) {
+			System.arraycopy(chunk, 0, words, position, chunk.length);
+			position += chunk.length;
+		}
+		return words;
+	}
+}
@@ -1,80 +1,102 @@
 package model;
 
-import java.io.File;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.Random;
-import java.util.Scanner;
 
 /**
- * WordList stores the list of Wordle words for the run of the program. It gets
- * these words from a words.txt file that contains all of the words in Wordle.
- * Credit to Finn Kunkele for this file. The class also has some utilities
- * related to the list of words, such as checking if the word is in the list.
- * Serialization is needed, but should be implemented in the Puzzle class so
- * that the entire word list's state is saved.
+ * WordList keeps track of which Wordle words have been used for puzzles. The
+ * words themselves come from words.txt, which contains all of the words in
+ * Wordle (credit to Finn Kunkele for this file). The file is read once by the
+ * shared answer Dictionary, so a WordList only stores its own used words. The class
+ * also has some utilities related to the list of words, such as checking if
+ * the word is in the list.
+ * 
+ * Used words are stored as a bitset over the dictionary positions, so each
+ * player's history costs one bit per word. New puzzle words are picked from a
+ * pool of the unused positions: a random slot is taken and the last slot is
+ * moved into its place, so every pick takes the same time no matter how many
+ * words are used. Once every word has been used the history is cleared and a
+ * new round through the whole list begins.
  * 
  * @author Adrianna Koppes
  * @since April 7, 2023
  */
 public class WordList implements Serializable {
-	private ArrayList<String> allWords;
-	private HashSet<String> usedWords;
-	private static final String FILE_NAME = "words.txt";
+	// kept the same as before the word list was shared so that WordLists saved
+	// in accounts.ser can still be read in (their old word copies are skipped)
+	private static final long serialVersionUID = -7069417725663846610L;
+	private BitSet usedIndexes;
+	// fingerprint of the dictionary that usedIndexes refers to
+	private long dictionaryFingerprint;
+	// unused positions; rebuilt from usedIndexes when first needed
+	private transient int[] pool;
+	private transient int remaining;
 	
 	public WordList() {
-		usedWords = new HashSet<>();
-		allWords = new ArrayList<>();
-
-		Scanner reader;
-		File file = new File(FILE_NAME);
-		try {
-			reader = new Scanner(file);
-
-			while (reader.hasNext()) {
-				// each line of the file is one word
-				String word = reader.nextLine().trim();
-				if (!(word.equals(""))) {
-					// guard in case the Scanner picks up an empty line
-					allWords.add(word);
-				}
-			}
-
-			reader.close();
-		}
-		// should never be any errors, so just do nothing if they are reached
-		catch (Exception err) {
-		}
+		usedIndexes = new BitSet();
+		dictionaryFingerprint = Dictionary.getAnswers().getFingerprint();
 	}
 
 	/**
 	 * getPuzzleWord gets a word for the new Wordle puzzle, picking it from the
-	 * words that have not been used yet. The word is randomly chosen.
+	 * words that have not been used yet. The word is randomly chosen. If every
+	 * word has already been used, the used words are forgotten and the word is
+	 * picked from the whole list again.
 	 * 
 	 * @param seed Integer representing the seed for the random word generator.
 	 *             Used only during testing; should be -1 when not testing.
 	 * @return String representing the word that will now be the Wordle puzzle.
 	 */
 	public String getPuzzleWord(int seed) {
-		String choose = new String();
+		Dictionary allWords = Dictionary.getAnswers();
 		Random picker = new Random();
 		if (seed != -1) {
 			picker.setSeed(seed);
 		}
-		int rand;
-		boolean keepLooking = true;
-		do {
-			rand = picker.nextInt(allWords.size());
-			choose = allWords.get(rand);
+		
+		if (pool == null || dictionaryFingerprint != allWords.getFingerprint()) {
+			fillPool(allWords);
+		}
+		if (remaining == 0) {
+			// every word has been used, so start over with the full list
+			usedIndexes.clear();
+			fillPool(allWords);
+		}
 
-			if (!(usedWords.contains(choose))) {
-				keepLooking = false;
-			}
-		} while (keepLooking);
+		int rand = picker.nextInt(remaining);
+		int chosen = pool[rand];
+		remaining--;
+		pool[rand] = pool[remaining];
+		pool[remaining] = chosen;
 
-		usedWords.add(choose);
-		return choose;
+		usedIndexes.set(chosen);
+		return allWords.get(chosen);
+	}
+
+	/**
+	 * Marks a word as used without picking it, for puzzle words that were 
+	 * picked before (such as when the account journal is replayed).
+	 * 
+	 * @param packedWord integer representing the packed word. Words that are
+	 *                   not puzzle words are ignored.
+	 */
+	public void markUsed(int packedWord) {
+		Dictionary allWords = Dictionary.getAnswers();
+		int index = allWords.indexOf(packedWord);
+		if (index == -1) {
+			return;
+		}
+		if (dictionaryFingerprint != allWords.getFingerprint()) {
+			usedIndexes.clear();
+			dictionaryFingerprint = allWords.getFingerprint();
+		}
+		usedIndexes.set(index);
+		// the pool is made again from usedIndexes on the next pick
+		pool = null;
 	}
 
 	/**
@@ -85,7 +107,7 @@ public class WordList implements Serializable {
 	 *         dictionary. True if it is, false otherwise.
 	 */
 	public boolean contains(String word) {
-		return allWords.contains(word);
+		return Dictionary.getAllowedGuesses().contains(word);
 	}
 
 	/**
@@ -97,6 +119,74 @@ public class WordList implements Serializable {
 	 *         in a Wordle puzzle.
 	 */
 	public int getNumberOfUsedWords() {
-		return usedWords.size();
+		return usedIndexes.cardinality();
+	}
+	
+	
+	/**
+	 * Writes the used words for PlayerAccountCodec: the fingerprint of the
+	 * dictionary they belong to, then either the positions of the used words
+	 * (two bytes each) or the bits of usedIndexes, whichever is shorter.
+	 * 
+	 * @param out DataOutputStream to write to.
+	 * @throws IOException if the stream cannot be written.
+	 */
+	void writeRecord(DataOutputStream out) throws IOException {
+		out.writeLong(dictionaryFingerprint);
+		byte[] bits = usedIndexes.toByteArray();
+		int used = usedIndexes.cardinality();
+		if (used * 2 < bits.length && usedIndexes.length() <= 0xffff) {
+			out.writeBoolean(false);
+			out.writeShort(used);
+			for (int i = usedIndexes.nextSetBit(0); i >= 0; i = usedIndexes.nextSetBit(i + 1)) {
+				out.writeShort(i);
+			}
+		}
+		else {
+			out.writeBoolean(true);
+			out.writeInt(bits.length);
+			out.write(bits);
+		}
+	}
+	
+	/**
+	 * Reads a WordList written by writeRecord.
+	 * 
+	 * @param in DataInputStream to read from.
+	 * @return WordList with the same used words.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	static WordList readRecord(DataInputStream in) throws IOException {
+		WordList list = new WordList();
+		list.dictionaryFingerprint = in.readLong();
+		if (in.readBoolean()) {
+			byte[] bits = new byte[in.readInt()];
+			in.readFully(bits);
+			list.usedIndexes = BitSet.valueOf(bits);
+		}
+		else {
+			int used = in.readUnsignedShort();
+			for (int i = 0; i < used; i++) {
+				list.usedIndexes.set(in.readUnsignedShort());
+			}
+		}
+		return list;
+	}
+	
+	
+	private void fillPool(Dictionary allWords) {
+		if (dictionaryFingerprint != allWords.getFingerprint()) {
+			// the positions in usedIndexes belong to a different word list
+			usedIndexes.clear();
+			dictionaryFingerprint = allWords.getFingerprint();
+		}
+		pool = new int[allWords.size()];
+		remaining = 0;
+		for (int i = 0; i < allWords.size(); i++) {
+			if (!usedIndexes.get(i)) {
+				pool[remaining] = i;
+				remaining++;
+			}
+		}
 	}
 }
@@ -1,15 +1,21 @@
 package model;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 import javafx.scene.paint.Color;
 
 /**
@@ -22,10 +28,27 @@ import javafx.scene.paint.Color;
  * @since April 9, 2023
  */
 public class WordleBackend extends WordleObservable{
+	/**
+	 * Most players shown on the leaderboard.
+	 */
+	public static final int LEADERBOARD_SIZE = 100;
+	
 	private Puzzle puzzle;
+	private CandidateFilter candidates;
+	private HintEngine hints;
+	private CompletableFuture<Integer> pendingHint;
 	private PlayerAccount currPlayer;
+	// the accounts read in so far; once the account map is open, this only 
+	// holds the accounts in use and the ones with changes still to be saved
 	private HashMap<String, PlayerAccount> accountDictionary;
-	private ArrayList<PlayerAccount> leaderboard;
+	private ArrayList<LeaderboardEntry> leaderboard;
+	// null until the accounts have been read in
+	private AccountJournal journal;
+	private MappedAccountStore accountMap;
+	private AccountStore store;
+	private AccountWriter writer;
+	// journal sequence number of the last save this backend asked for
+	private long savedSequence;
 	private boolean gameOver;
 	private boolean won;
 	
@@ -34,6 +57,9 @@ public class WordleBackend extends WordleObservable{
 		currPlayer = null;
 		accountDictionary = new HashMap<String, PlayerAccount>();
 		leaderboard = new ArrayList<>();
+		hints = new HintEngine();
+		writer = AccountWriter.getShared();
+		store = writer.getStore();
 		gameOver = false;
 		won = false;
 		
@@ -49,13 +75,22 @@ public class WordleBackend extends WordleObservable{
 	 * @return boolean indicating whether or not player is successfully logged in
 	 */
 	public boolean login(String username, String password) {
-		// check if username is in the dictionary
-		if (accountDictionary.containsKey(username)) {
-			String pass = accountDictionary.get(username).getPassword();
+		// check the username and password in the account map before reading 
+		// the account in
+		if (accountMap != null && MappedAccountStore.fits(username)) {
+			int record = accountMap.find(username);
+			if (record == -1 || !accountMap.checkPassword(record, password)) {
+				return false;
+			}
+		}
+		PlayerAccount acc = findAccount(username);
+		if (acc != null) {
+			String pass = acc.getPassword();
 			if (password.equals(pass)) {
-				currPlayer = accountDictionary.get(username);
+				currPlayer = acc;
 				
 				puzzle = currPlayer.getPuzzle();
+				restoreCandidates();
 				notifyObservers(this);
 				return true;
 			}
@@ -75,17 +110,26 @@ public class WordleBackend extends WordleObservable{
 	 * 		   successfully created and new player logged in
 	 */
 	public boolean createAccount(String username, String password) {
-		if (accountDictionary.containsKey(username)) {			
+		if (accountDictionary.containsKey(username) 
+				|| (accountMap != null && !MappedAccountStore.fits(username)) 
+				|| (accountMap != null && accountMap.find(username) != -1)) {			
 			return false;
 		} 
 		else {
 			// create new account
 			PlayerAccount acc = new PlayerAccount(username, password);
 			accountDictionary.put(username, acc);
-			leaderboard.add(acc);
-			writeAccountsFile();
+			storeStats(acc);
+			rebuildLeaderboard();
+			if (journal == null) {
+				writeAccountsFile();
+			}
+			else {
+				record(log -> log.created(acc));
+			}
 			currPlayer = acc;
 			puzzle = currPlayer.getPuzzle();
+			restoreCandidates();
 			notifyObservers(this);
 			return true;
 		}
@@ -95,7 +139,9 @@ public class WordleBackend extends WordleObservable{
 	 * Logs player out
 	 */
 	public void logout() {
+		cancelHint();
 		currPlayer = null;
+		candidates = null;
 		notifyObservers(this);
 	}
 	
@@ -104,26 +150,47 @@ public class WordleBackend extends WordleObservable{
 	 * 
 	 * @param attempt String representing player's guess attempt at the puzzle word
 	 * 
-	 * @return An ArrayList of AssociationState objects representing user guess
+	 * @return A read-only List of AssociationState objects representing user 
+	 * 		   guess. It is shared, so it is not copied and must not be changed
 	 */
-	public ArrayList<AssociationState> processGuess(String attempt) {
+	public List<AssociationState> processGuess(String attempt) {
+		// a hint for the old state is no use once the guess is in
+		cancelHint();
 		if (canMakeGuess()) {
+			if (checkHardMode(attempt) != null) {
+				// a word, but it leaves out a hint, so it does not count
+				return List.of();
+			}
 			var result = puzzle.guess(attempt);
 			if (result != null) {  // attempt is valid
 				currPlayer.guessMade();
-				ArrayList<AssociationState> coding = new ArrayList<>(result);
+				String name = currPlayer.getUsername();
+				record(log -> log.guessMade(name, result.getPackedGuess()));
+				candidates.apply(result.getPackedGuess(), result.getPattern());
+				currPlayer.getHardModeRules().update(result.getPackedGuess(), result.getPattern());
 				
 				if (didWin(attempt)) {
+					boolean[] earned = currPlayer.getAchievements().clone();
 					currPlayer.gameWon();
+					record(log -> {
+						log.won(name);
+						boolean[] now = currPlayer.getAchievements();
+						for (int i = 0; i < now.length; i++) {
+							if (now[i] && !earned[i]) {
+								log.achievement(name, i);
+							}
+						}
+					});
 					gameOver = true;
 					won = true;
-					leaderboardChanged();
+					storeStats(currPlayer);
+					rebuildLeaderboard();
 					notifyObservers(this);
 				}
-				return coding;
+				return result;
 			}
 			// can make guess, but attempt was invalid
-			return new ArrayList<AssociationState>();
+			return List.of();
 			
 		}
 		// out of guesses
@@ -132,6 +199,225 @@ public class WordleBackend extends WordleObservable{
 		return null;
 	}
 	
+	/**
+	 * Starts a multi-board game for the current player, where each guess is 
+	 * scored against several puzzle words at once
+	 * 
+	 * @param boards int representing the number of boards, such as 4, 8 or 16
+	 */
+	public void startMultiBoardGame(int boards) {
+		currPlayer.newMultiBoardGame(boards, -1);
+		String name = currPlayer.getUsername();
+		MultiPuzzle game = currPlayer.getMultiPuzzle();
+		record(log -> log.multiGame(name, game));
+		notifyObservers(this);
+	}
+	
+	/**
+	 * Receives a guess for the current player's multi-board game and scores 
+	 * it against every board that is not solved yet
+	 * 
+	 * @param attempt String representing player's guess attempt
+	 * 
+	 * @return Array holding the GuessResult for each board (null for boards 
+	 * 		   already solved), or null if the attempt is not a valid word or 
+	 * 		   there is no multi-board game going
+	 */
+	public GuessResult[] processMultiGuess(String attempt) {
+		MultiPuzzle game = currPlayer.getMultiPuzzle();
+		if (game == null) {
+			return null;
+		}
+		GuessResult[] results = game.guess(attempt);
+		if (results != null) {
+			currPlayer.markDirty();
+			String name = currPlayer.getUsername();
+			int packed = PackedWord.encode(attempt);
+			record(log -> log.multiGuess(name, packed));
+			notifyObservers(this);
+		}
+		return results;
+	}
+	
+	/**
+	 * Returns the current player's multi-board game
+	 * 
+	 * @return MultiPuzzle representing the game, or null if there is none
+	 */
+	public MultiPuzzle getMultiPuzzle() {
+		return currPlayer.getMultiPuzzle();
+	}
+	
+	/**
+	 * Receives a guess for today's daily puzzle, which is the same for every 
+	 * player. When the player finishes, their result is added to the day's 
+	 * results
+	 * 
+	 * @param attempt String representing player's guess attempt
+	 * 
+	 * @return GuessResult holding the colors, or null if the attempt is not a 
+	 * 		   valid word or the player has already finished today's puzzle
+	 */
+	public GuessResult processDailyGuess(String attempt) {
+		DailyPuzzle daily = DailyPuzzle.getToday();
+		if (isDailyOver(daily)) {
+			return null;
+		}
+		GuessResult result = daily.guess(attempt);
+		if (result == null) {
+			return null;
+		}
+		currPlayer.addDailyGuess(daily.getDate(), result.getPackedGuess());
+		String name = currPlayer.getUsername();
+		record(log -> log.dailyGuess(name, daily.getDate(), result.getPackedGuess()));
+		boolean solved = result.getPattern() == Feedback.ALL_GREEN;
+		int made = currPlayer.getDailyGuesses(daily.getDate()).length;
+		if (solved || made >= PlayerAccount.MAX_GUESSES) {
+			daily.recordResult(made, solved);
+		}
+		notifyObservers(this);
+		return result;
+	}
+	
+	/**
+	 * Indicates whether the current player has finished today's daily puzzle
+	 * 
+	 * @return boolean indicating whether no more daily guesses can be made
+	 */
+	public boolean isDailyOver() {
+		return isDailyOver(DailyPuzzle.getToday());
+	}
+	
+	/**
+	 * Returns today's daily puzzle, with the results so far
+	 * 
+	 * @return DailyPuzzle for today
+	 */
+	public DailyPuzzle getDailyPuzzle() {
+		return DailyPuzzle.getToday();
+	}
+	
+	/**
+	 * Checks whether a guess uses every hint revealed so far, when the current
+	 * player is in hard mode
+	 * 
+	 * @param attempt String representing player's guess attempt at the puzzle word
+	 * 
+	 * @return String describing the hint the guess leaves out, or null if the 
+	 * 		   guess is allowed (always null when hard mode is off)
+	 */
+	public String checkHardMode(String attempt) {
+		if (!currPlayer.isHardMode()) {
+			return null;
+		}
+		int packed = PackedWord.encode(attempt.toLowerCase());
+		if (packed == PackedWord.INVALID) {
+			return null;
+		}
+		return currPlayer.getHardModeRules().check(packed);
+	}
+	
+	/**
+	 * Turns hard mode on or off for the current player
+	 * 
+	 * @param hardMode boolean indicating whether hard mode should be on
+	 */
+	public void setHardMode(boolean hardMode) {
+		currPlayer.setHardMode(hardMode);
+		String name = currPlayer.getUsername();
+		record(log -> log.hardMode(name, hardMode));
+		notifyObservers(this);
+	}
+	
+	/**
+	 * Switches the current player to another kind of game and starts a new 
+	 * game of that kind
+	 * 
+	 * @param mode GameMode representing the kind of game to play
+	 */
+	public void setGameMode(GameMode mode) {
+		currPlayer.setGameMode(mode);
+		String name = currPlayer.getUsername();
+		record(log -> log.gameMode(name, mode));
+		restart();
+	}
+	
+	/**
+	 * Indicates whether the current player is in hard mode
+	 * 
+	 * @return boolean indicating whether hard mode is on
+	 */
+	public boolean isHardMode() {
+		return currPlayer != null && currPlayer.isHardMode();
+	}
+	
+	/**
+	 * Checks whether the letters typed so far could still become a valid word,
+	 * without making a guess. This lets the view point out a dead end while the
+	 * player is typing.
+	 * 
+	 * @param prefix CharSequence holding the letters typed so far
+	 * 
+	 * @return boolean indicating whether any allowed word starts with the letters
+	 */
+	public boolean isValidPrefix(CharSequence prefix) {
+		return PrefixIndex.getShared().isValidPrefix(prefix);
+	}
+	
+	/**
+	 * Returns how many puzzle words are still possible after the guesses made
+	 * so far in the current game
+	 * 
+	 * @return int representing the number of remaining puzzle words
+	 */
+	public int getRemainingCount() {
+		return candidates.getCount();
+	}
+	
+	/**
+	 * Returns the puzzle words that are still possible after the guesses made
+	 * so far in the current game
+	 * 
+	 * @return ArrayList of Strings representing the remaining puzzle words
+	 */
+	public ArrayList<String> getRemainingWords() {
+		ArrayList<String> words = new ArrayList<>();
+		for (int word : candidates.getCandidates()) {
+			words.add(PackedWord.decode(word));
+		}
+		return words;
+	}
+	
+	/**
+	 * Starts working out the best next guess for the current game, based on
+	 * the words that are still possible. The work is done in the background, 
+	 * so this returns right away
+	 * 
+	 * @return CompletableFuture that completes with the suggested word, or 
+	 * 		   with null if no word is possible. It is cancelled if the player 
+	 * 		   keeps playing before it is done (see cancelHint)
+	 */
+	public CompletableFuture<String> requestHint() {
+		cancelHint();
+		pendingHint = hints.rank(candidates);
+		return pendingHint.thenApply((word) -> {
+			if (word == PackedWord.INVALID) {
+				return null;
+			}
+			return PackedWord.decode(word);
+		});
+	}
+	
+	/**
+	 * Stops working out a hint that was asked for but is no longer needed
+	 */
+	public void cancelHint() {
+		if (pendingHint != null) {
+			pendingHint.cancel(true);
+			pendingHint = null;
+		}
+	}
+	
 	/**
 	 * Returns current player
 	 * 
@@ -189,19 +475,24 @@ public class WordleBackend extends WordleObservable{
 	 */
 	public void restart() {
 		// For example, if player wants to play new game. Still logged in
+		cancelHint();
 		gameOver = false;
 		won = false;
 		currPlayer.newGame();
+		PlayerAccount player = currPlayer;
+		record(log -> log.newGame(player));
 		puzzle = currPlayer.getPuzzle();
+		restoreCandidates();
 		notifyObservers(this);
 	}
 	
 	/**
 	 * Provides access to the leaderboard ArrayList
 	 * 
-	 * @return ArrayList of PlayerAccounts representing the global leaderboard.
+	 * @return ArrayList of LeaderboardEntries representing the top 
+	 * 		   LEADERBOARD_SIZE players on the global leaderboard.
 	 */
-	public ArrayList<PlayerAccount> getLeaderboard() {
+	public ArrayList<LeaderboardEntry> getLeaderboard() {
 		return leaderboard;
 	}
 	
@@ -213,19 +504,55 @@ public class WordleBackend extends WordleObservable{
 	 * @return boolean indicating whether or not account was successfully removed
 	 */
 	public boolean removeAccount(String username) {
-		for (String name : accountDictionary.keySet()) {
-			if (name.equals(username)) {
-				accountDictionary.remove(name);
-				writeAccountsFile();
+		boolean found = accountDictionary.remove(username) != null;
+		if (accountMap != null && accountMap.remove(username)) {
+			found = true;
+		}
+		if (!found) {
+			return false;
+		}
+		writer.remove(username);
+		rebuildLeaderboard();
+		if (journal == null) {
+			writeAccountsFile();
+		}
+		else {
+			record(log -> log.removed(username));
+		}
+		return true;
+	}
+	
+	// replays the player's saved guesses so the remaining words match a game
+	// that was left part way through
+	private void restoreCandidates() {
+		candidates = new CandidateFilter();
+		int answer = puzzle.getPackedWord();
+		for (int guess : currPlayer.getPackedGuesses()) {
+			candidates.apply(guess, Feedback.score(guess, answer));
+		}
+	}
+	
+	
+	private boolean isDailyOver(DailyPuzzle daily) {
+		int[] made = currPlayer.getDailyGuesses(daily.getDate());
+		if (made.length >= PlayerAccount.MAX_GUESSES) {
+			return true;
+		}
+		for (int guess : made) {
+			if (guess == daily.getPackedWord()) {
 				return true;
 			}
 		}
 		return false;
 	}
 	
+	
 	private boolean canMakeGuess() {
 		if(currPlayer.exhaustedGuesses()) {
 			currPlayer.gameLost();
+			storeStats(currPlayer);
+			String name = currPlayer.getUsername();
+			record(log -> log.lost(name));
 			gameOver = true;
 			won = false;
 			notifyObservers(this);
@@ -235,83 +562,138 @@ public class WordleBackend extends WordleObservable{
 	}
 	
 	
-	private void leaderboardChanged() {
-		int index = leaderboard.indexOf(currPlayer) - 1;
-		
-		while((index >= 0) && (currPlayer.hasMoreWins(leaderboard.get(index)) 
-				|| currPlayer.hasEqualWins(leaderboard.get(index)))) {
-			double currAvg = currPlayer.getWeightedGuesses();
-			double otherAvg = leaderboard.get(index).getWeightedGuesses();
-			if(otherAvg <= currAvg) {
-				break;
-			}
-			
-			swapLeaderboard(index, index + 1);
-			
-			index--;
+	// adds a change to the journal, and writes a new snapshot once the 
+	// journal has grown long enough (unless one is still being written)
+	private void record(Consumer<AccountJournal> change) {
+		if (journal == null) {
+			return;
 		}
-		
-		if(index >= 0) {
-			leaderboard.set(index, currPlayer);
+		trimJournal();
+		change.accept(journal);
+		if (journal.needsCompaction() && writer.getWrittenSequence() >= savedSequence) {
+			writeAccountsFile();
 		}
 	}
 	
 	
-	private void restoreLeaderboard() {
-		for(String name : accountDictionary.keySet()) {
-			PlayerAccount acc = accountDictionary.get(name);
-			leaderboard.add(acc);
+	// empties the journal once the accounts are on the disk with every 
+	// change in it. Saves are written in the background, so this waits for 
+	// a save to finish with no changes made since it was asked for
+	private void trimJournal() {
+		if (journal == null || journal.getRecordCount() == 0 
+				|| writer.getWrittenSequence() < journal.getSequence()) {
+			return;
 		}
-		
-		// selection sort algorithm; can't use built in sort methods because
-		// Comparable/Comparator were never implemented on PlayerAccount.
-		for(int i = 0; i < leaderboard.size() - 1; i++) {
-			int maxWins = i;
-			for(int j = i + 1; j < leaderboard.size(); j++) {
-				if(leaderboard.get(j).hasMoreWins(leaderboard.get(maxWins))) {
-					maxWins = j;
-				}
-			}
-			
-			swapLeaderboard(maxWins, i);
+		try {
+			journal.reset();
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't empty the account journal");
 		}
-		
-		// tiebreaker: use weighted average of the guesses. Whoever has a smaller
-		// weighted average (ie fewer guesses needed to win) is higher on the board.
-		for(int i = 0; i < leaderboard.size() - 1; i++) {
-			if(leaderboard.get(i).hasEqualWins(leaderboard.get(i + 1))) {
-				double currAvg = leaderboard.get(i).getWeightedGuesses();
-				double nextAvg = leaderboard.get(i + 1).getWeightedGuesses();
-				
-				if(nextAvg < currAvg) {
-					swapLeaderboard(i, i + 1);
-				}
+	}
+	
+	
+	// returns an account that has been read in, reading it from the store 
+	// if the account map says it is there
+	private PlayerAccount findAccount(String username) {
+		PlayerAccount acc = accountDictionary.get(username);
+		if (acc == null && accountMap != null && accountMap.find(username) != -1) {
+			acc = writer.load(username);
+			if (acc != null) {
+				accountDictionary.put(username, acc);
 			}
 		}
+		return acc;
 	}
 	
 	
-	private void swapLeaderboard(int first, int second) {
-		PlayerAccount temp = leaderboard.get(first);
-		leaderboard.set(first, leaderboard.get(second));
-		leaderboard.set(second, temp);
+	// copies an account's numbers into the account map, so the leaderboard 
+	// and logging in see them
+	private void storeStats(PlayerAccount acc) {
+		if (accountMap == null || !MappedAccountStore.fits(acc.getUsername())) {
+			return;
+		}
+		try {
+			accountMap.put(acc);
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't write to the account map");
+		}
+	}
+	
+	
+	// the account map reads the players at the top straight from its 
+	// records. Without it (the accounts have not been read in), the accounts 
+	// in memory are sorted instead
+	private void rebuildLeaderboard() {
+		if (accountMap != null) {
+			leaderboard = accountMap.top(LEADERBOARD_SIZE);
+			// accounts whose usernames are too long for the map
+			for (PlayerAccount acc : accountDictionary.values()) {
+				if (!MappedAccountStore.fits(acc.getUsername())) {
+					leaderboard.add(LeaderboardEntry.of(acc));
+				}
+			}
+		}
+		else {
+			leaderboard = new ArrayList<>();
+			for (PlayerAccount acc : accountDictionary.values()) {
+				leaderboard.add(LeaderboardEntry.of(acc));
+			}
+		}
+		Collections.sort(leaderboard);
+		while (leaderboard.size() > LEADERBOARD_SIZE) {
+			leaderboard.remove(leaderboard.size() - 1);
+		}
 	}
 	
 	
 	/**
-	 * Reads in accounts from "accounts.ser" file
+	 * Reads in the stored accounts (see AccountStore), then replays the 
+	 * changes made since they were stored from the account journal (see 
+	 * AccountJournal). If the accounts have never been stored that way, they 
+	 * are read from the older "accounts.ser" file instead and all of them are 
+	 * written to the store on the next save.
+	 * 
+	 * The numbers that logging in and the leaderboard need are kept in the 
+	 * account map (see MappedAccountStore), so once the accounts are in the 
+	 * store only the accounts the journal changed are read in here; the rest 
+	 * are read when their player logs in
 	 */
 	public void readAccountsFile() {
+		// make sure every save is in the store before reading it
+		writer.flush();
+		accountDictionary = new HashMap<String, PlayerAccount>();
+		openAccountMap();
+		if (store.exists()) {
+			if (accountMap == null) {
+				accountDictionary = store.load();
+				long last = 0;
+				for (String name : accountDictionary.keySet()) {
+					last = Math.max(last, store.getSequence(name));
+				}
+				openJournal(last, store::getSequence);
+			}
+			else {
+				openJournal(accountMap.getSequence(), store::getSequence);
+			}
+			return;
+		}
 		FileInputStream fromFile;
+		// the last journal record already in accounts.ser
+		long snapshotSequence = 0;
 		try {
 			fromFile = new FileInputStream("accounts.ser");
 			ObjectInputStream inFile = new ObjectInputStream(fromFile);
 			accountDictionary = (HashMap<String, PlayerAccount>) inFile.readObject();
+			try {
+				snapshotSequence = inFile.readLong();
+			} catch (EOFException err) {
+				// written before there was a journal
+			}
 			
 			inFile.close();
 			fromFile.close();
-			
-			restoreLeaderboard();
 		} catch (FileNotFoundException err) {
 			System.out.println("Input file not found");
 		} catch (IOException err) {
@@ -320,27 +702,117 @@ public class WordleBackend extends WordleObservable{
 		} catch (ClassNotFoundException err) {
 			System.out.println("Incorrect cast");
 		}
+		
+		// none of these are in the store yet
+		if (accountMap != null) {
+			accountMap.clear();
+		}
+		for (PlayerAccount acc : accountDictionary.values()) {
+			acc.markDirty();
+			storeStats(acc);
+		}
+		long sequence = snapshotSequence;
+		openJournal(sequence, name -> sequence);
 	}
 	
 	
 	/**
-	 * Writes accounts to "accounts.ser" file 
+	 * Saves the accounts. Only the accounts that changed since they were last 
+	 * saved are written, each to its own record (see AccountStore). The 
+	 * records are written on a background thread (see AccountWriter), so 
+	 * this returns right away; once they are written, the account journal 
+	 * is emptied, since every change in it is now stored. The accounts no 
+	 * one is using are let go of, since the account map has what the 
+	 * leaderboard needs from them.
 	 */
 	public void writeAccountsFile() {
-		FileOutputStream output;
+		trimJournal();
+		long sequence = journal == null ? 0 : journal.getSequence();
+		for (PlayerAccount acc : accountDictionary.values()) {
+			if (acc.isDirty()) {
+				storeStats(acc);
+			}
+		}
+		MappedAccountStore map = accountMap;
+		writer.save(accountDictionary.values(), sequence, map == null ? null : map::force);
+		savedSequence = sequence;
+		if (accountMap != null) {
+			accountMap.setSequence(sequence);
+			accountDictionary.values().removeIf(acc -> acc != currPlayer && !acc.isDirty() 
+					&& accountMap.find(acc.getUsername()) != -1);
+		}
+	}
+	
+	
+	/**
+	 * Waits until every save asked for so far is on the disk, then empties 
+	 * the account journal. The program does this on its own when it shuts 
+	 * down, so this is only needed to read the store right after a save
+	 * 
+	 * @return boolean indicating whether every save was written
+	 */
+	public boolean flushAccounts() {
+		boolean written = writer.flush();
+		trimJournal();
+		return written;
+	}
+	
+	
+	// maps the account map, filling it from the store the first time 
+	private void openAccountMap() {
+		if (accountMap != null) {
+			return;
+		}
 		try {
-			output = new FileOutputStream("accounts.ser");
-			ObjectOutputStream outFile = new ObjectOutputStream(output);
-			outFile.writeObject(accountDictionary);
-
-			outFile.close();
-			output.close();
-		} catch (FileNotFoundException err) {
-			System.out.println("Output file not found");
+			accountMap = new MappedAccountStore(new File(MappedAccountStore.FILE_NAME), 
+					new File(MappedAccountStore.INDEX_FILE_NAME));
+			if (accountMap.getSize() == 0 && store.exists()) {
+				long[] last = {0};
+				store.forEach((acc, sequence) -> {
+					storeStats(acc);
+					last[0] = Math.max(last[0], sequence);
+				});
+				accountMap.setSequence(last[0]);
+				accountMap.force();
+			}
+		} catch (IOException err) {
+			err.printStackTrace();
+			System.out.println("Couldn't read from the account map");
+			accountMap = null;
+		}
+	}
+	
+	
+	// opens the account journal and replays it on top of the accounts that 
+	// were just read in, reading in any other account it changes first
+	private void openJournal(long last, ToLongFunction<String> storedSequence) {
+		try {
+			if (journal != null) {
+				journal.close();
+			}
+			journal = new AccountJournal(new File(AccountJournal.FILE_NAME));
+			Set<String> changed = journal.getUsernames();
+			if (accountMap != null) {
+				for (String name : changed) {
+					findAccount(name);
+				}
+			}
+			journal.replay(accountDictionary, last, storedSequence);
+			for (String name : changed) {
+				PlayerAccount acc = accountDictionary.get(name);
+				if (acc != null) {
+					storeStats(acc);
+				}
+				else if (accountMap != null) {
+					accountMap.remove(name);
+				}
+			}
 		} catch (IOException err) {
 			err.printStackTrace();
-			System.out.println("Couldn't write to file");
+			System.out.println("Couldn't read from the account journal");
+			journal = null;
 		}
+		rebuildLeaderboard();
 	}
 	
 }
@@ -0,0 +1,21 @@
+package simulation;
+
+import java.util.Random;
+
+import model.CandidateFilter;
+import model.HintEngine;
+
+/**
+ * Always guesses what the hint engine suggests: the guess that tells the most
+ * about the words that are still possible. Ranking runs on the common
+ * fork-join pool, and the first two guesses come from opening.bin when it has
+ * been built, so games are much slower without it.
+ */
+public class EntropyStrategy implements GuessStrategy {
+	private final HintEngine engine = new HintEngine();
+
+	@Override
+	public int nextGuess(CandidateFilter filter, Random random) {
+		return engine.rank(filter).join();
+	}
+}
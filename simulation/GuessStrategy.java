@@ -0,0 +1,23 @@
+package simulation;
+
+import java.util.Random;
+
+import model.CandidateFilter;
+
+/**
+ * A way of picking guesses for the Simulator. The simulator gives each thread
+ * its own strategy, so a strategy does not have to be thread safe.
+ */
+public interface GuessStrategy {
+
+	/**
+	 * Picks the next guess for a game.
+	 *
+	 * @param filter CandidateFilter holding the guesses made so far in the game
+	 *               and the puzzle words that are still possible.
+	 * @param random Random belonging to the thread playing the game; using only
+	 *               this for random choices keeps a simulation repeatable.
+	 * @return int representing the packed guess, which must be an allowed guess.
+	 */
+	int nextGuess(CandidateFilter filter, Random random);
+}
@@ -0,0 +1,19 @@
+package simulation;
+
+import java.util.Random;
+
+import model.CandidateFilter;
+
+/**
+ * Guesses one of the words that are still possible, picked at random. This is
+ * roughly how a careful human plays, and it is cheap, so it is the default for
+ * measuring how fast the engine itself is.
+ */
+public class RandomCandidateStrategy implements GuessStrategy {
+
+	@Override
+	public int nextGuess(CandidateFilter filter, Random random) {
+		int[] candidates = filter.getCandidates();
+		return candidates[random.nextInt(candidates.length)];
+	}
+}
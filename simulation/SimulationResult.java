@@ -0,0 +1,93 @@
+package simulation;
+
+/**
+ * The totals from one run of the Simulator.
+ */
+public class SimulationResult {
+	private final int[] distribution;
+	private final long elapsedNanos;
+	private final long allocatedBytes;
+
+	/**
+	 * Creates the result of a run.
+	 *
+	 * @param distribution   int array where entry i is the number of games won in
+	 *                       i + 1 guesses, and the last entry is the number lost.
+	 * @param elapsedNanos   long representing how long the run took.
+	 * @param allocatedBytes long representing the bytes allocated by the threads
+	 *                       that played the games, or -1 if the JVM cannot tell.
+	 */
+	public SimulationResult(int[] distribution, long elapsedNanos, long allocatedBytes) {
+		this.distribution = distribution;
+		this.elapsedNanos = elapsedNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * Returns how many games were won in each number of guesses.
+	 *
+	 * @return int array where entry i is the number of games won in i + 1
+	 *         guesses, and the last entry is the number of games lost.
+	 */
+	public int[] getDistribution() {
+		return distribution.clone();
+	}
+
+	/**
+	 * Returns the number of games played.
+	 *
+	 * @return long representing the number of games.
+	 */
+	public long getGames() {
+		long games = 0;
+		for (int count : distribution) {
+			games += count;
+		}
+		return games;
+	}
+
+	/**
+	 * Returns how many games were played per second.
+	 *
+	 * @return double representing the throughput of the run.
+	 */
+	public double getGamesPerSecond() {
+		return getGames() / (elapsedNanos / 1e9);
+	}
+
+	/**
+	 * Returns the average number of guesses in the games that were won.
+	 *
+	 * @return double representing the average guesses per win.
+	 */
+	public double getAverageGuesses() {
+		long wins = 0;
+		long guesses = 0;
+		for (int i = 0; i < distribution.length - 1; i++) {
+			wins += distribution[i];
+			guesses += (long) distribution[i] * (i + 1);
+		}
+		return wins == 0 ? 0 : guesses / (double) wins;
+	}
+
+	/**
+	 * Returns how long the run took.
+	 *
+	 * @return long representing the elapsed time in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the bytes allocated by the threads that played the games. Work
+	 * done for them on other threads (such as hint ranking on the fork-join
+	 * pool) is not counted.
+	 *
+	 * @return long representing the allocated bytes, or -1 if the JVM cannot
+	 *         measure them.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+}
@@ -0,0 +1,181 @@
+package simulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import model.CandidateFilter;
+import model.Feedback;
+import model.PlayerAccount;
+import model.Puzzle;
+
+/**
+ * Plays a large number of games without the GUI to measure how fast the game
+ * engine is and how well a guessing strategy does. Each thread has its own
+ * PlayerAccount, which picks the puzzle words and keeps the statistics exactly
+ * as in a real game, and its own strategy and Random. The Random for thread t
+ * is seeded from the run's seed and t, so the same seed, thread count and game
+ * count always play the same games.
+ *
+ * Run the main method with the number of games, the number of threads, the
+ * strategy ("random" or "entropy") and the seed, all optional. It prints the
+ * games per second, how many games were won in each number of guesses, and
+ * how much memory the game threads allocated.
+ */
+public class Simulator {
+	private final Supplier<GuessStrategy> strategies;
+	private final int threads;
+	private final long seed;
+
+	/**
+	 * Creates a simulator.
+	 *
+	 * @param strategies Supplier that makes a new strategy for each thread.
+	 * @param threads    integer representing how many threads play games.
+	 * @param seed       long representing the seed for the whole run.
+	 */
+	public Simulator(Supplier<GuessStrategy> strategies, int threads, long seed) {
+		this.strategies = strategies;
+		this.threads = threads;
+		this.seed = seed;
+	}
+
+	/**
+	 * Plays the given number of games, split evenly between the threads.
+	 *
+	 * @param games integer representing how many games to play.
+	 * @return SimulationResult holding the totals for the run.
+	 */
+	public SimulationResult run(int games) {
+		com.sun.management.ThreadMXBean bean = allocationBean();
+		int[][] distributions = new int[threads][PlayerAccount.MAX_GUESSES + 1];
+		long[] allocated = new long[threads];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			// the first threads take one extra game each when it does not divide evenly
+			int count = games / threads + (t < games % threads ? 1 : 0);
+			workers[t] = new Thread(() -> {
+				long before = bean == null ? 0 : bean.getCurrentThreadAllocatedBytes();
+				play(thread, count, distributions[thread]);
+				if (bean != null) {
+					allocated[thread] = bean.getCurrentThreadAllocatedBytes() - before;
+				}
+			}, "simulator-" + t);
+		}
+
+		long start = System.nanoTime();
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException err) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		int[] distribution = new int[PlayerAccount.MAX_GUESSES + 1];
+		long bytes = bean == null ? -1 : 0;
+		for (int t = 0; t < threads; t++) {
+			for (int i = 0; i < distribution.length; i++) {
+				distribution[i] += distributions[t][i];
+			}
+			if (bean != null) {
+				bytes += allocated[t];
+			}
+		}
+		return new SimulationResult(distribution, elapsed, bytes);
+	}
+
+	private void play(int thread, int games, int[] distribution) {
+		Random random = new Random(seed * 31 + thread);
+		GuessStrategy strategy = strategies.get();
+		// an unseeded first pick would change which words are left for the rest
+		PlayerAccount account = new PlayerAccount("simulator-" + thread, "", random.nextInt(Integer.MAX_VALUE));
+		CandidateFilter filter = new CandidateFilter();
+		for (int game = 0; game < games; game++) {
+			// -1 would mean an unseeded pick, so keep the seed positive
+			account.newGame(random.nextInt(Integer.MAX_VALUE));
+			Puzzle puzzle = account.getPuzzle();
+			filter.reset();
+			while (true) {
+				int guess = strategy.nextGuess(filter, random);
+				int pattern = puzzle.score(guess);
+				if (pattern == -1) {
+					throw new IllegalStateException("strategy guessed a word that is not allowed");
+				}
+				account.guessMade();
+				filter.apply(guess, pattern);
+				if (pattern == Feedback.ALL_GREEN) {
+					distribution[account.getGuesses() - 1]++;
+					account.gameWon();
+					break;
+				}
+				if (account.exhaustedGuesses()) {
+					distribution[PlayerAccount.MAX_GUESSES]++;
+					account.gameLost();
+					break;
+				}
+			}
+		}
+	}
+
+	// the HotSpot bean can report allocations per thread; other JVMs may not
+	private static com.sun.management.ThreadMXBean allocationBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean bean =
+					(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if (bean.isThreadAllocatedMemorySupported()) {
+				bean.setThreadAllocatedMemoryEnabled(true);
+				return bean;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Runs a simulation and prints the results.
+	 *
+	 * @param args optionally: number of games (100000), number of threads (one
+	 *             per core), strategy, "random" or "entropy" (random), and seed
+	 *             (42).
+	 */
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		String name = args.length > 2 ? args[2] : "random";
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+		Supplier<GuessStrategy> strategies;
+		if (name.equals("entropy")) {
+			strategies = EntropyStrategy::new;
+		} else if (name.equals("random")) {
+			strategies = RandomCandidateStrategy::new;
+		} else {
+			System.out.println("Unknown strategy " + name + ", use random or entropy");
+			return;
+		}
+
+		SimulationResult result = new Simulator(strategies, threads, seed).run(games);
+		System.out.printf("%d games with the %s strategy on %d threads in %d ms%n", result.getGames(),
+				name, threads, result.getElapsedNanos() / 1000000);
+		System.out.printf("%.0f games/sec, %.3f average guesses per win%n", result.getGamesPerSecond(),
+				result.getAverageGuesses());
+		int[] distribution = result.getDistribution();
+		for (int i = 0; i < distribution.length; i++) {
+			String label = i < PlayerAccount.MAX_GUESSES ? String.valueOf(i + 1) : "lost";
+			System.out.printf("%5s: %d (%.2f%%)%n", label, distribution[i],
+					100.0 * distribution[i] / result.getGames());
+		}
+		if (result.getAllocatedBytes() >= 0) {
+			double seconds = result.getElapsedNanos() / 1e9;
+			System.out.printf("allocated %.1f MB/sec, %.0f bytes/game (game threads only)%n",
+					result.getAllocatedBytes() / seconds / 1e6,
+					result.getAllocatedBytes() / (double) result.getGames());
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+import model.AccountJournal;
+import model.MultiPuzzle;
+import model.PackedWord;
+import model.PlayerAccount;
+
+/**
+ * Tests for AccountJournal, which replays account changes on top of a 
+ * snapshot.
+ */
+class AccountJournalTest {
+
+	private static File tempJournal() throws IOException {
+		File file = Files.createTempFile("accounts", ".journal").toFile();
+		file.deleteOnExit();
+		return file;
+	}
+
+	@Test
+	void replayTest() throws IOException {
+		File file = tempJournal();
+		PlayerAccount player = new PlayerAccount("journal", "pw", 11);
+		int word = player.getPuzzle().getPackedWord();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			journal.created(player);
+			journal.guessMade("journal", PackedWord.encode("crane"));
+			journal.guessMade("journal", word);
+			journal.won("journal");
+			journal.achievement("journal", 0);
+			journal.hardMode("journal", true);
+			journal.created(new PlayerAccount("gone", "pw"));
+			journal.removed("gone");
+			assertEquals(8, journal.getRecordCount());
+			assertEquals(8, journal.getSequence());
+		}
+		
+		HashMap<String, PlayerAccount> accounts = new HashMap<>();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			assertEquals(8, journal.replay(accounts, 0));
+			assertEquals(8, journal.getSequence());
+		}
+		assertEquals(1, accounts.size());
+		PlayerAccount replayed = accounts.get("journal");
+		assertEquals("pw", replayed.getPassword());
+		assertEquals(1, replayed.getPastWins()[1]);
+		assertEquals(1, replayed.getStreak());
+		assertTrue(replayed.getAchievements()[0]);
+		assertTrue(replayed.isHardMode());
+	}
+
+	@Test
+	void snapshotTest() throws IOException {
+		File file = tempJournal();
+		PlayerAccount player = new PlayerAccount("snap", "pw", 3);
+		try (AccountJournal journal = new AccountJournal(file)) {
+			journal.created(player);
+			journal.lost("snap");
+			journal.newGame(player);
+		}
+		
+		// the first two records are already in the snapshot
+		HashMap<String, PlayerAccount> accounts = new HashMap<>();
+		accounts.put("snap", new PlayerAccount("snap", "pw", 4));
+		try (AccountJournal journal = new AccountJournal(file)) {
+			assertEquals(1, journal.replay(accounts, 2));
+			// new records keep counting up after a reset
+			journal.reset();
+			assertEquals(0, journal.getRecordCount());
+			journal.lost("snap");
+			assertEquals(4, journal.getSequence());
+		}
+		assertEquals(player.getPuzzle().getWord(), accounts.get("snap").getPuzzle().getWord());
+		assertEquals(0, accounts.get("snap").getTotalGames());
+	}
+
+	@Test
+	void multiDailyTest() throws IOException {
+		File file = tempJournal();
+		PlayerAccount player = new PlayerAccount("modes", "pw", 5);
+		player.newMultiBoardGame(4, 5);
+		MultiPuzzle game = player.getMultiPuzzle();
+		LocalDate day = LocalDate.of(2026, 10, 18);
+		try (AccountJournal journal = new AccountJournal(file)) {
+			journal.created(player);
+			journal.multiGame("modes", game);
+			journal.multiGuess("modes", PackedWord.encode("crane"));
+			journal.multiGuess("modes", game.getPackedWord(2));
+			journal.dailyGuess("modes", day, PackedWord.encode("pilot"));
+		}
+
+		HashMap<String, PlayerAccount> accounts = new HashMap<>();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			assertEquals(5, journal.replay(accounts, 0));
+		}
+		MultiPuzzle replayed = accounts.get("modes").getMultiPuzzle();
+		assertEquals(4, replayed.getBoardCount());
+		for (int board = 0; board < 4; board++) {
+			assertEquals(game.getWord(board), replayed.getWord(board));
+		}
+		assertEquals(2, replayed.getGuessCount());
+		assertEquals("crane", replayed.getGuess(0));
+		assertTrue(replayed.isSolved(2));
+		assertArrayEquals(new int[] {PackedWord.encode("pilot")}, accounts.get("modes").getDailyGuesses(day));
+	}
+
+	@Test
+	void backgroundSyncTest() throws IOException, InterruptedException {
+		File file = tempJournal();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			journal.created(new PlayerAccount("sync", "pw"));
+			// a record is appended without waiting for the disk
+			assertEquals(0, journal.getSyncCount());
+			// enough records wake the sync thread before SYNC_MILLIS is up
+			for (int i = 1; i < AccountJournal.SYNC_RECORDS; i++) {
+				journal.guessMade("sync", PackedWord.encode("crane"));
+			}
+			long deadline = System.currentTimeMillis() + AccountJournal.SYNC_MILLIS * 5;
+			while (journal.getSyncCount() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertTrue(journal.getSyncCount() > 0);
+		}
+	}
+
+	@Test
+	void tornRecordTest() throws IOException {
+		File file = tempJournal();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			journal.created(new PlayerAccount("torn", "pw"));
+			journal.guessMade("torn", PackedWord.encode("crane"));
+		}
+		// cut the last record short, as a crash part way through a write would
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 2);
+		}
+		
+		HashMap<String, PlayerAccount> accounts = new HashMap<>();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			assertEquals(1, journal.replay(accounts, 0));
+			journal.guessMade("torn", PackedWord.encode("pilot"));
+		}
+		accounts.clear();
+		try (AccountJournal journal = new AccountJournal(file)) {
+			assertEquals(2, journal.replay(accounts, 0));
+		}
+		assertArrayEquals(new int[] {PackedWord.encode("pilot")}, accounts.get("torn").getPackedGuesses());
+	}
+}
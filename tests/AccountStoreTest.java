@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.AccountStore;
+import model.PlayerAccount;
+
+/**
+ * Tests for AccountStore and the dirty tracking in PlayerAccount.
+ */
+class AccountStoreTest {
+
+	@Test
+	void dirtyTest() {
+		PlayerAccount player = new PlayerAccount("dirty", "pw", 1);
+		assertTrue(player.isDirty());
+		player.markClean();
+		player.getPuzzle();
+		player.getPastWins();
+		player.getNewAchievements();
+		assertFalse(player.isDirty());
+		player.guessMade();
+		assertTrue(player.isDirty());
+		player.markClean();
+		player.saveKeyboard(new String[0]);
+		assertTrue(player.isDirty());
+	}
+
+	@Test
+	void flushTest() throws IOException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		directory.deleteOnExit();
+		AccountStore store = new AccountStore(directory);
+		PlayerAccount first = new PlayerAccount("first", "pw", 1);
+		PlayerAccount second = new PlayerAccount("second/..:?", "pw", 2);
+		List<PlayerAccount> accounts = List.of(first, second);
+		
+		assertEquals(2, store.flush(accounts, 5));
+		assertFalse(first.isDirty());
+		// nothing changed, so nothing is written
+		assertEquals(0, store.flush(accounts, 6));
+		long written = store.getBytesWritten();
+		
+		second.guessMade();
+		assertEquals(1, store.flush(accounts, 7));
+		assertEquals(AccountStore.toRecord(second, 7).length, store.getBytesWritten() - written);
+		assertEquals(3, store.getRecordsWritten());
+		
+		AccountStore reopened = new AccountStore(directory);
+		HashMap<String, PlayerAccount> loaded = reopened.load();
+		assertEquals(2, loaded.size());
+		assertEquals(1, loaded.get("second/..:?").getGuesses());
+		assertFalse(loaded.get("first").isDirty());
+		assertEquals(5, reopened.getSequence("first"));
+		assertEquals(7, reopened.getSequence("second/..:?"));
+		assertEquals(0, reopened.getSequence("nobody"));
+		
+		reopened.remove("first");
+		assertEquals(1, new AccountStore(directory).load().size());
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+	}
+
+	@Test
+	void longNameTest() throws IOException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		directory.deleteOnExit();
+		AccountStore store = new AccountStore(directory);
+		// spelled out in hex, each of these would need 600 characters
+		String first = "a".repeat(299) + "1";
+		String second = "a".repeat(299) + "2";
+		store.flush(List.of(new PlayerAccount(first, "one", 1), new PlayerAccount(second, "two", 2)), 3);
+		
+		for (File file : directory.listFiles()) {
+			assertTrue(file.getName().length() < 255);
+		}
+		assertEquals("one", store.load(first).getPassword());
+		assertEquals("two", store.load(second).getPassword());
+		store.remove(first);
+		assertNull(store.load(first));
+		assertEquals(1, store.load().size());
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import model.AccountStore;
+import model.AccountWriter;
+import model.PlayerAccount;
+
+/**
+ * Tests for AccountWriter.
+ */
+class AccountWriterTest {
+
+	@Test
+	void coalesceTest() throws IOException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		AccountStore store = new AccountStore(directory);
+		// long enough that the whole burst comes in before the first write
+		AccountWriter writer = new AccountWriter(store, 500);
+		PlayerAccount player = new PlayerAccount("burst", "pw", 1);
+		AtomicInteger written = new AtomicInteger();
+		for (int i = 1; i <= 5; i++) {
+			player.guessMade();
+			assertEquals(1, writer.save(List.of(player), i, written::incrementAndGet));
+			assertFalse(player.isDirty());
+		}
+		// nothing changed, so nothing is handed over
+		assertEquals(0, writer.save(List.of(player), 5, null));
+		// the waiting record is read before it is written
+		assertEquals(5, writer.load("burst").getGuesses());
+		assertEquals(1, writer.getQueueDepth());
+
+		assertTrue(writer.flush());
+		assertEquals(6, writer.getRequestCount());
+		assertEquals(1, writer.getWriteCount());
+		assertEquals(1, store.getRecordsWritten());
+		assertEquals(5, written.get());
+		assertEquals(5, writer.getWrittenSequence());
+		assertEquals(0, writer.getQueueDepth());
+		assertEquals(1, writer.getMaxQueueDepth());
+		assertTrue(writer.getMaxLatencyMillis() >= writer.getAverageLatencyMillis());
+		assertEquals(5, new AccountStore(directory).load("burst").getGuesses());
+		assertEquals(5, store.getSequence("burst"));
+
+		writer.remove("burst");
+		assertNull(writer.load("burst"));
+		writer.close();
+		assertNull(store.load("burst"));
+		assertThrows(IllegalStateException.class, () -> writer.remove("burst"));
+		assertTrue(writer.getReport().contains("7 requests in 2 writes"));
+		directory.delete();
+	}
+
+	@Test
+	void batchSequenceTest() throws IOException, InterruptedException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		AccountStore store = new AccountStore(directory);
+		AccountWriter writer = new AccountWriter(store, 300);
+		PlayerAccount first = new PlayerAccount("first", "pw", 1);
+		PlayerAccount second = new PlayerAccount("second", "pw", 2);
+		// a save that comes in while the first batch is being finished
+		writer.save(List.of(first), 3, () -> writer.save(List.of(second), 7, null));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (writer.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		// the newer save is still waiting, but it doesn't hold the first back
+		assertEquals(1, writer.getWriteCount());
+		assertEquals(1, writer.getQueueDepth());
+		assertEquals(3, writer.getWrittenSequence());
+
+		assertTrue(writer.flush());
+		assertEquals(7, writer.getWrittenSequence());
+		writer.remove("first");
+		writer.remove("second");
+		writer.close();
+		directory.delete();
+	}
+
+	@Test
+	void failedCallbackTest() throws IOException, InterruptedException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		AccountStore store = new AccountStore(directory);
+		AccountWriter writer = new AccountWriter(store, 0);
+		AtomicInteger calls = new AtomicInteger();
+		// fails the first time, like forcing the account map can
+		writer.save(List.of(new PlayerAccount("unlucky", "pw", 1)), 4, () -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new UncheckedIOException(new IOException("force failed"));
+			}
+		});
+		// the failed batch is tried again instead of the writer stopping
+		long deadline = System.currentTimeMillis() + 5000;
+		while (writer.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertTrue(writer.flush());
+		assertEquals(2, calls.get());
+		assertEquals(1, writer.getWriteCount());
+		assertEquals(4, writer.getWrittenSequence());
+		assertNotNull(store.load("unlucky"));
+
+		// and later saves are still written
+		writer.save(List.of(new PlayerAccount("later", "pw", 2)), 5, null);
+		assertTrue(writer.flush());
+		assertNotNull(store.load("later"));
+		writer.remove("unlucky");
+		writer.remove("later");
+		writer.close();
+		directory.delete();
+	}
+
+	@Test
+	void flushEmptyTest() throws IOException {
+		File directory = Files.createTempDirectory("accounts").toFile();
+		AccountWriter writer = new AccountWriter(new AccountStore(directory), 0);
+		// nothing was ever saved, so there is nothing to wait for
+		assertTrue(writer.flush());
+		assertEquals(0, writer.getWriteCount());
+		writer.close();
+		directory.delete();
+	}
+}
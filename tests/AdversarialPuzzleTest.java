@@ -0,0 +1,72 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.AdversarialPuzzle;
+import model.Dictionary;
+import model.Feedback;
+import model.GameMode;
+import model.PackedWord;
+import model.PlayerAccount;
+
+/**
+ * Tests for AdversarialPuzzle, which keeps the biggest group of words after
+ * every guess instead of picking a puzzle word.
+ */
+class AdversarialPuzzleTest {
+	private Dictionary answers = Dictionary.fromWords(List.of("light", "might", "night", "sight", "tight", "scowl", "crane"));
+
+	@Test
+	void keepsBiggestGroupTest() {
+		AdversarialPuzzle puzzle = new AdversarialPuzzle(answers);
+		assertEquals(7, puzzle.getRemainingCount());
+		
+		// "quack" shares no letters with the five -ight words, so they stay
+		int pattern = puzzle.score(PackedWord.encode("quack"));
+		assertEquals(5, puzzle.getRemainingCount());
+		assertEquals(0, pattern);
+		assertEquals("light", puzzle.getWord());
+		
+		// not a word: nothing changes
+		assertNull(puzzle.guess("ightx"));
+		assertEquals(5, puzzle.getRemainingCount());
+	}
+
+	@Test
+	void winTest() {
+		AdversarialPuzzle puzzle = new AdversarialPuzzle(Dictionary.fromWords(List.of("light", "night")));
+		// a tie between the all green group and the other: the lower code is kept
+		assertNotEquals(Feedback.ALL_GREEN, puzzle.score(PackedWord.encode("light")));
+		assertEquals(1, puzzle.getRemainingCount());
+		assertEquals("night", puzzle.getWord());
+		assertEquals(Feedback.ALL_GREEN, puzzle.score(PackedWord.encode("night")));
+	}
+
+	@Test
+	void fullDictionaryTest() {
+		AdversarialPuzzle puzzle = new AdversarialPuzzle();
+		int before = puzzle.getRemainingCount();
+		for (String guess : new String[] {"crane", "pilot", "dumpy"}) {
+			int pattern = puzzle.score(PackedWord.encode(guess));
+			assertTrue(puzzle.getRemainingCount() < before);
+			before = puzzle.getRemainingCount();
+			// whatever is left would have given the same colors
+			assertEquals(pattern, Feedback.score(PackedWord.encode(guess), puzzle.getPackedWord()));
+		}
+	}
+
+	@Test
+	void accountModeTest() {
+		PlayerAccount account = new PlayerAccount("adversary", "pw");
+		account.setGameMode(GameMode.ADVERSARIAL);
+		account.newGame();
+		assertTrue(account.getPuzzle() instanceof AdversarialPuzzle);
+		account.setGameMode(GameMode.CLASSIC);
+		account.newGame();
+		assertFalse(account.getPuzzle() instanceof AdversarialPuzzle);
+	}
+}
@@ -0,0 +1,83 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.CandidateFilter;
+import model.Dictionary;
+import model.Feedback;
+import model.PackedWord;
+
+/**
+ * Tests for CandidateFilter, which keeps track of the puzzle words that are
+ * still possible.
+ */
+class CandidateFilterTest {
+
+	private static int[] remaining(Dictionary answers, int[] guesses, int answer) {
+		CandidateFilter filter = new CandidateFilter(answers);
+		for (int guess : guesses) {
+			filter.apply(guess, Feedback.score(guess, answer));
+		}
+		return filter.getCandidates();
+	}
+
+	// the words that give the same pattern codes as the answer, found the slow way
+	private static int[] scan(Dictionary answers, int[] guesses, int answer) {
+		int[] words = new int[answers.size()];
+		int count = 0;
+		for (int n = 0; n < answers.size(); n++) {
+			int word = answers.getPacked(n);
+			boolean possible = true;
+			for (int guess : guesses) {
+				if (Feedback.score(guess, word) != Feedback.score(guess, answer)) {
+					possible = false;
+				}
+			}
+			if (possible) {
+				words[count] = word;
+				count++;
+			}
+		}
+		return Arrays.copyOf(words, count);
+	}
+
+	@Test
+	void testRepeatedLetters() {
+		Dictionary answers = Dictionary.fromWords(List.of("there", "three", "eerie", "where", "creed", "ether"));
+		CandidateFilter filter = new CandidateFilter(answers);
+		assertEquals(6, filter.getCount());
+		int guess = PackedWord.encode("eerie");
+		filter.apply(guess, Feedback.score(guess, PackedWord.encode("there")));
+		// exactly two e's, one of them last and neither first, and an r that is
+		// not in the middle
+		assertArrayEquals(new int[] {PackedWord.encode("there"), PackedWord.encode("where")},
+				filter.getCandidates());
+		assertTrue(filter.contains(PackedWord.encode("where")));
+		assertFalse(filter.contains(PackedWord.encode("three")));
+		assertFalse(filter.contains(PackedWord.encode("creed")));
+		
+		filter.reset();
+		assertEquals(6, filter.getCount());
+	}
+
+	@Test
+	void testMatchesScan() {
+		Dictionary answers = Dictionary.getAnswers();
+		Random random = new Random(13);
+		for (int game = 0; game < 200; game++) {
+			int answer = answers.getPacked(random.nextInt(answers.size()));
+			int[] guesses = new int[1 + random.nextInt(3)];
+			for (int i = 0; i < guesses.length; i++) {
+				guesses[i] = answers.getPacked(random.nextInt(answers.size()));
+			}
+			int[] expected = scan(answers, guesses, answer);
+			assertArrayEquals(expected, remaining(answers, guesses, answer));
+		}
+	}
+}
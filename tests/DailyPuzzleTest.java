@@ -0,0 +1,113 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import model.DailyPuzzle;
+import model.Dictionary;
+import model.PackedWord;
+import model.PlayerAccount;
+
+/**
+ * Tests for DailyPuzzle and the daily guesses kept by PlayerAccount.
+ */
+class DailyPuzzleTest {
+	private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+
+	@Test
+	void sameDayTest() {
+		DailyPuzzle first = DailyPuzzle.forDate(DAY, 42);
+		assertEquals(first.getWord(), DailyPuzzle.forDate(DAY, 42).getWord());
+		assertTrue(Dictionary.getAnswers().contains(first.getWord()));
+		assertEquals(DAY, first.getDate());
+		
+		// the shared puzzle is only worked out once for the day
+		assertSame(DailyPuzzle.get(DAY), DailyPuzzle.get(DAY));
+	}
+
+	@Test
+	void differentDaysTest() {
+		int changes = 0;
+		for (int i = 1; i < 30; i++) {
+			String before = DailyPuzzle.forDate(DAY.plusDays(i - 1), 42).getWord();
+			if (!before.equals(DailyPuzzle.forDate(DAY.plusDays(i), 42).getWord())) {
+				changes++;
+			}
+		}
+		assertTrue(changes > 20);
+		
+		int seedChanges = 0;
+		for (int seed = 0; seed < 30; seed++) {
+			if (!DailyPuzzle.forDate(DAY, seed).getWord().equals(DailyPuzzle.forDate(DAY, 42).getWord())) {
+				seedChanges++;
+			}
+		}
+		assertTrue(seedChanges > 20);
+	}
+
+	@Test
+	void resultsTest() {
+		DailyPuzzle daily = DailyPuzzle.forDate(DAY, 7);
+		assertEquals(0, daily.getSolveRate());
+		daily.recordResult(3, true);
+		daily.recordResult(3, true);
+		daily.recordResult(6, true);
+		daily.recordResult(6, false);
+		assertArrayEquals(new int[] {0, 0, 2, 0, 0, 1, 1}, daily.getDistribution());
+		assertEquals(4, daily.getPlayerCount());
+		assertEquals(75, daily.getSolveRate(), 0.001);
+	}
+
+	@Test
+	void savedResultsTest() throws IOException {
+		File directory = Files.createTempDirectory("daily").toFile();
+		File file = new File(directory, DailyPuzzle.FILE_NAME);
+		DailyPuzzle daily = DailyPuzzle.forDate(DAY, 7, file);
+		daily.recordResult(2, true);
+		daily.recordResult(6, false);
+		
+		// the results outlast the puzzle they were recorded on
+		DailyPuzzle reopened = DailyPuzzle.forDate(DAY, 7, file);
+		assertArrayEquals(new int[] {0, 1, 0, 0, 0, 0, 1}, reopened.getDistribution());
+		// a game finished on another copy of the puzzle is counted by both
+		daily.recordResult(4, true);
+		reopened.recordResult(4, true);
+		assertArrayEquals(new int[] {0, 1, 0, 2, 0, 0, 1}, reopened.getDistribution());
+		assertEquals(4, DailyPuzzle.forDate(DAY, 7, file).getPlayerCount());
+		
+		// the next day starts over
+		DailyPuzzle tomorrow = DailyPuzzle.forDate(DAY.plusDays(1), 7, file);
+		assertEquals(0, tomorrow.getPlayerCount());
+		tomorrow.recordResult(1, true);
+		assertEquals(1, DailyPuzzle.forDate(DAY.plusDays(1), 7, file).getPlayerCount());
+		assertEquals(0, DailyPuzzle.forDate(DAY, 7, file).getPlayerCount());
+		
+		file.delete();
+		directory.delete();
+	}
+
+	@Test
+	void playerGuessesTest() {
+		PlayerAccount player = new PlayerAccount("daily", "pw");
+		assertNull(player.getLastDailyDate());
+		assertEquals(0, player.getDailyGuesses(DAY).length);
+		
+		player.addDailyGuess(DAY, PackedWord.encode("crane"));
+		player.addDailyGuess(DAY, PackedWord.encode("pilot"));
+		assertArrayEquals(new int[] {PackedWord.encode("crane"), PackedWord.encode("pilot")},
+				player.getDailyGuesses(DAY));
+		assertEquals(0, player.getDailyGuesses(DAY.plusDays(1)).length);
+		
+		// a new day starts a new list
+		player.addDailyGuess(DAY.plusDays(1), PackedWord.encode("shove"));
+		assertEquals(1, player.getDailyGuesses(DAY.plusDays(1)).length);
+		assertEquals(0, player.getDailyGuesses(DAY).length);
+		assertEquals(DAY.plusDays(1), player.getLastDailyDate());
+	}
+}
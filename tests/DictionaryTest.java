@@ -0,0 +1,70 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Dictionary;
+
+/**
+ * Tests for the Dictionary class, which holds the shared list of Wordle words
+ * and the index used to check guesses.
+ */
+class DictionaryTest {
+
+	/**
+	 * The dictionaries should only be loaded once and then shared.
+	 */
+	@Test
+	void testShared() {
+		assertSame(Dictionary.getAnswers(), Dictionary.getAnswers());
+		assertSame(Dictionary.getAllowedGuesses(), Dictionary.getAllowedGuesses());
+		assertEquals(2317, Dictionary.getAnswers().size());
+		assertEquals("scowl", Dictionary.getAnswers().get(0));
+	}
+
+	/**
+	 * Reloading should swap in new dictionaries holding the same words.
+	 */
+	@Test
+	void testReload() {
+		Dictionary.Snapshot before = Dictionary.current();
+		assertTrue(Dictionary.reload());
+		assertNotSame(before.getAnswers(), Dictionary.getAnswers());
+		assertEquals(before.getAnswers().getFingerprint(), Dictionary.getAnswers().getFingerprint());
+		// a snapshot taken before the reload keeps both of its dictionaries
+		assertNotSame(before, Dictionary.current());
+		assertSame(Dictionary.current().getAllowedGuesses(), Dictionary.getAllowedGuesses());
+		assertTrue(before.getAllowedGuesses().size() >= before.getAnswers().size());
+	}
+
+	/**
+	 * Every answer must also be an allowed guess, in the same position.
+	 */
+	@Test
+	void testAnswersAreAllowed() {
+		Dictionary answers = Dictionary.getAnswers();
+		Dictionary allowed = Dictionary.getAllowedGuesses();
+		assertTrue(allowed.size() >= answers.size());
+		for (int i = 0; i < answers.size(); i++) {
+			assertEquals(i, allowed.indexOf(answers.getPacked(i)));
+		}
+	}
+
+	/**
+	 * Tests for contains and indexOf, which both go through the hash index.
+	 */
+	@Test
+	void testIndex() {
+		Dictionary dictionary = Dictionary.fromWords(List.of("apple", "berry", "cider", "apple"));
+		assertEquals(4, dictionary.size());
+		assertTrue(dictionary.contains("berry"));
+		assertFalse(dictionary.contains("berr"));
+		assertFalse(dictionary.contains(null));
+		assertEquals(0, dictionary.indexOf("apple"));
+		assertEquals(2, dictionary.indexOf("cider"));
+		assertEquals(-1, dictionary.indexOf("dates"));
+	}
+}
@@ -0,0 +1,74 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Dictionary;
+import model.Feedback;
+import model.FeedbackMatrix;
+
+/**
+ * Tests for FeedbackMatrix, which stores the pattern code for every pair of
+ * guess and puzzle word.
+ */
+class FeedbackMatrixTest {
+	private Dictionary guesses = Dictionary.fromWords(List.of("scowl", "there", "eerie", "speed", "apple"));
+	private Dictionary answers = Dictionary.fromWords(List.of("creed", "plump", "there"));
+
+	private void checkAll(FeedbackMatrix matrix) {
+		for (int g = 0; g < guesses.size(); g++) {
+			for (int a = 0; a < answers.size(); a++) {
+				assertEquals(Feedback.score(guesses.getPacked(g), answers.getPacked(a)), matrix.get(g, a));
+			}
+		}
+	}
+
+	@Test
+	void buildTest() {
+		FeedbackMatrix matrix = FeedbackMatrix.build(guesses, answers);
+		checkAll(matrix);
+		assertEquals(Feedback.ALL_GREEN, matrix.get(1, 2));
+		assertTrue(matrix.matches(guesses, answers));
+		assertFalse(matrix.matches(answers, guesses));
+	}
+
+	@Test
+	void writeAndLoadTest() throws IOException {
+		File file = File.createTempFile("feedback", ".bin");
+		file.deleteOnExit();
+		FeedbackMatrix.build(guesses, answers).write(file);
+		
+		FeedbackMatrix loaded = FeedbackMatrix.load(file, guesses, answers);
+		assertNotNull(loaded);
+		checkAll(loaded);
+		
+		// a file built from other words must not be used
+		assertNull(FeedbackMatrix.load(file, answers, guesses));
+		Dictionary changed = Dictionary.fromWords(List.of("scowl", "there", "eerie", "speed", "apply"));
+		assertNull(FeedbackMatrix.load(file, changed, answers));
+		assertNull(FeedbackMatrix.load(new File("missing-feedback.bin"), guesses, answers));
+	}
+
+	@Test
+	void tooLargeTest() {
+		// 50000 x 50000 pairs is more than an array can hold
+		ArrayList<String> words = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			char[] letters = new char[5];
+			int rest = i;
+			for (int j = 4; j >= 0; j--) {
+				letters[j] = (char) ('a' + rest % 26);
+				rest /= 26;
+			}
+			words.add(new String(letters));
+		}
+		Dictionary large = Dictionary.fromWords(words);
+		assertThrows(IllegalArgumentException.class, () -> FeedbackMatrix.build(large, large));
+	}
+}
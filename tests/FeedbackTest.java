@@ -0,0 +1,81 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.AssociationState;
+import model.Dictionary;
+import model.Feedback;
+import model.LetterState;
+import model.PackedWord;
+
+/**
+ * Tests for Feedback, which scores a guess against a puzzle word and returns
+ * the colors as a single pattern code.
+ */
+class FeedbackTest {
+
+	private static int score(String guess, String answer) {
+		return Feedback.score(PackedWord.encode(guess), PackedWord.encode(answer));
+	}
+
+	private static int pattern(int... digits) {
+		int code = 0;
+		for (int i = digits.length - 1; i >= 0; i--) {
+			code = code * 3 + digits[i];
+		}
+		return code;
+	}
+
+	@Test
+	void scoreTest() {
+		int g = Feedback.GREEN;
+		int y = Feedback.YELLOW;
+		int x = Feedback.GRAY;
+		assertEquals(Feedback.ALL_GREEN, score("scowl", "scowl"));
+		assertEquals(0, score("jumpy", "scowl"));
+		assertEquals(pattern(y, y, y, y, y), score("lscow", "scowl"));
+		assertEquals(pattern(g, x, x, x, x), score("sassy", "scowl"));
+		// the last e is green, leaving only one other e for the first e to match
+		assertEquals(pattern(y, x, y, x, g), score("eerie", "there"));
+		assertEquals(pattern(y, x, x, y, y), score("eager", "there"));
+		assertEquals(pattern(x, x, g, g, g), score("speed", "creed"));
+		assertEquals(pattern(x, y, y, y, x), score("apple", "plump"));
+	}
+
+	@Test
+	void digitsAndStatesTest() {
+		int code = score("eerie", "there");
+		assertEquals(Feedback.YELLOW, Feedback.digitAt(code, 0));
+		assertEquals(Feedback.GRAY, Feedback.digitAt(code, 1));
+		assertEquals(Feedback.GREEN, Feedback.digitAt(code, 4));
+		
+		List<AssociationState> coding = Feedback.toStates(PackedWord.encode("eerie"), code);
+		assertEquals(5, coding.size());
+		assertEquals("e", coding.get(0).letter);
+		assertEquals(LetterState.YELLOW, coding.get(0).state);
+		assertEquals(LetterState.GRAY, coding.get(1).state);
+		assertEquals("r", coding.get(2).letter);
+		assertEquals(LetterState.YELLOW, coding.get(2).state);
+		assertEquals(LetterState.GRAY, coding.get(3).state);
+		assertEquals(LetterState.GREEN, coding.get(4).state);
+	}
+
+	@Test
+	void scoreAllTest() {
+		int[] answers = Dictionary.getAnswers().copyPackedWords();
+		byte[] codes = new byte[answers.length];
+		for (String guess : new String[] {"eerie", "crane", "jumpy", "sassy", "scowl"}) {
+			int packed = PackedWord.encode(guess);
+			Feedback.scoreAll(packed, answers, codes);
+			for (int i = 0; i < answers.length; i++) {
+				assertEquals(Feedback.score(packed, answers[i]), codes[i] & 0xff);
+			}
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> Feedback.scoreAll(PackedWord.encode("crane"), answers, new byte[1]));
+	}
+}
\ No newline at end of file
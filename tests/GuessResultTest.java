@@ -0,0 +1,50 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.AssociationState;
+import model.Feedback;
+import model.GuessResult;
+import model.LetterState;
+import model.PackedWord;
+import model.Puzzle;
+
+/**
+ * Tests for GuessResult, the shared read-only color coding for a guess.
+ */
+class GuessResultTest {
+
+	@Test
+	void testShared() {
+		Puzzle puzzle = new Puzzle("there");
+		GuessResult first = puzzle.guess("eerie");
+		GuessResult second = new Puzzle("there").guess("eerie");
+		assertSame(first, second);
+		assertEquals(Feedback.score(PackedWord.encode("eerie"), PackedWord.encode("there")),
+				first.getPattern());
+		assertEquals(PackedWord.encode("eerie"), first.getPackedGuess());
+		assertNotSame(first, puzzle.guess("crane"));
+	}
+
+	@Test
+	void testStates() {
+		GuessResult result = new Puzzle("there").guess("eerie");
+		assertEquals(5, result.size());
+		assertSame(AssociationState.of(4, LetterState.YELLOW), result.get(0));
+		assertEquals("e", result.get(0).letter);
+		assertEquals(LetterState.GRAY, result.get(1).state);
+		assertEquals("r", result.get(2).letter);
+		assertEquals(LetterState.GREEN, result.get(4).state);
+		assertThrows(IndexOutOfBoundsException.class, () -> result.get(5));
+	}
+
+	@Test
+	void testReadOnly() {
+		GuessResult result = new Puzzle("there").guess("eerie");
+		assertThrows(UnsupportedOperationException.class,
+				() -> result.add(AssociationState.of(0, LetterState.GRAY)));
+		assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+	}
+}
@@ -0,0 +1,70 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import model.Feedback;
+import model.HardModeRules;
+import model.PackedWord;
+
+/**
+ * Tests for HardModeRules, which checks that a hard mode guess uses every hint.
+ */
+class HardModeRulesTest {
+
+	private static HardModeRules afterGuess(String guess, String answer) {
+		HardModeRules rules = new HardModeRules();
+		int packed = PackedWord.encode(guess);
+		rules.update(packed, Feedback.score(packed, PackedWord.encode(answer)));
+		return rules;
+	}
+
+	private static String check(HardModeRules rules, String attempt) {
+		return rules.check(PackedWord.encode(attempt));
+	}
+
+	@Test
+	void checkTest() {
+		// eerie against there: yellow e, gray e, yellow r, gray i, green e
+		HardModeRules rules = afterGuess("eerie", "there");
+		assertNull(check(rules, "there"));
+		assertNull(check(rules, "where"));
+		assertEquals("5th letter must be E", check(rules, "tiger"));
+		assertEquals("3rd letter cannot be R", check(rules, "three"));
+		assertEquals("Guess must contain R", check(rules, "theme"));
+		assertEquals("Guess must contain 2 Es", check(rules, "rouse"));
+		
+		rules.reset();
+		assertNull(check(rules, "tiger"));
+	}
+
+	@Test
+	void keepsTheMostTest() {
+		HardModeRules rules = afterGuess("eerie", "there");
+		// a later guess showing only one e must not lower the count
+		int packed = PackedWord.encode("there");
+		rules.update(PackedWord.encode("abode"), Feedback.score(PackedWord.encode("abode"), packed));
+		assertEquals("Guess must contain 2 Es", check(rules, "rouse"));
+	}
+
+	@Test
+	void serializeTest() throws IOException, ClassNotFoundException {
+		HardModeRules rules = afterGuess("eerie", "there");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(rules);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			HardModeRules copy = (HardModeRules) in.readObject();
+			assertEquals("3rd letter cannot be R", check(copy, "three"));
+			assertNull(check(copy, "where"));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import model.Dictionary;
+import model.HintEngine;
+import model.PackedWord;
+
+/**
+ * Tests for HintEngine, which suggests the guess that tells the most about the
+ * remaining words.
+ */
+class HintEngineTest {
+
+	private static int[] pack(String... words) {
+		int[] packed = new int[words.length];
+		for (int i = 0; i < words.length; i++) {
+			packed[i] = PackedWord.encode(words[i]);
+		}
+		return packed;
+	}
+
+	@Test
+	void testEntropy() {
+		int[] candidates = pack("light", "might", "night", "sight");
+		// every word gets its own pattern: two bits
+		assertEquals(2.0, HintEngine.entropy(PackedWord.encode("slime"), candidates), 1e-9);
+		// light and sight look the same, the others are told apart
+		assertEquals(1.5, HintEngine.entropy(PackedWord.encode("mount"), candidates), 1e-9);
+		// all four words look the same
+		assertEquals(0.0, HintEngine.entropy(PackedWord.encode("vivid"), candidates), 1e-9);
+	}
+
+	@Test
+	void testBestGuess() {
+		Dictionary guesses = Dictionary.fromWords(List.of("light", "might", "night", "sight", "vivid", "mount", "slime"));
+		HintEngine engine = new HintEngine(guesses);
+		// only slime tells all four apart
+		assertEquals(PackedWord.encode("slime"), engine.bestGuess(pack("light", "might", "night", "sight")));
+		
+		// with one word left, that word is the hint
+		assertEquals(PackedWord.encode("night"), engine.bestGuess(pack("night")));
+		// with two left, guessing one of them could win right away
+		int pair = engine.bestGuess(pack("light", "sight"));
+		assertTrue(pair == PackedWord.encode("light") || pair == PackedWord.encode("sight"));
+		assertEquals(PackedWord.INVALID, engine.bestGuess(new int[0]));
+	}
+
+	@Test
+	void testCacheAndCancel() {
+		HintEngine engine = new HintEngine();
+		int[] candidates = Dictionary.getAnswers().copyPackedWords();
+		CompletableFuture<Integer> first = engine.rank(candidates);
+		first.cancel(true);
+		assertThrows(CancellationException.class, first::join);
+		
+		int[] few = pack("light", "might", "night", "sight", "tight");
+		int best = engine.bestGuess(few);
+		CompletableFuture<Integer> again = engine.rank(few);
+		assertTrue(again.isDone());
+		assertEquals(best, again.join());
+
+		// after a reload the same words are ranked again and cached again
+		assertTrue(Dictionary.reload());
+		CompletableFuture<Integer> reloaded = engine.rank(few);
+		assertEquals(best, reloaded.join());
+		assertTrue(engine.rank(few).isDone());
+	}
+}
@@ -0,0 +1,129 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import model.LeaderboardEntry;
+import model.MappedAccountStore;
+import model.PlayerAccount;
+
+/**
+ * Tests for MappedAccountStore and LeaderboardEntry.
+ */
+class MappedAccountStoreTest {
+
+	@Test
+	void putFindTest() throws IOException {
+		File directory = Files.createTempDirectory("map").toFile();
+		File file = new File(directory, MappedAccountStore.FILE_NAME);
+		File index = new File(directory, MappedAccountStore.INDEX_FILE_NAME);
+		MappedAccountStore map = new MappedAccountStore(file, index);
+		// enough accounts to make both files grow a few times
+		for (int i = 0; i < 500; i++) {
+			map.put(new PlayerAccount("player" + i, "pw" + i, i));
+		}
+		PlayerAccount winner = new PlayerAccount("winner", "secret", 1);
+		winner.guessMade();
+		winner.gameWon();
+		int record = map.put(winner);
+		assertEquals(501, map.getSize());
+		assertEquals(record, map.find("winner"));
+		assertEquals(-1, map.find("nobody"));
+		assertTrue(map.checkPassword(record, "secret"));
+		assertFalse(map.checkPassword(record, "Secret"));
+		assertEquals("winner", map.getUsername(record));
+		assertEquals(1, map.getWins(record));
+		assertEquals(winner.getWeightedGuesses(), map.getWeightedGuesses(record));
+		assertEquals(1, map.getAchievements(record) & 1);
+		map.setSequence(9);
+		map.close();
+
+		MappedAccountStore reopened = new MappedAccountStore(file, index);
+		assertEquals(501, reopened.getSize());
+		assertEquals(9, reopened.getSequence());
+		assertEquals(record, reopened.find("winner"));
+		assertTrue(reopened.checkPassword(reopened.find("player250"), "pw250"));
+
+		assertTrue(reopened.remove("player7"));
+		assertFalse(reopened.remove("player7"));
+		assertEquals(-1, reopened.find("player7"));
+		assertEquals(500, reopened.getSize());
+		reopened.close();
+
+		// an index that is lost is built again from the records
+		assertTrue(index.delete());
+		MappedAccountStore rebuilt = new MappedAccountStore(file, index);
+		assertEquals(record, rebuilt.find("winner"));
+		assertEquals(-1, rebuilt.find("player7"));
+		// a removed account that is made again gets its old record back
+		int old = rebuilt.put(new PlayerAccount("player7", "new", 7));
+		assertEquals(old, rebuilt.find("player7"));
+		assertTrue(rebuilt.checkPassword(old, "new"));
+		assertEquals(501, rebuilt.getSize());
+
+		rebuilt.clear();
+		assertEquals(0, rebuilt.getSize());
+		assertEquals(-1, rebuilt.find("winner"));
+		// the first slot held a live record before the clear
+		int fresh = rebuilt.put(new PlayerAccount("fresh", "pw", 1));
+		assertEquals(0, fresh);
+		assertEquals(1, rebuilt.getSize());
+		assertEquals(1, rebuilt.top(10).size());
+		assertTrue(rebuilt.remove("fresh"));
+		assertEquals(0, rebuilt.getSize());
+		assertTrue(rebuilt.top(10).isEmpty());
+		rebuilt.close();
+		file.delete();
+		index.delete();
+		directory.delete();
+	}
+
+	@Test
+	void topTest() throws IOException {
+		File directory = Files.createTempDirectory("map").toFile();
+		File file = new File(directory, MappedAccountStore.FILE_NAME);
+		File index = new File(directory, MappedAccountStore.INDEX_FILE_NAME);
+		MappedAccountStore map = new MappedAccountStore(file, index);
+		// wins[i] games won by player i, each in guesses[i] guesses
+		int[] wins = {0, 3, 1, 3, 2};
+		int[] guesses = {1, 4, 1, 2, 6};
+		for (int i = 0; i < wins.length; i++) {
+			PlayerAccount player = new PlayerAccount("p" + i, "pw", i);
+			for (int won = 0; won < wins[i]; won++) {
+				for (int made = 0; made < guesses[i]; made++) {
+					player.guessMade();
+				}
+				player.gameWon();
+			}
+			map.put(player);
+		}
+		map.remove("p2");
+
+		ArrayList<LeaderboardEntry> board = map.top(3);
+		assertEquals(3, board.size());
+		// the same wins, but fewer guesses, puts p3 ahead of p1
+		assertEquals("p3", board.get(0).getUsername());
+		assertEquals("p1", board.get(1).getUsername());
+		assertEquals("p4", board.get(2).getUsername());
+		assertEquals(3, board.get(0).getWins());
+		assertEquals(4, map.top(10).size());
+		assertTrue(map.top(0).isEmpty());
+
+		map.close();
+		file.delete();
+		index.delete();
+		directory.delete();
+	}
+
+	@Test
+	void fitsTest() {
+		assertTrue(MappedAccountStore.fits("a".repeat(MappedAccountStore.MAX_NAME_BYTES)));
+		assertFalse(MappedAccountStore.fits("a".repeat(MappedAccountStore.MAX_NAME_BYTES + 1)));
+	}
+}
@@ -0,0 +1,108 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.Feedback;
+import model.GuessResult;
+import model.MultiPuzzle;
+import model.PackedWord;
+import model.PlayerAccount;
+
+/**
+ * Tests for MultiPuzzle, which scores each guess against several boards.
+ */
+class MultiPuzzleTest {
+
+	private static int[] pack(String... words) {
+		int[] packed = new int[words.length];
+		for (int i = 0; i < words.length; i++) {
+			packed[i] = PackedWord.encode(words[i]);
+		}
+		return packed;
+	}
+
+	@Test
+	void guessTest() {
+		MultiPuzzle game = new MultiPuzzle(pack("there", "crane", "scowl", "light"));
+		assertEquals(4, game.getBoardCount());
+		assertEquals(9, game.getMaxGuesses());
+		assertNull(game.guess("xxxxx"));
+		
+		GuessResult[] results = game.guess("crane");
+		assertEquals(4, results.length);
+		assertEquals(Feedback.score(PackedWord.encode("crane"), PackedWord.encode("there")), results[0].getPattern());
+		assertEquals(Feedback.ALL_GREEN, results[1].getPattern());
+		assertTrue(game.isSolved(1));
+		assertFalse(game.isWon());
+		
+		// a solved board gets no more results
+		results = game.guess("light");
+		assertNull(results[1]);
+		assertTrue(game.isSolved(3));
+		assertEquals(2, game.getGuessCount());
+		assertEquals("light", game.getGuess(1));
+		assertEquals(results[0], game.getResult(0, 1));
+		
+		game.guess("there");
+		game.guess("scowl");
+		assertTrue(game.isWon());
+		assertTrue(game.isOver());
+		assertNull(game.guess("crane"));
+	}
+
+	@Test
+	void packedGuessTest() {
+		MultiPuzzle game = new MultiPuzzle(pack("there", "crane"));
+		assertFalse(game.guess(PackedWord.encode("xxxxx")));
+		assertTrue(game.guess(PackedWord.encode("crane")));
+		assertEquals(1, game.getGuessCount());
+		assertTrue(game.isSolved(1));
+		assertEquals(PackedWord.encode("crane"), game.getPackedWord(1));
+		assertEquals(Feedback.score(PackedWord.encode("crane"), PackedWord.encode("there")),
+				game.getResult(0, 0).getPattern());
+		assertTrue(game.guess(PackedWord.encode("there")));
+		assertTrue(game.isWon());
+		assertFalse(game.guess(PackedWord.encode("there")));
+	}
+
+	@Test
+	void restoreTest() {
+		MultiPuzzle game = new MultiPuzzle(pack("there", "crane"));
+		// a saved guess keeps its row even if the word is no longer allowed
+		int gone = PackedWord.encode("xxxxx");
+		assertFalse(game.guess(gone));
+		assertTrue(game.restore(gone));
+		assertEquals(1, game.getGuessCount());
+		assertEquals(Feedback.score(gone, PackedWord.encode("crane")), game.getResult(1, 0).getPattern());
+		assertFalse(game.restore(PackedWord.INVALID));
+		assertEquals(1, game.getGuessCount());
+	}
+
+	@Test
+	void outOfGuessesTest() {
+		MultiPuzzle game = new MultiPuzzle(pack("there"));
+		for (int i = 0; i < game.getMaxGuesses(); i++) {
+			assertNotNull(game.guess("crane"));
+		}
+		assertTrue(game.isOver());
+		assertFalse(game.isWon());
+		assertNull(game.guess("there"));
+		assertThrows(IllegalArgumentException.class, () -> new MultiPuzzle(new int[0]));
+	}
+
+	@Test
+	void accountTest() {
+		PlayerAccount account = new PlayerAccount("boards", "pw");
+		assertNull(account.getMultiPuzzle());
+		account.newMultiBoardGame(16, 5);
+		MultiPuzzle game = account.getMultiPuzzle();
+		assertEquals(16, game.getBoardCount());
+		for (int i = 0; i < 16; i++) {
+			for (int j = 0; j < i; j++) {
+				assertNotEquals(game.getWord(i), game.getWord(j));
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Dictionary;
+import model.Feedback;
+import model.HintEngine;
+import model.OpeningBook;
+import model.PackedWord;
+
+/**
+ * Tests for OpeningBook, which stores the hints for the first two guesses.
+ */
+class OpeningBookTest {
+	private Dictionary answers = Dictionary.fromWords(List.of("light", "might", "night", "sight", "tight", "fight", "eight", "wight"));
+	private Dictionary guesses = Dictionary.fromWords(List.of("light", "might", "night", "sight", "tight", "fight", "eight", "wight", "slime", "swift", "mount"));
+
+	private void checkAll(OpeningBook book) {
+		HintEngine engine = new HintEngine(guesses);
+		int[] words = answers.copyPackedWords();
+		assertEquals(engine.bestGuess(words), book.lookup(new int[0], new int[0]));
+		for (int first : book.getOpenings()) {
+			for (int answer : words) {
+				int pattern = Feedback.score(first, answer);
+				int[] left = Arrays.stream(words).filter(word -> Feedback.score(first, word) == pattern).toArray();
+				int reply = book.lookup(new int[] {first}, new int[] {pattern});
+				assertEquals(HintEngine.entropy(engine.bestGuess(left), left), HintEngine.entropy(reply, left), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	void buildTest() {
+		OpeningBook book = OpeningBook.build(guesses, answers, 3);
+		assertEquals(3, book.getOpenings().length);
+		checkAll(book);
+		
+		int first = book.getOpenings()[0];
+		// guesses that are not in the book, and games past the second guess, are not covered
+		assertEquals(PackedWord.INVALID, book.lookup(new int[] {PackedWord.encode("mount")}, new int[] {0}));
+		assertEquals(PackedWord.INVALID, book.lookup(new int[] {first, first}, new int[] {0, 0}));
+		assertTrue(book.matches(guesses, answers));
+		assertFalse(book.matches(answers, guesses));
+	}
+
+	@Test
+	void writeAndLoadTest() throws IOException {
+		File file = File.createTempFile("opening", ".bin");
+		file.deleteOnExit();
+		OpeningBook.build(guesses, answers, 2).write(file);
+		
+		OpeningBook loaded = OpeningBook.load(file, guesses, answers);
+		assertNotNull(loaded);
+		assertEquals(2, loaded.getOpenings().length);
+		checkAll(loaded);
+		
+		// a file built from other words must not be used
+		assertNull(OpeningBook.load(file, answers, guesses));
+		assertNull(OpeningBook.load(new File("missing-opening.bin"), guesses, answers));
+	}
+}
@@ -0,0 +1,51 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.PackedWord;
+
+/**
+ * Tests for PackedWord, which stores five letter words inside a single int.
+ */
+class PackedWordTest {
+
+	/**
+	 * Words should come back out exactly as they went in.
+	 */
+	@Test
+	void testEncodeDecode() {
+		assertEquals("scowl", PackedWord.decode(PackedWord.encode("scowl")));
+		assertEquals("aaaaa", PackedWord.decode(PackedWord.encode("aaaaa")));
+		assertEquals("zzzzz", PackedWord.decode(PackedWord.encode("zzzzz")));
+		assertEquals(PackedWord.encode("hover"), PackedWord.encode("hover"));
+		assertEquals(7, PackedWord.letterAt(PackedWord.encode("hover"), 0));
+		assertEquals(17, PackedWord.letterAt(PackedWord.encode("hover"), 4));
+		assertEquals("v", PackedWord.letterString(21));
+	}
+
+	/**
+	 * Anything that is not five lowercase letters cannot be packed.
+	 */
+	@Test
+	void testInvalid() {
+		assertEquals(PackedWord.INVALID, PackedWord.encode(null));
+		assertEquals(PackedWord.INVALID, PackedWord.encode(""));
+		assertEquals(PackedWord.INVALID, PackedWord.encode("cats"));
+		assertEquals(PackedWord.INVALID, PackedWord.encode("scowls"));
+		assertEquals(PackedWord.INVALID, PackedWord.encode("SCOWL"));
+		assertEquals(PackedWord.INVALID, PackedWord.encode("sc0wl"));
+		assertEquals(PackedWord.INVALID, PackedWord.encode("scow\n"));
+	}
+
+	/**
+	 * Packed words should sort the same way the Strings do.
+	 */
+	@Test
+	void testOrder() {
+		assertTrue(PackedWord.encode("apple") < PackedWord.encode("apply"));
+		assertTrue(PackedWord.encode("apply") < PackedWord.encode("berry"));
+		assertTrue(PackedWord.encode("zebra") > PackedWord.encode("yacht"));
+	}
+}
@@ -0,0 +1,142 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Feedback;
+import model.GameMode;
+import model.PlayerAccount;
+import model.PackedWord;
+import model.PlayerAccountCodec;
+
+/**
+ * Tests for PlayerAccountCodec, which stores a PlayerAccount as a binary 
+ * record.
+ */
+class PlayerAccountCodecTest {
+
+	private static void assertSameAccount(PlayerAccount expected, PlayerAccount actual) {
+		assertEquals(expected.getUsername(), actual.getUsername());
+		assertEquals(expected.getPassword(), actual.getPassword());
+		assertEquals(expected.getPuzzle().getWord(), actual.getPuzzle().getWord());
+		assertEquals(expected.getOldGuesses(), actual.getOldGuesses());
+		assertEquals(expected.getGuesses(), actual.getGuesses());
+		assertArrayEquals(expected.getPastWins(), actual.getPastWins());
+		assertEquals(expected.getStreak(), actual.getStreak());
+		assertEquals(expected.getLongestStreak(), actual.getLongestStreak());
+		assertEquals(expected.getTotalGames(), actual.getTotalGames());
+		assertEquals(expected.getPercentage(), actual.getPercentage());
+		assertArrayEquals(expected.getAchievements(), actual.getAchievements());
+		assertEquals(expected.retrieveSaved(), actual.retrieveSaved());
+		assertArrayEquals(expected.retrieveKeyboard(), actual.retrieveKeyboard());
+		assertEquals(expected.isHardMode(), actual.isHardMode());
+		assertEquals(expected.getGameMode(), actual.getGameMode());
+		assertFalse(actual.isDirty());
+	}
+
+	@Test
+	void roundTripTest() throws IOException {
+		PlayerAccount player = new PlayerAccount("codec", "pw", 9);
+		String word = player.getPuzzle().getWord();
+		player.guessMade();
+		player.addNewSavedGuess("crane");
+		player.guessMade();
+		player.addNewSavedGuess(word);
+		player.gameWon();
+		player.newGame(10);
+		player.guessMade();
+		player.addNewSavedGuess("pilot");
+		int pilot = PackedWord.encode("pilot");
+		player.getHardModeRules().update(pilot, Feedback.score(pilot, player.getPuzzle().getPackedWord()));
+		player.setHardMode(true);
+		ArrayList<ArrayList<String>> grid = new ArrayList<>();
+		grid.add(new ArrayList<>(List.of("gray", "gray", "yellow", "green", "gray")));
+		grid.add(new ArrayList<>(List.of("", "", "", "", "")));
+		player.saveGrid(grid);
+		String[] keyboard = new String[26];
+		Arrays.fill(keyboard, "0x808080ff");
+		keyboard[3] = "0x008000ff";
+		player.saveKeyboard(keyboard);
+		LocalDate day = LocalDate.of(2026, 10, 18);
+		player.addDailyGuess(day, PackedWord.encode("shove"));
+		player.newMultiBoardGame(4, 3);
+		player.getMultiPuzzle().guess("crane");
+		// a guess whose word was taken out of the word files since
+		player.restoreMultiGuess(PackedWord.encode("xxxxx"));
+		
+		byte[] record = PlayerAccountCodec.encode(player);
+		assertTrue(record.length < 400);
+		PlayerAccount copy = PlayerAccountCodec.decode(record);
+		assertSameAccount(player, copy);
+		assertTrue(copy.getAchievements()[0]);
+		assertArrayEquals(player.getDailyGuesses(day), copy.getDailyGuesses(day));
+		assertEquals(player.getMultiPuzzle().getWord(2), copy.getMultiPuzzle().getWord(2));
+		assertEquals(2, copy.getMultiPuzzle().getGuessCount());
+		assertEquals("xxxxx", copy.getMultiPuzzle().getGuess(1));
+		
+		// the hard mode hints come back from the saved guesses
+		for (String attempt : List.of("crane", "pilot", "slate", "lipid", word)) {
+			int packed = PackedWord.encode(attempt);
+			assertEquals(player.getHardModeRules().check(packed), copy.getHardModeRules().check(packed));
+		}
+	}
+
+	@Test
+	void adversarialTest() throws IOException {
+		PlayerAccount player = new PlayerAccount("adversary", "pw", 1);
+		player.setGameMode(GameMode.ADVERSARIAL);
+		player.newGame();
+		player.getPuzzle().guess("crane");
+		player.guessMade();
+		player.addNewSavedGuess("crane");
+		
+		PlayerAccount copy = PlayerAccountCodec.decode(PlayerAccountCodec.encode(player));
+		assertEquals(GameMode.ADVERSARIAL, copy.getGameMode());
+		// the words still in play are narrowed down the same way again
+		assertEquals(player.getPuzzle().getWord(), copy.getPuzzle().getWord());
+	}
+
+	@Test
+	void versionTest() {
+		byte[] record = PlayerAccountCodec.encode(new PlayerAccount("version", "pw"));
+		record[4] = (byte) (PlayerAccountCodec.VERSION + 1);
+		assertThrows(IOException.class, () -> PlayerAccountCodec.decode(record));
+		record[0] = 0;
+		assertThrows(IOException.class, () -> PlayerAccountCodec.decode(record));
+		assertThrows(IOException.class, () -> PlayerAccountCodec.decode(new byte[3]));
+	}
+
+	@Test
+	void tooLongTest() {
+		PlayerAccount player = new PlayerAccount("long", "pw", 2);
+		LocalDate day = LocalDate.of(2026, 10, 18);
+		// one more daily guess than a record can count in a byte
+		for (int i = 0; i < 256; i++) {
+			player.addDailyGuess(day, PackedWord.encode("crane"));
+		}
+		assertThrows(IllegalStateException.class, () -> PlayerAccountCodec.encode(player));
+	}
+
+	@Test
+	void legacyFileTest() throws IOException, ClassNotFoundException {
+		HashMap<?, ?> accounts;
+		try (ObjectInputStream in = new ObjectInputStream(new FileInputStream("accounts.ser"))) {
+			accounts = (HashMap<?, ?>) in.readObject();
+		}
+		assertFalse(accounts.isEmpty());
+		for (Object value : accounts.values()) {
+			PlayerAccount account = (PlayerAccount) value;
+			assertSameAccount(account, PlayerAccountCodec.decode(PlayerAccountCodec.encode(account)));
+		}
+	}
+}
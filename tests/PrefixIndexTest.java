@@ -0,0 +1,54 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Dictionary;
+import model.PrefixIndex;
+
+/**
+ * Tests for PrefixIndex, which checks whether typed letters can still become
+ * a word.
+ */
+class PrefixIndexTest {
+
+	@Test
+	void prefixTest() {
+		PrefixIndex index = PrefixIndex.build(Dictionary.fromWords(List.of("light", "might", "sight", "sighs", "scowl")));
+		assertTrue(index.isValidPrefix(""));
+		assertTrue(index.isValidPrefix("s"));
+		assertTrue(index.isValidPrefix("SIG"));
+		assertTrue(index.isValidPrefix("sigh"));
+		assertTrue(index.isValidPrefix("mIgHt"));
+		assertFalse(index.isValidPrefix("x"));
+		assertFalse(index.isValidPrefix("lo"));
+		assertFalse(index.isValidPrefix("lights"));
+		assertFalse(index.isValidPrefix("sc0"));
+		
+		assertTrue(index.isWord("sighs"));
+		assertFalse(index.isWord("sigh"));
+		assertFalse(index.isWord("sighx"));
+	}
+
+	@Test
+	void sharedBranchesTest() {
+		// l, m and n all lead to the same "ight" branch, so there is only the root
+		// plus one node each for "", "t", "ht", "ght" and "ight"
+		PrefixIndex index = PrefixIndex.build(Dictionary.fromWords(List.of("light", "might", "night")));
+		assertEquals(6, index.getNodeCount());
+	}
+
+	@Test
+	void fullDictionaryTest() {
+		Dictionary allowed = Dictionary.getAllowedGuesses();
+		PrefixIndex index = PrefixIndex.getShared();
+		assertSame(index, PrefixIndex.getShared());
+		for (int i = 0; i < allowed.size(); i++) {
+			assertTrue(index.isWord(allowed.get(i)));
+		}
+		assertFalse(index.isWord("abcde"));
+	}
+}
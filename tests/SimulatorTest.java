@@ -0,0 +1,31 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import simulation.RandomCandidateStrategy;
+import simulation.SimulationResult;
+import simulation.Simulator;
+
+/**
+ * Tests for Simulator, which plays games without the GUI.
+ */
+class SimulatorTest {
+
+	@Test
+	void testRepeatable() {
+		SimulationResult first = new Simulator(RandomCandidateStrategy::new, 3, 7).run(1000);
+		SimulationResult second = new Simulator(RandomCandidateStrategy::new, 3, 7).run(1000);
+		assertEquals(1000, first.getGames());
+		assertArrayEquals(first.getDistribution(), second.getDistribution());
+		// guessing a possible word every time nearly always wins
+		assertTrue(first.getAverageGuesses() > 1 && first.getAverageGuesses() < 6);
+		
+		SimulationResult other = new Simulator(RandomCandidateStrategy::new, 3, 8).run(1000);
+		assertEquals(1000, other.getGames());
+		assertFalse(Arrays.equals(first.getDistribution(), other.getDistribution()));
+	}
+}
@@ -0,0 +1,75 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import model.PackedWord;
+import model.WordFileLoader;
+
+/**
+ * Tests for WordFileLoader, which reads word files straight into packed words.
+ */
+class WordFileLoaderTest {
+
+	private static File write(String contents) throws IOException {
+		File file = File.createTempFile("words", ".txt");
+		file.deleteOnExit();
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+		return file;
+	}
+
+	// spells out i in base 26 so that every number gives a different word
+	private static String wordFor(int i) {
+		char[] letters = new char[PackedWord.LENGTH];
+		for (int j = letters.length - 1; j >= 0; j--) {
+			letters[j] = (char) ('a' + i % 26);
+			i /= 26;
+		}
+		return new String(letters);
+	}
+
+	/**
+	 * Line endings, blank lines and stray spaces should not matter, and lines
+	 * that are not words should be skipped.
+	 */
+	@Test
+	void testLines() throws IOException {
+		File file = write("scowl\r\nwager\r\n\r\n  tying \r\nCATS\r\ntoolong\r\nab1de\nhover");
+		int[] words = WordFileLoader.load(file);
+		assertEquals(4, words.length);
+		assertEquals("scowl", PackedWord.decode(words[0]));
+		assertEquals("wager", PackedWord.decode(words[1]));
+		assertEquals("tying", PackedWord.decode(words[2]));
+		assertEquals("hover", PackedWord.decode(words[3]));
+	}
+
+	/**
+	 * Files that are big enough to be read in parallel chunks should still come
+	 * back complete and in order.
+	 */
+	@Test
+	void testLargeFile() throws IOException {
+		StringBuilder contents = new StringBuilder();
+		int count = 400000;
+		for (int i = 0; i < count; i++) {
+			contents.append(wordFor(i)).append("\r\n");
+		}
+		int[] words = WordFileLoader.load(write(contents.toString()));
+		assertEquals(count, words.length);
+		for (int i = 0; i < count; i++) {
+			assertEquals(wordFor(i), PackedWord.decode(words[i]));
+		}
+	}
+
+	@Test
+	void testMissingFile() {
+		assertEquals(0, WordFileLoader.load(new File("no-such-words.txt")).length);
+	}
+}
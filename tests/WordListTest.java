@@ -2,8 +2,11 @@ package tests;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashSet;
+
 import org.junit.jupiter.api.Test;
 
+import model.Dictionary;
 import model.WordList;
 
 /**
@@ -17,23 +20,42 @@ class WordListTest {
 
 	/**
 	 * Tests for the getPuzzleWord method, which should return a random word for the
-	 * current Wordle puzzle.
+	 * current Wordle puzzle. Each pick is made from the words that are left, so
+	 * the same seed can give a different word once some words are used.
 	 */
 	@Test
 	void testGetPuzzleWord() {
 		WordList testList = new WordList();
 		assertEquals("usher", testList.getPuzzleWord(125));
 		assertEquals(1, testList.getNumberOfUsedWords());
-		assertEquals("guile", testList.getPuzzleWord(20));
+		assertEquals("lying", testList.getPuzzleWord(20));
 		assertEquals(2, testList.getNumberOfUsedWords());
-		assertEquals("chafe", testList.getPuzzleWord(15));
+		assertEquals("scalp", testList.getPuzzleWord(15));
 		assertEquals(3, testList.getNumberOfUsedWords());
-		assertEquals("union", testList.getPuzzleWord(24));
+		assertEquals("leafy", testList.getPuzzleWord(24));
 		assertEquals(4, testList.getNumberOfUsedWords());
-		assertEquals("trust", testList.getPuzzleWord(75));
+		assertEquals("algae", testList.getPuzzleWord(75));
 		assertEquals(5, testList.getNumberOfUsedWords());
 	}
 
+	/**
+	 * Every word should be used once before any word is used again, and then a
+	 * new round should start instead of running out of words.
+	 */
+	@Test
+	void testUsesEveryWord() {
+		WordList list = new WordList();
+		HashSet<String> seen = new HashSet<>();
+		int total = Dictionary.getAnswers().size();
+		for (int i = 0; i < total; i++) {
+			assertTrue(seen.add(list.getPuzzleWord(-1)));
+		}
+		assertEquals(total, list.getNumberOfUsedWords());
+		
+		assertTrue(seen.contains(list.getPuzzleWord(-1)));
+		assertEquals(1, list.getNumberOfUsedWords());
+	}
+
 	/**
 	 * Tests for getNumberOfUsedWords, which should return the number of words that
 	 * have already been used in a recent puzzle.
@@ -4,6 +4,8 @@ package view_controller;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
@@ -77,6 +79,17 @@ public class AnswerGridPane extends GridPane {
 		
 	}
 	
+	/**
+	 * Asks the backend for the best next guess and shows it in an alert once 
+	 * it is ready. The player can keep typing in the meantime, which cancels 
+	 * the hint
+	 */
+	public void showHint() {
+		backend.requestHint().thenAccept((word) -> {
+			Platform.runLater(() -> hintAlert(word));
+		});
+	}
+	
 	/**
 	 * Changes mode (light or dark)
 	 */
@@ -210,6 +223,8 @@ public class AnswerGridPane extends GridPane {
 	
 		@Override
 		public void handle(KeyEvent event) {
+			// the player is still playing, so a hint being worked out is not needed
+			backend.cancelHint();
 			// player has entered five letters
 			if (col == 5) {
 				if (event.getCode().isLetterKey()) {
@@ -217,16 +232,25 @@ public class AnswerGridPane extends GridPane {
 				}
 				
 				if (event.getCode().equals(KeyCode.ENTER)) {
+					// no need to ask the backend about a word that cannot exist
+					if (!backend.isValidPrefix(guessAttempt)) {
+						clearRow();
+						invalidAlert();
+						return;
+					}
+					// in hard mode, say which hint was left out instead of wasting the guess
+					String missedHint = backend.checkHardMode(guessAttempt.toLowerCase());
+					if (missedHint != null) {
+						clearRow();
+						hardModeAlert(missedHint);
+						return;
+					}
 					var result = backend.processGuess(guessAttempt.toLowerCase());
 					col = 0;
 					if (result != null) {  // encountered invalid result
 						if(result.size() == 0) {
-							for(int c = 0; c < 5; c++) {
-								tileList.get(row).get(c).setLetter("");
-							}
+							clearRow();
 							invalidAlert();
-							col = 0;
-							guessAttempt = "";
 							return;
 						}
 						
@@ -269,18 +293,38 @@ public class AnswerGridPane extends GridPane {
 				col--;
 				guessAttempt = guessAttempt.substring(0, guessAttempt.length()-1);
 				tileList.get(row).get(col).setLetter("");
+				markDeadEnd();
 			} 
 			
 			if (event.getCode().isLetterKey()){
 				tileList.get(row).get(col).setLetter(event.getCode().toString());
 				col++;
 				guessAttempt += event.getCode().toString();
-				
+				markDeadEnd();
 			}
 		}
 	}
 
 
+	private void markDeadEnd() {
+		// the prefix check is cheap enough to run on every key press
+		boolean deadEnd = !backend.isValidPrefix(guessAttempt);
+		for (int c = 0; c < 5; c++) {
+			tileList.get(row).get(c).markInvalid(deadEnd && c < col);
+		}
+	}
+	
+	
+	private void clearRow() {
+		for(int c = 0; c < 5; c++) {
+			tileList.get(row).get(c).setLetter("");
+			tileList.get(row).get(c).markInvalid(false);
+		}
+		col = 0;
+		guessAttempt = "";
+	}
+	
+
 	private void registerHandlers() {
 		for (int i = 0; i < 6; i++) {
 			for (int j = 0; j < 5; j++) {
@@ -315,6 +359,35 @@ public class AnswerGridPane extends GridPane {
 	}
 	
 
+	private void hintAlert(String word) {
+		Alert hint = new Alert(AlertType.INFORMATION);
+		hint.setTitle("Hint");
+		if (word == null) {
+			hint.setHeaderText("Sorry, no word fits all of your guesses.");
+		}
+		else {
+			hint.setHeaderText("Try " + word.toUpperCase());
+		}
+		hint.setContentText(backend.getRemainingCount() + " possible words left.");
+		hint.show();
+		hint.setOnCloseRequest((event) -> {
+			hint.close();
+		});
+	}
+	
+
+	private void hardModeAlert(String missedHint) {
+		Alert invalid = new Alert(AlertType.WARNING);
+		invalid.setTitle("Hard mode");
+		invalid.setHeaderText(missedHint + ".");
+		invalid.setContentText("In hard mode, every guess must use all of the hints so far.");
+		invalid.show();
+		invalid.setOnCloseRequest((event) -> {
+			invalid.close();
+		});
+	}
+	
+
 	private void invalidAlert() {
 		Alert invalid = new Alert(AlertType.WARNING);
 		invalid.setTitle("Invalid word");
@@ -349,7 +422,7 @@ public class AnswerGridPane extends GridPane {
 	}
 	
 
-	private void assignColors(ArrayList<AssociationState> coding, int toAssign) {
+	private void assignColors(List<AssociationState> coding, int toAssign) {
 		for(int i = 0; i < coding.size(); i++) {
 			tileList.get(toAssign).get(i).setColor(colorMatch(coding.get(i).state));
 		}
@@ -0,0 +1,174 @@
+package view_controller;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import model.DailyPuzzle;
+import model.Feedback;
+import model.GuessResult;
+import model.LetterState;
+import model.PlayerAccount;
+import model.WordleBackend;
+
+/**
+ * Pane to play the daily puzzle (see DailyPuzzle), which is the same word for
+ * every player. Each player gets one try at it per day. Once they are done,
+ * the pane shows how everyone who has finished today did.
+ */
+
+public class DailyPane extends VBox {
+	private static final double TILE_SIZE = 40;
+
+	private WordleBackend backend;
+	private Label header;
+	private Label message;
+	private Label results;
+	private GridPane grid;
+	private TextField input;
+	private Button guess;
+	private String textColor = "black";
+	private String backgroundColor = "white";
+
+	public DailyPane(WordleBackend game) {
+		backend = game;
+		header = new Label("Daily Puzzle");
+		header.setFont(new Font("Arial", 30));
+		message = new Label("");
+		results = new Label("");
+		results.setFont(new Font("Arial", 16));
+		grid = new GridPane();
+		grid.setHgap(4);
+		grid.setVgap(4);
+		grid.setAlignment(Pos.CENTER);
+		input = new TextField();
+		input.setPromptText("Type a guess");
+		guess = new Button("Guess");
+		HBox entry = new HBox(5, input, guess);
+		entry.setAlignment(Pos.CENTER);
+
+		input.setOnAction(event -> makeGuess());
+		guess.setOnAction(event -> makeGuess());
+
+		this.setSpacing(10);
+		this.setPadding(new Insets(7));
+		this.setAlignment(Pos.TOP_CENTER);
+		this.getChildren().addAll(header, grid, entry, message, results);
+		style();
+	}
+
+	/**
+	 * Redraws the current player's guesses for today, and today's results
+	 * once they have finished
+	 */
+	public void update() {
+		grid.getChildren().clear();
+		if (backend.getCurrPlayer() == null) {
+			return;
+		}
+		DailyPuzzle daily = backend.getDailyPuzzle();
+		int[] made = backend.getCurrPlayer().getDailyGuesses(daily.getDate());
+		for (int row = 0; row < PlayerAccount.MAX_GUESSES; row++) {
+			GuessResult result = null;
+			if (row < made.length) {
+				result = GuessResult.of(made[row], Feedback.score(made[row], daily.getPackedWord()));
+			}
+			for (int col = 0; col < 5; col++) {
+				Label tile = new Label(result == null ? "" : result.get(col).letter.toUpperCase());
+				tile.setPrefSize(TILE_SIZE, TILE_SIZE);
+				tile.setAlignment(Pos.CENTER);
+				tile.setFont(new Font("Arial", 20));
+				String fill = result == null ? backgroundColor : colorMatch(result.get(col).state);
+				String letters = result == null ? textColor : "white";
+				tile.setStyle("-fx-background-color: " + fill + ";"
+						+ " -fx-font-weight: bold;"
+						+ " -fx-text-fill: " + letters + ";"
+						+ " -fx-border-color: gainsboro;"
+						+ " -fx-border-width: 2px;");
+				grid.add(tile, col, row);
+			}
+		}
+
+		boolean over = backend.isDailyOver();
+		input.setDisable(over);
+		guess.setDisable(over);
+		if (!over) {
+			message.setText("");
+			results.setText("");
+			return;
+		}
+		boolean won = made.length > 0 && made[made.length - 1] == daily.getPackedWord();
+		message.setText(won ? "Solved in " + made.length + "! Come back tomorrow"
+				: "The word was " + daily.getWord().toUpperCase() + ". Come back tomorrow");
+		results.setText(describeResults(daily));
+	}
+
+	/**
+	 * Changes mode (light or dark)
+	 */
+	public void changeMode() {
+		if (textColor.equals("black")) {
+			textColor = "white";
+			backgroundColor = "black";
+		}
+		else {
+			textColor = "black";
+			backgroundColor = "white";
+		}
+		style();
+		update();
+	}
+
+
+	private void makeGuess() {
+		if (backend.getCurrPlayer() == null) {
+			return;
+		}
+		String attempt = input.getText().trim().toLowerCase();
+		GuessResult result = backend.processDailyGuess(attempt);
+		if (result == null) {
+			message.setText("\"" + attempt + "\" is not a word");
+			return;
+		}
+		message.setText("");
+		input.clear();
+		update();
+	}
+
+
+	private String describeResults(DailyPuzzle daily) {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("%d players today, %.0f%% solved it%n", daily.getPlayerCount(),
+				daily.getSolveRate()));
+		int[] distribution = daily.getDistribution();
+		for (int i = 0; i < PlayerAccount.MAX_GUESSES; i++) {
+			text.append(String.format("%d: %d%n", i + 1, distribution[i]));
+		}
+		text.append("X: ").append(distribution[PlayerAccount.MAX_GUESSES]);
+		return text.toString();
+	}
+
+
+	private String colorMatch(LetterState state) {
+		if (state == LetterState.GREEN) {
+			return "limegreen";
+		}
+		if (state == LetterState.GRAY) {
+			return "gray";
+		}
+		return "#C8B653";
+	}
+
+
+	private void style() {
+		this.setStyle("-fx-background-color: " + backgroundColor + ";");
+		header.setStyle("-fx-text-fill: " + textColor + ";");
+		message.setStyle("-fx-text-fill: " + textColor + ";");
+		results.setStyle("-fx-text-fill: " + textColor + ";");
+	}
+}
@@ -1,7 +1,7 @@
 package view_controller;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -176,10 +176,10 @@ public class Keyboard extends VBox{
 	/**
 	 * Switches colors of letters to match the users new guess.
 	 * 
-	 * @param coding ArrayList of AssociationState objects representing 
+	 * @param coding List of AssociationState objects representing 
 	 * 		  correctness of each letter in guess.
 	 */
-	public void updateKeyboard(ArrayList<AssociationState> coding){
+	public void updateKeyboard(List<AssociationState> coding){
 		for(int i = 0; i < coding.size(); i++) {
 			String letter = coding.get(i).letter.toUpperCase();
 			int letterIndex = letters.get(letter);
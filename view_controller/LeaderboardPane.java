@@ -11,7 +11,7 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import model.PlayerAccount;
+import model.LeaderboardEntry;
 
 /**
  * Pane to display the leaderboard of players. Rankings are determined by wins,
@@ -34,7 +34,7 @@ public class LeaderboardPane extends VBox {
 	private Color canvasColor = Color.WHITE;
 	private Color nameColor = Color.BLACK;
 	
-	public LeaderboardPane(ArrayList<PlayerAccount> curr) {
+	public LeaderboardPane(ArrayList<LeaderboardEntry> curr) {
 		display = new LinkedHashMap<>();
 		scroller = new ScrollPane();
 		canvas = new Canvas(383, scrollHeight);
@@ -74,19 +74,13 @@ public class LeaderboardPane extends VBox {
 	/**
 	 * Updates the leaderboard to the new state and then redraws it to the screen.
 	 * 
-	 * @param board ArrayList of PlayerAccounts representing the new, updated
+	 * @param board ArrayList of LeaderboardEntries representing the new, updated
 	 *              leaderboard.
 	 */
-	public void updateLeaderboard(ArrayList<PlayerAccount> board) {
+	public void updateLeaderboard(ArrayList<LeaderboardEntry> board) {
 		display.clear();
-		for (PlayerAccount acc : board) {
-			String username = acc.getUsername();
-			int wins = 0;
-			int[] allWins = acc.getPastWins();
-			for (int i = 0; i < allWins.length; i++) {
-				wins += allWins[i];
-			}
-			display.put(username, wins);
+		for (LeaderboardEntry entry : board) {
+			display.put(entry.getUsername(), entry.getWins());
 		}
 		int potentialHeight = 50 * display.size() + 20;
 		if (potentialHeight > scrollHeight) {
@@ -17,6 +17,7 @@ import javafx.scene.text.TextAlignment;
 public class LetterTile extends Label{
 	private String fillColor;
 	private String textColor;
+	private String backColor = "white";
 	private static final double HEIGHT = 70;
 	private static final double WIDTH = 70;
 	
@@ -83,6 +84,7 @@ public class LetterTile extends Label{
 	public void reset(String mode) {
 		setLetter("");
 		fillColor = "";
+		backColor = mode;
 		if (mode.equals("white")) {
 			textColor = "black";
 		}
@@ -97,6 +99,27 @@ public class LetterTile extends Label{
 		this.setFocusTraversable(true);
 	}
 	
+	/**
+	 * Shows the letter in red when the letters typed so far cannot become a 
+	 * word, or back in the normal color when they can
+	 * 
+	 * @param invalid boolean indicating whether the typed letters are a dead end
+	 */
+	public void markInvalid(boolean invalid) {
+		// only tiles that have not been colored by a guess yet can be marked
+		if (fillColor.equals("")) {
+			String letterColor = textColor;
+			if (invalid) {
+				letterColor = "red";
+			}
+			this.setStyle("-fx-background-color: " + backColor + ";"
+					+ " -fx-font-weight: bold;"
+					+ " -fx-text-fill: " + letterColor + ";"
+					+ " -fx-border-color: gainsboro;"
+					+ " -fx-border-width: 2px;");
+		}
+	}
+	
 	/**
 	 * Changes mode (light or dark) of tile
 	 * 
@@ -105,6 +128,7 @@ public class LetterTile extends Label{
 	public void changeMode(String mode) {
 		// only change mode if tile doesn't have fill color 
 		if (fillColor.equals("")) {
+			backColor = mode;
 			if (mode.equals("white")) {
 				textColor = "black";
 			}
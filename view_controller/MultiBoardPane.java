@@ -0,0 +1,190 @@
+package view_controller;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.TilePane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import model.Feedback;
+import model.GuessResult;
+import model.LetterState;
+import model.MultiPuzzle;
+import model.WordleBackend;
+
+/**
+ * Pane to play a multi-board game (see MultiPuzzle). Every board gets a small
+ * grid, and a guess typed into the box at the bottom is scored against every
+ * board that has not been solved yet. A board stops filling in once it is
+ * solved.
+ */
+
+public class MultiBoardPane extends VBox {
+	/**
+	 * Number of boards in a game started from the menu.
+	 */
+	public static final int BOARDS = 4;
+
+	private static final double TILE_SIZE = 18;
+
+	private WordleBackend backend;
+	private Label header;
+	private Label message;
+	private TilePane boards;
+	private ScrollPane scroller;
+	private TextField input;
+	private Button guess;
+	private String textColor = "black";
+	private String backgroundColor = "white";
+
+	public MultiBoardPane(WordleBackend game) {
+		backend = game;
+		header = new Label("Multi-Board Game");
+		header.setFont(new Font("Arial", 30));
+		message = new Label("");
+		boards = new TilePane(10, 10);
+		boards.setPrefColumns(2);
+		boards.setAlignment(Pos.CENTER);
+		scroller = new ScrollPane(boards);
+		scroller.setFitToWidth(true);
+		scroller.setPrefHeight(440);
+		input = new TextField();
+		input.setPromptText("Type a guess");
+		guess = new Button("Guess");
+		HBox entry = new HBox(5, input, guess);
+		entry.setAlignment(Pos.CENTER);
+
+		input.setOnAction(event -> makeGuess());
+		guess.setOnAction(event -> makeGuess());
+
+		this.setSpacing(8);
+		this.setPadding(new Insets(7));
+		this.setAlignment(Pos.TOP_CENTER);
+		this.getChildren().addAll(header, scroller, entry, message);
+		style();
+	}
+
+	/**
+	 * Starts a new game for the current player if they have no game going, or
+	 * if their last one is over
+	 */
+	public void startIfNeeded() {
+		MultiPuzzle game = backend.getMultiPuzzle();
+		if (game == null || game.isOver()) {
+			backend.startMultiBoardGame(BOARDS);
+		}
+		message.setText("");
+		input.clear();
+		update();
+	}
+
+	/**
+	 * Redraws every board from the current player's game
+	 */
+	public void update() {
+		boards.getChildren().clear();
+		if (backend.getCurrPlayer() == null || backend.getMultiPuzzle() == null) {
+			return;
+		}
+		MultiPuzzle game = backend.getMultiPuzzle();
+		for (int board = 0; board < game.getBoardCount(); board++) {
+			boards.getChildren().add(makeBoard(game, board));
+		}
+		input.setDisable(game.isOver());
+		guess.setDisable(game.isOver());
+		if (game.isWon()) {
+			message.setText("You solved every board!");
+		}
+		else if (game.isOver()) {
+			message.setText("Out of guesses");
+		}
+	}
+
+	/**
+	 * Changes mode (light or dark)
+	 */
+	public void changeMode() {
+		if (textColor.equals("black")) {
+			textColor = "white";
+			backgroundColor = "black";
+		}
+		else {
+			textColor = "black";
+			backgroundColor = "white";
+		}
+		style();
+		update();
+	}
+
+
+	private void makeGuess() {
+		if (backend.getCurrPlayer() == null || backend.getMultiPuzzle() == null) {
+			return;
+		}
+		String attempt = input.getText().trim().toLowerCase();
+		GuessResult[] results = backend.processMultiGuess(attempt);
+		if (results == null) {
+			message.setText("\"" + attempt + "\" is not a word");
+			return;
+		}
+		message.setText("");
+		input.clear();
+		update();
+	}
+
+
+	private GridPane makeBoard(MultiPuzzle game, int board) {
+		GridPane grid = new GridPane();
+		grid.setHgap(2);
+		grid.setVgap(2);
+		for (int row = 0; row < game.getMaxGuesses(); row++) {
+			GuessResult result = null;
+			if (row < game.getGuessCount()) {
+				result = game.getResult(board, row);
+			}
+			for (int col = 0; col < 5; col++) {
+				Label tile = new Label(result == null ? "" : result.get(col).letter.toUpperCase());
+				tile.setPrefSize(TILE_SIZE, TILE_SIZE);
+				tile.setAlignment(Pos.CENTER);
+				String fill = result == null ? backgroundColor : colorMatch(result.get(col).state);
+				String letters = result == null ? textColor : "white";
+				tile.setStyle("-fx-background-color: " + fill + ";"
+						+ " -fx-font-weight: bold;"
+						+ " -fx-text-fill: " + letters + ";"
+						+ " -fx-border-color: gainsboro;"
+						+ " -fx-border-width: 1px;");
+				grid.add(tile, col, row);
+			}
+			// rows after the one that solved the board are not shown
+			if (result != null && result.getPattern() == Feedback.ALL_GREEN) {
+				break;
+			}
+		}
+		return grid;
+	}
+
+
+	private String colorMatch(LetterState state) {
+		if (state == LetterState.GREEN) {
+			return "limegreen";
+		}
+		if (state == LetterState.GRAY) {
+			return "gray";
+		}
+		return "#C8B653";
+	}
+
+
+	private void style() {
+		this.setStyle("-fx-background-color: " + backgroundColor + ";");
+		boards.setStyle("-fx-background-color: " + backgroundColor + ";");
+		scroller.setStyle("-fx-background: " + backgroundColor + ";");
+		header.setStyle("-fx-text-fill: " + textColor + ";");
+		message.setStyle("-fx-text-fill: " + textColor + ";");
+	}
+}
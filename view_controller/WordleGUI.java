@@ -13,6 +13,8 @@ import javafx.scene.control.MenuItem;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
+import model.Dictionary;
+import model.GameMode;
 import model.PlayerAccount;
 import model.WordleBackend;
 import model.WordleObservable;
@@ -39,11 +41,18 @@ public class WordleGUI extends Application implements WordleObserver {
 	private MenuBar menuBar;
 	private Menu settings;
 	private Menu profile;
+	private Menu gameModes;
 	private MenuItem personalStats;
 	private MenuItem achievements;
 	private MenuItem switchMode;
+	private MenuItem hardMode;
 	private MenuItem globalStats;
 	private MenuItem playGame;
+	private MenuItem classicGame;
+	private MenuItem adversarialGame;
+	private MenuItem multiBoardGame;
+	private MenuItem dailyPuzzle;
+	private MenuItem getHint;
 	private MenuItem logOut;
 
 	private WordleBackend backend = new WordleBackend();
@@ -54,6 +63,8 @@ public class WordleGUI extends Application implements WordleObserver {
 	private Keyboard keyboard;
 	private PersonalStatsPane statsPane;
 	private Achievements achievementsPane;
+	private MultiBoardPane multiBoardPane;
+	private DailyPane dailyPane;
 
 	private int mode = 1; // 1 is light mode -1 is dark mode
 	private String modeLabel = "Dark Mode";
@@ -70,12 +81,16 @@ public class WordleGUI extends Application implements WordleObserver {
 	@Override
 	public void start(Stage stage) throws Exception {
 		backend.readAccountsFile();
+		// pick up changes to words.txt without restarting the game
+		Dictionary.startWatching();
 		leader = new LeaderboardPane(backend.getLeaderboard());
 		keyboard = new Keyboard(backend);
 		gamePlayPane = new AnswerGridPane(backend, keyboard);
 		logInPane = new LogInPane(backend);
 		statsPane = new PersonalStatsPane(backend.getCurrPlayer());
 		achievementsPane = new Achievements(backend);
+		multiBoardPane = new MultiBoardPane(backend);
+		dailyPane = new DailyPane(backend);
 
 		backend.add(this);
 
@@ -87,11 +102,19 @@ public class WordleGUI extends Application implements WordleObserver {
 		personalStats = new MenuItem("Personal Statistics");
 		achievements = new MenuItem("Personal Achievements");
 		switchMode = new MenuItem(modeLabel);
+		hardMode = new MenuItem("Hard Mode");
 		globalStats = new MenuItem("Global Statistics");
 		playGame = new MenuItem("Play Game");
+		gameModes = new Menu("Game Mode");
+		classicGame = new MenuItem("Classic Game");
+		adversarialGame = new MenuItem("Adversarial Game");
+		multiBoardGame = new MenuItem("Multi-Board Game");
+		dailyPuzzle = new MenuItem("Daily Puzzle");
+		gameModes.getItems().addAll(classicGame, adversarialGame, multiBoardGame, dailyPuzzle);
+		getHint = new MenuItem("Get Hint");
 		logOut = new MenuItem("Log Out");
-		profile.getItems().addAll(personalStats, achievements, switchMode);
-		settings.getItems().addAll(profile, globalStats, playGame, logOut);
+		profile.getItems().addAll(personalStats, achievements, switchMode, hardMode);
+		settings.getItems().addAll(profile, globalStats, playGame, gameModes, getHint, logOut);
 		menuBar.getMenus().addAll(settings);
 		window.setCenter(logInPane);
 
@@ -101,6 +124,8 @@ public class WordleGUI extends Application implements WordleObserver {
 		stage.show();
 
 		stage.setOnCloseRequest((event) -> {
+			// written in the background; the account writer waits for it 
+			// before the program exits
 			backend.writeAccountsFile();
 		});
 	}
@@ -126,6 +151,8 @@ public class WordleGUI extends Application implements WordleObserver {
 		keyboard.changeMode();
 		statsPane.changeMode();
 		achievementsPane.changeMode();
+		multiBoardPane.changeMode();
+		dailyPane.changeMode();
 		switchMode.setText(modeLabel);
 		mode *= -1;
 	}
@@ -133,10 +160,16 @@ public class WordleGUI extends Application implements WordleObserver {
 	
 	private void registerHandlers() {
 		switchMode.setOnAction(new settingsChange());
+		hardMode.setOnAction(new settingsChange());
 		personalStats.setOnAction(new settingsChange());
 		achievements.setOnAction(new settingsChange());
 		globalStats.setOnAction(new settingsChange());
 		playGame.setOnAction(new settingsChange());
+		classicGame.setOnAction(new settingsChange());
+		adversarialGame.setOnAction(new settingsChange());
+		multiBoardGame.setOnAction(new settingsChange());
+		dailyPuzzle.setOnAction(new settingsChange());
+		getHint.setOnAction(new settingsChange());
 		logOut.setOnAction(new settingsChange());
 
 	}
@@ -159,6 +192,17 @@ public class WordleGUI extends Application implements WordleObserver {
 				changeMode();
 			}
 
+			// switch between hard and normal mode; the label names the mode to switch to
+			if (text.equals("Hard Mode") || text.equals("Normal Mode")) {
+				if (backend.getCurrPlayer() == null) {
+					logInPane.needToLogIn("Hard Mode");
+					window.setCenter(logInPane);
+					window.setBottom(null);
+				} else {
+					backend.setHardMode(text.equals("Hard Mode"));
+				}
+			}
+
 			// show personal statistics pane
 			if (text.equals("Personal Statistics")) {
 				if (backend.getCurrPlayer() == null) {
@@ -203,6 +247,63 @@ public class WordleGUI extends Application implements WordleObserver {
 				}
 			}
 
+			// start a new game of the chosen kind
+			if (text.equals("Classic Game") || text.equals("Adversarial Game")) {
+				if (backend.getCurrPlayer() == null) {
+					logInPane.needToLogIn("The Game");
+					window.setCenter(logInPane);
+					window.setBottom(null);
+				} else {
+					if (text.equals("Adversarial Game")) {
+						backend.setGameMode(GameMode.ADVERSARIAL);
+					} else {
+						backend.setGameMode(GameMode.CLASSIC);
+					}
+					gamePlayPane.newGame();
+					window.setCenter(gamePlayPane);
+					window.setBottom(keyboard);
+				}
+			}
+
+			// show the multi-board game, starting one if the last is over
+			if (text.equals("Multi-Board Game")) {
+				if (backend.getCurrPlayer() == null) {
+					logInPane.needToLogIn("The Game");
+					window.setCenter(logInPane);
+					window.setBottom(null);
+				} else {
+					multiBoardPane.startIfNeeded();
+					window.setCenter(multiBoardPane);
+					window.setBottom(null);
+				}
+			}
+
+			// show today's daily puzzle, or the results if it is done
+			if (text.equals("Daily Puzzle")) {
+				if (backend.getCurrPlayer() == null) {
+					logInPane.needToLogIn("The Game");
+					window.setCenter(logInPane);
+					window.setBottom(null);
+				} else {
+					dailyPane.update();
+					window.setCenter(dailyPane);
+					window.setBottom(null);
+				}
+			}
+
+			// show the game pane and suggest the best next guess
+			if (text.equals("Get Hint")) {
+				if (backend.getCurrPlayer() == null) {
+					logInPane.needToLogIn("Hints");
+					window.setCenter(logInPane);
+					window.setBottom(null);
+				} else {
+					window.setCenter(gamePlayPane);
+					window.setBottom(keyboard);
+					gamePlayPane.showHint();
+				}
+			}
+
 			// show log in pane and log out the player
 			if (text.equals("Log Out")) {
 				logInPane.needToLogIn("Log Out");
@@ -225,5 +326,8 @@ public class WordleGUI extends Application implements WordleObserver {
 		keyboard.update();
 		statsPane.updateStats(backend.getCurrPlayer());
 		achievementsPane.update();
+		multiBoardPane.update();
+		dailyPane.update();
+		hardMode.setText(backend.isHardMode() ? "Normal Mode" : "Hard Mode");
 	}
 }